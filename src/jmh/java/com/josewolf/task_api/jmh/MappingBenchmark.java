@@ -0,0 +1,62 @@
+package com.josewolf.task_api.jmh;
+
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
+import com.josewolf.task_api.model.Task;
+import com.josewolf.task_api.model.TaskStatus;
+import com.josewolf.task_api.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Conversão de entidades para os DTOs de resposta, em listas do tamanho de uma página até um export completo.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private List<Task> tasks;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        tasks = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setUsername("usuario" + i);
+            user.setEmail("usuario" + i + "@gmail.com");
+            user.setVersion(0L);
+            users.add(user);
+
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Task " + i);
+            task.setDescription("Descrição da task " + i);
+            task.setTaskStatus(i % 2 == 0 ? TaskStatus.PENDING : TaskStatus.COMPLETED);
+            task.setUser(user);
+            task.setVersion(0L);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> taskResponses() {
+        return tasks.stream().map(TaskResponseDTO::new).toList();
+    }
+
+    @Benchmark
+    public List<UserResponseDTO> userResponses() {
+        return users.stream().map(UserResponseDTO::new).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.josewolf.task_api.jmh;
+
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+// Codificação e decodificação de List<TaskResponseDTO> em cada formato negociado pelo Spring MVC.
+// O tamanho dos payloads, com e sem gzip, é gravado em target/benchmarks/payload-formats.txt.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<List<TaskResponseDTO>> TASK_LIST = new TypeReference<>() {
+    };
+
+    private static final Map<String, ObjectMapper> MAPPERS = Map.of(
+            "json", JsonMapper.builder().build(),
+            "cbor", CBORMapper.builder().build(),
+            "smile", SmileMapper.builder().build());
+
+    private static final String[] TITLES = {"Revisar contrato", "Enviar relatório mensal", "Ligar para o cliente",
+            "Atualizar documentação da API", "Preparar apresentação", "Corrigir testes de integração"};
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<TaskResponseDTO> tasks;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = MAPPERS.get(format);
+        tasks = tasks(size);
+        payload = mapper.writeValueAsBytes(tasks);
+        writeSizeReport();
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> deserializeTasks() {
+        return mapper.readValue(payload, TASK_LIST);
+    }
+
+    // Textos de tamanhos variados e ids crescentes, como em uma página real da listagem por usuário.
+    private static List<TaskResponseDTO> tasks(int size) {
+        return LongStream.range(0, size)
+                .mapToObj(id -> new TaskResponseDTO(100_000 + id, TITLES[(int) (id % TITLES.length)] + " #" + id,
+                        "Descrição da task " + id + ": " + "acompanhar pendências com a equipe. ".repeat(1 + (int) (id % 4)),
+                        id % 3 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING, 1_000 + id / 50, id % 5))
+                .toList();
+    }
+
+    private static void writeSizeReport() throws IOException {
+        StringBuilder report = new StringBuilder(String.format("%-6s %8s %12s %12s%n", "format", "tasks", "bytes", "gzip"));
+        for (String format : List.of("json", "cbor", "smile")) {
+            for (int size : new int[]{10, 100, 1000, 10000}) {
+                byte[] bytes = MAPPERS.get(format).writeValueAsBytes(tasks(size));
+                report.append(String.format("%-6s %8d %12d %12d%n", format, size, bytes.length, gzip(bytes).length));
+            }
+        }
+
+        Path file = Path.of("target", "benchmarks", "payload-formats.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
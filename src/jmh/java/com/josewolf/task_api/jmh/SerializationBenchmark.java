@@ -0,0 +1,50 @@
+package com.josewolf.task_api.jmh;
+
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Serialização com o Jackson 3, o mesmo usado pelo Spring MVC para escrever as respostas.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<TaskResponseDTO>> TASK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<TaskResponseDTO> tasks;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        tasks = LongStream.range(0, size)
+                .mapToObj(id -> new TaskResponseDTO(id, "Task " + id, "Descrição da task " + id,
+                        id % 2 == 0 ? TaskStatus.PENDING : TaskStatus.COMPLETED, id / 10, 0L))
+                .toList();
+        json = jsonMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() {
+        return jsonMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> deserializeTasks() {
+        return jsonMapper.readValue(json, TASK_LIST);
+    }
+}
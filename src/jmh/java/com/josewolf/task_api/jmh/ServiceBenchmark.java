@@ -0,0 +1,120 @@
+package com.josewolf.task_api.jmh;
+
+import com.josewolf.task_api.TaskApiApplication;
+import com.josewolf.task_api.dto.TaskStatusRequestDTO;
+import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import com.josewolf.task_api.dto.requestdto.UserRequestDTO;
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskCountsResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
+import com.josewolf.task_api.model.TaskStatus;
+import com.josewolf.task_api.service.TaskService;
+import com.josewolf.task_api.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// TaskService e UserService com o contexto completo (transações, bulkheads, cache e métricas) sobre um H2 em memória.
+// O dataset tem 100 usuários com tasksPerUser tasks cada; pageSize é o limit das listagens.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int USERS = 100;
+
+    @Param({"100", "1000"})
+    private int tasksPerUser;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private UserService userService;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> taskIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1", "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        userService = context.getBean(UserService.class);
+
+        for (int u = 0; u < USERS; u++) {
+            Long userId = userService.createUser(new UserRequestDTO("jmh_" + u, "jmh_" + u + "@jmh.local")).id();
+            userIds.add(userId);
+
+            List<TaskRequestDTO> tasks = IntStream.range(0, tasksPerUser)
+                    .mapToObj(t -> new TaskRequestDTO("Task " + t, "Descrição da task " + t, userId))
+                    .toList();
+            taskService.createTasks(tasks).results().forEach(item -> taskIds.add(item.task().id()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPageResponseDTO<TaskResponseDTO> listTasksByUserId() {
+        return taskService.listTasksByUserId(randomUserId(), null, null, pageSize);
+    }
+
+    @Benchmark
+    public CursorPageResponseDTO<TaskResponseDTO> listTasksByUserIdAndStatus() {
+        return taskService.listTasksByUserId(randomUserId(), TaskStatus.PENDING, null, pageSize);
+    }
+
+    @Benchmark
+    public CursorPageResponseDTO<TaskResponseDTO> listAllTasks() {
+        return taskService.listAllTasks(null, pageSize);
+    }
+
+    @Benchmark
+    public TaskCountsResponseDTO countTasksByUserId() {
+        return taskService.countTasksByUserId(randomUserId());
+    }
+
+    @Benchmark
+    public TaskResponseDTO createTask() {
+        return taskService.createTask(new TaskRequestDTO("Nova task", "Criada pelo benchmark", randomUserId()));
+    }
+
+    @Benchmark
+    public TaskResponseDTO updateStatus() {
+        Long taskId = taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+        TaskStatus status = ThreadLocalRandom.current().nextBoolean() ? TaskStatus.PENDING : TaskStatus.COMPLETED;
+        return taskService.updateStatus(taskId, null, new TaskStatusRequestDTO(status, null));
+    }
+
+    @Benchmark
+    public UserResponseDTO findByUsername() {
+        return userService.findByUsername("jmh_" + ThreadLocalRandom.current().nextInt(USERS));
+    }
+
+    @Benchmark
+    public CursorPageResponseDTO<UserResponseDTO> findAllUsersWithTaskCounts() {
+        return userService.findAllUsers(null, null, null, pageSize, true);
+    }
+
+    private Long randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.josewolf.task_api.jmh;
+
+import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Validação do corpo de POST /api/tasks; o caso inválido inclui a interpolação das mensagens de erro.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private final TaskRequestDTO valid = new TaskRequestDTO("Estudar JMH", "Escrever benchmarks para a API", 1L);
+    private final TaskRequestDTO invalid = new TaskRequestDTO("", " ", null);
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TaskRequestDTO>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TaskRequestDTO>> invalidRequest() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,55 @@
+package com.josewolf.task_api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Cache de segundo nível do Hibernate para User e Task (regiões "users" e "tasks"), em memória com o Caffeine.
+// READ_WRITE: uma entidade sendo alterada fica bloqueada no cache até o commit, e quem a lê nesse meio tempo vai ao banco.
+// As alterações de uma única task/usuário passam pela entidade e atualizam só a entrada dela; atualizações e exclusões
+// em lote (JPQL) esvaziam a região inteira. Acertos e falhas por região em /actuator/querystats.
+@Configuration
+public class EntityCacheConfig {
+
+    static final List<String> REGIONS = List.of("users", "tasks");
+
+    // Um CachingProvider próprio por contexto: o CacheManager padrão do JCache é compartilhado pela JVM,
+    // e dois contextos (testes, benchmarks) sobre bancos diferentes não podem enxergar as mesmas entradas.
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(Environment environment,
+                                           @Value("${task-api.entity-cache.maximum-size:10000}") long maximumSize,
+                                           @Value("${task-api.entity-cache.ttl:10m}") Duration ttl) {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        // Cada região aceita task-api.entity-cache.<região>.maximum-size/ttl, ex.: task-api.entity-cache.tasks.maximum-size.
+        for (String region : REGIONS) {
+            long regionMaximumSize = environment.getProperty("task-api.entity-cache." + region + ".maximum-size", Long.class, maximumSize);
+            Duration regionTtl = environment.getProperty("task-api.entity-cache." + region + ".ttl", Duration.class, ttl);
+
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setTypes(Object.class, Object.class);
+            // As entradas do Hibernate são imutáveis: guardá-las por referência evita uma cópia serializada a cada leitura.
+            configuration.setStoreByValue(false);
+            configuration.setMaximumSize(OptionalLong.of(regionMaximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(regionTtl.toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
@@ -0,0 +1,84 @@
+package com.josewolf.task_api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Mede cada chamada com um Timer com histograma (percentis calculados no Prometheus), com as tags
+// class, method e exception ("none" quando a chamada termina sem erro). O Timer de sucesso de cada método
+// fica guardado: no caminho comum a medição não monta tags nem consulta o registry.
+class MethodMetricsInterceptor implements MethodInterceptor {
+
+    private static final String BASE_PACKAGE = "com.josewolf.task_api";
+
+    private final String metricName;
+    // Resolvido só ao criar um Timer: os advisors são criados antes do MeterRegistry.
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    // Por classe do alvo: TaskRepository e UserRepository compartilham o mesmo Method de save, findById...
+    private final Map<Class<?>, Map<Method, Timer>> successTimers = new ConcurrentHashMap<>();
+
+    MethodMetricsInterceptor(String metricName, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.metricName = metricName;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            successTimers.computeIfAbsent(targetClassOf(invocation), type -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(invocation.getMethod(), method -> timer(invocation, "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            timer(invocation, ex.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer timer(MethodInvocation invocation, String exception) {
+        return Timer.builder(metricName)
+                .tag("class", ownerOf(invocation))
+                .tag("method", invocation.getMethod().getName())
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry.getObject());
+    }
+
+    private static Class<?> targetClassOf(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        return target != null ? target.getClass() : invocation.getMethod().getDeclaringClass();
+    }
+
+    // Para métodos herdados do JpaRepository (save, findById...) o nome vem da interface do projeto, ex.: TaskRepository.
+    private static String ownerOf(MethodInvocation invocation) {
+        Class<?> declaring = invocation.getMethod().getDeclaringClass();
+        if (declaring.getPackageName().startsWith(BASE_PACKAGE)) {
+            return declaring.getSimpleName();
+        }
+
+        Object target = invocation.getThis();
+        if (target == null) {
+            return declaring.getSimpleName();
+        }
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(target.getClass())) {
+            if (type.getPackageName().startsWith(BASE_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(target).getSimpleName();
+    }
+}
@@ -0,0 +1,81 @@
+package com.josewolf.task_api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+// Timers de todos os métodos públicos dos @Service (taskapi.service) e dos repositórios (taskapi.repository).
+// Os endpoints já são medidos pelo Spring MVC em http.server.requests. Tudo fica disponível em /actuator/prometheus.
+// As consultas do Hibernate ficam em /actuator/querystats, e as lentas no log org.hibernate.SQL_SLOW com o método de serviço.
+@Configuration
+public class MetricsConfig {
+
+    private static final String BASE_PACKAGE = "com.josewolf.task_api";
+
+    private static final ClassFilter SERVICES = type -> type.getPackageName().startsWith(BASE_PACKAGE)
+            && AnnotatedElementUtils.hasAnnotation(type, Service.class);
+
+    // Mais externo que o WorkloadInterceptor: o tempo de serviço inclui a espera pelo executor de lote.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return advisor(SERVICES, method -> method.getDeclaringClass() != Object.class,
+                new MethodMetricsInterceptor("taskapi.service", meterRegistry), Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    // Mais interno que o WorkloadInterceptor: o MDC precisa ser preenchido na thread do executor de lote,
+    // onde as consultas rodam. Continua externo ao @Transactional, então cobre também o flush do commit.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor serviceMethodMdcAdvisor() {
+        return advisor(SERVICES, method -> method.getDeclaringClass() != Object.class,
+                new ServiceMethodMdcInterceptor(), Ordered.HIGHEST_PRECEDENCE + 2);
+    }
+
+    // Os repositórios são proxies JDK das interfaces do Spring Data; só os métodos dessas interfaces são medidos.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor repositoryMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        ClassFilter repositories = type -> Repository.class.isAssignableFrom(type)
+                && Arrays.stream(type.getInterfaces()).anyMatch(ifc -> ifc.getPackageName().startsWith(BASE_PACKAGE));
+        return advisor(repositories, method -> Repository.class.isAssignableFrom(method.getDeclaringClass()),
+                new MethodMetricsInterceptor("taskapi.repository", meterRegistry), Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Bean
+    public QueryStatsEndpoint queryStatsEndpoint(EntityManagerFactory entityManagerFactory) {
+        return new QueryStatsEndpoint(entityManagerFactory);
+    }
+
+    private static Advisor advisor(ClassFilter classFilter, Predicate<Method> methods, MethodInterceptor interceptor, int order) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && methods.test(method);
+            }
+        };
+        pointcut.setClassFilter(classFilter);
+
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(order);
+        return advisor;
+    }
+}
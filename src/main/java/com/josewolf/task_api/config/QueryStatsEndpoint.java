@@ -0,0 +1,126 @@
+package com.josewolf.task_api.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+// /actuator/querystats: estatísticas do Hibernate desde o início da aplicação ou do último DELETE no endpoint.
+// O DELETE só é exposto com management.endpoint.querystats.access=unrestricted (o padrão é read-only).
+// As consultas aparecem pelo texto JPQL/SQL (sem os valores dos parâmetros), da maior para a menor soma de tempo.
+// Tempos em milissegundos. Requer spring.jpa.properties.hibernate.generate_statistics=true.
+@Endpoint(id = "querystats")
+public class QueryStatsEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public QueryStatsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @ReadOperation
+    public QueryStatsReport queryStats() {
+        Statistics statistics = statistics();
+
+        List<QueryStats> queries = Arrays.stream(statistics.getQueries())
+                .map(query -> QueryStats.of(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(QueryStats::totalTime).reversed())
+                .toList();
+        List<EntityStats> entities = Arrays.stream(statistics.getEntityNames())
+                .map(entity -> EntityStats.of(entity, statistics.getEntityStatistics(entity)))
+                .toList();
+        List<CacheRegionStats> cacheRegions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(statistics::getDomainDataRegionStatistics)
+                .filter(Objects::nonNull)
+                .map(CacheRegionStats::of)
+                .toList();
+
+        return new QueryStatsReport(
+                statistics.isStatisticsEnabled(),
+                statistics.getStart(),
+                statistics.getQueryExecutionCount(),
+                statistics.getQueryExecutionMaxTime(),
+                statistics.getQueryExecutionMaxTimeQueryString(),
+                statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                ratio(statistics.getQueryPlanCacheHitCount(), statistics.getQueryPlanCacheMissCount()),
+                ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()),
+                queries,
+                entities,
+                cacheRegions);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    public record QueryStatsReport(boolean enabled, Instant since, long queryExecutionCount, long queryExecutionMaxTime,
+                                   String slowestQuery, long prepareStatementCount, long entityLoadCount,
+                                   long entityFetchCount, double planCacheHitRatio, double secondLevelCacheHitRatio,
+                                   List<QueryStats> queries, List<EntityStats> entities,
+                                   List<CacheRegionStats> cacheRegions) {
+    }
+
+    public record QueryStats(String query, long executionCount, long totalTime, long maxTime, long avgTime,
+                             long rowCount, double planCacheHitRatio) {
+
+        static QueryStats of(String query, QueryStatistics statistics) {
+            return new QueryStats(query,
+                    statistics.getExecutionCount(),
+                    statistics.getExecutionTotalTime(),
+                    statistics.getExecutionMaxTime(),
+                    statistics.getExecutionAvgTime(),
+                    statistics.getExecutionRowCount(),
+                    ratio(statistics.getPlanCacheHitCount(), statistics.getPlanCacheMissCount()));
+        }
+    }
+
+    // fetchCount são carregamentos feitos fora de uma consulta (associações LAZY, getReference inicializado...).
+    public record EntityStats(String entity, long loadCount, long fetchCount, long insertCount, long updateCount,
+                              long deleteCount, long optimisticFailureCount) {
+
+        static EntityStats of(String entity, EntityStatistics statistics) {
+            return new EntityStats(entity,
+                    statistics.getLoadCount(),
+                    statistics.getFetchCount(),
+                    statistics.getInsertCount(),
+                    statistics.getUpdateCount(),
+                    statistics.getDeleteCount(),
+                    statistics.getOptimisticFailureCount());
+        }
+    }
+
+    // Regiões do cache de segundo nível (EntityCacheConfig). Cada miss é uma leitura que foi ao banco.
+    public record CacheRegionStats(String region, long hitCount, long missCount, long putCount, double hitRatio) {
+
+        static CacheRegionStats of(CacheRegionStatistics statistics) {
+            return new CacheRegionStats(statistics.getRegionName(),
+                    statistics.getHitCount(),
+                    statistics.getMissCount(),
+                    statistics.getPutCount(),
+                    ratio(statistics.getHitCount(), statistics.getMissCount()));
+        }
+    }
+}
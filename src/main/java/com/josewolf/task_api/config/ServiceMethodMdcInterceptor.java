@@ -0,0 +1,35 @@
+package com.josewolf.task_api.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.MDC;
+import org.springframework.util.ClassUtils;
+
+// Coloca o método de serviço em execução no MDC (ex.: TaskService.createTask), para que o log de consultas lentas
+// do Hibernate e qualquer outro log da chamada digam de onde a consulta partiu. Chamadas aninhadas restauram o valor anterior.
+class ServiceMethodMdcInterceptor implements MethodInterceptor {
+
+    static final String MDC_KEY = "serviceMethod";
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String previous = MDC.get(MDC_KEY);
+        MDC.put(MDC_KEY, ownerOf(invocation) + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            if (previous != null) {
+                MDC.put(MDC_KEY, previous);
+            } else {
+                MDC.remove(MDC_KEY);
+            }
+        }
+    }
+
+    private static String ownerOf(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        return target != null
+                ? ClassUtils.getUserClass(target).getSimpleName()
+                : invocation.getMethod().getDeclaringClass().getSimpleName();
+    }
+}
@@ -0,0 +1,49 @@
+package com.josewolf.task_api.config;
+
+import com.josewolf.task_api.service.DatabaseTaskEventRelay;
+import com.josewolf.task_api.service.LocalTaskEventRelay;
+import com.josewolf.task_api.service.TaskEventRelay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class TaskEventsConfig {
+
+    // database (padrão): LISTEN/NOTIFY do PostgreSQL, e os streams de qualquer instância recebem as escritas feitas nas
+    // outras. memory: eventos só da própria instância, usado pelo perfil de testes, em que o H2 não tem NOTIFY.
+    @Bean
+    public TaskEventRelay taskEventRelay(@Value("${task-api.task-events.relay:database}") String relay,
+                                         JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                         JsonMapper jsonMapper) {
+        return switch (relay) {
+            case "database" -> new DatabaseTaskEventRelay(jdbcTemplate, dataSourceProperties, jsonMapper);
+            case "memory" -> new LocalTaskEventRelay();
+            default -> throw new IllegalStateException("task-api.task-events.relay inválido: " + relay);
+        };
+    }
+
+    // Uma única thread para os heartbeats das conexões SSE e a limpeza da janela de replay do TaskEventFeed.
+    @Bean
+    public ThreadPoolTaskScheduler taskEventScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("task-events-");
+        return scheduler;
+    }
+
+    // Envio dos eventos: uma virtual thread por conexão com eventos na fila, encerrada quando a fila esvazia.
+    // As conexões ociosas não ocupam thread alguma.
+    @Bean
+    public TaskExecutor taskEventSendExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("task-events-send-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -0,0 +1,24 @@
+package com.josewolf.task_api.config;
+
+import com.josewolf.task_api.repository.TaskRepository;
+import com.josewolf.task_api.service.DatabaseTaskSearch;
+import com.josewolf.task_api.service.TaskSearch;
+import com.josewolf.task_api.service.TaskSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TaskSearchConfig {
+
+    // database (padrão): full-text search do PostgreSQL. memory: índice em memória de cada instância, usado só pelo
+    // perfil de testes, em que o H2 não tem to_tsvector.
+    @Bean
+    public TaskSearch taskSearch(@Value("${task-api.search.engine:database}") String engine, TaskRepository taskRepository) {
+        return switch (engine) {
+            case "database" -> new DatabaseTaskSearch(taskRepository);
+            case "memory" -> new TaskSearchIndex(taskRepository);
+            default -> throw new IllegalStateException("task-api.search.engine inválido: " + engine);
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.josewolf.task_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class UserPurgeConfig {
+
+    // Uma única thread: as exclusões de usuários são processadas em fila, sem disputar o pool de conexões.
+    // Com task-api.user-purge.async=false (perfil de testes) a limpeza roda na thread da requisição.
+    // As conexões da limpeza vêm do pool de lote, fora do pool das requisições interativas.
+    @Bean
+    public TaskExecutor userPurgeExecutor(@Value("${task-api.user-purge.async:true}") boolean async) {
+        if (!async) {
+            return new SyncTaskExecutor();
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("user-purge-");
+        executor.setTaskDecorator(task -> () -> WorkloadContext.run(WorkloadType.BULK, task));
+        return executor;
+    }
+}
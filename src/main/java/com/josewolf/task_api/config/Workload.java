@@ -0,0 +1,17 @@
+package com.josewolf.task_api.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Declara em que bulkhead um método de serviço roda. Métodos sem a anotação são INTERACTIVE.
+// Só tem efeito em chamadas que passam pelo proxy do Spring (não em chamadas internas via this).
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Workload {
+
+    WorkloadType value();
+}
@@ -0,0 +1,94 @@
+package com.josewolf.task_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Bulkheads: o trabalho interativo e o trabalho em lote têm pools de conexões e threads separados,
+// para que uma listagem completa ou uma exclusão em massa não esgote as conexões das escritas interativas.
+// O trabalho interativo roda nas threads de requisição do Tomcat; o de lote, no bulkTaskExecutor.
+// Saturação: hikaricp.connections.* (tag pool) e executor.* (tag name=bulk) em /actuator/metrics.
+@Configuration
+public class WorkloadConfig {
+
+    @Bean
+    @ConfigurationProperties("task-api.datasource.interactive")
+    public HikariDataSource interactiveDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        return newPool(properties, meterRegistry, "interactive");
+    }
+
+    @Bean
+    @ConfigurationProperties("task-api.datasource.bulk")
+    public HikariDataSource bulkDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        return newPool(properties, meterRegistry, "bulk");
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("interactiveDataSource") DataSource interactiveDataSource,
+                                 @Qualifier("bulkDataSource") DataSource bulkDataSource) {
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource();
+        dataSource.setTargetDataSources(Map.of(
+                WorkloadType.INTERACTIVE, interactiveDataSource,
+                WorkloadType.BULK, bulkDataSource));
+        dataSource.setDefaultTargetDataSource(interactiveDataSource);
+        return dataSource;
+    }
+
+    // Sem fila por padrão: cada chamada enfileirada prenderia uma thread do Tomcat esperando no WorkloadInterceptor.
+    // Com as threads de lote ocupadas a operação é recusada (503 com Retry-After) em vez de acumular requisições paradas.
+    @Bean
+    public ThreadPoolTaskExecutor bulkTaskExecutor(@Value("${task-api.bulk-executor.pool-size:4}") int poolSize,
+                                                   @Value("${task-api.bulk-executor.queue-capacity:0}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-");
+        return executor;
+    }
+
+    @Bean
+    public MeterBinder bulkTaskExecutorMetrics(@Qualifier("bulkTaskExecutor") ThreadPoolTaskExecutor bulkTaskExecutor) {
+        return registry -> new ExecutorServiceMetrics(bulkTaskExecutor.getThreadPoolExecutor(), "bulk", Tags.empty()).bindTo(registry);
+    }
+
+    // Envolve o @Transactional: a troca de thread e de pool acontece antes de a transação abrir a conexão.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor workloadAdvisor(@Lazy @Qualifier("bulkTaskExecutor") AsyncTaskExecutor bulkTaskExecutor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Workload.class),
+                new WorkloadInterceptor(bulkTaskExecutor));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+
+    private static HikariDataSource newPool(DataSourceProperties properties, MeterRegistry meterRegistry, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(name);
+        dataSource.setMetricRegistry(meterRegistry);
+        return dataSource;
+    }
+}
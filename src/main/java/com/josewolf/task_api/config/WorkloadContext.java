@@ -0,0 +1,44 @@
+package com.josewolf.task_api.config;
+
+import java.util.concurrent.Callable;
+
+// Workload da thread atual, lido pelo WorkloadRoutingDataSource ao abrir uma conexão.
+final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    static WorkloadType current() {
+        WorkloadType workload = CURRENT.get();
+        return workload != null ? workload : WorkloadType.INTERACTIVE;
+    }
+
+    static <T> T call(WorkloadType workload, Callable<T> action) throws Exception {
+        WorkloadType previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return action.call();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    static void run(WorkloadType workload, Runnable action) {
+        try {
+            call(workload, () -> {
+                action.run();
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
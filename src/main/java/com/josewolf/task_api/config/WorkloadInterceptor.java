@@ -0,0 +1,64 @@
+package com.josewolf.task_api.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// Executa os métodos @Workload(BULK) no executor de lote, marcando a thread para usar o pool de conexões de lote.
+// A thread da requisição fica esperando o resultado, mas não ocupa uma conexão do pool interativo.
+// Sem fila no executor (queue-capacity=0), no máximo pool-size threads do Tomcat ficam presas aqui:
+// com todas as threads de lote ocupadas a chamada é recusada na hora com TaskRejectedException (503).
+class WorkloadInterceptor implements MethodInterceptor {
+
+    private final AsyncTaskExecutor bulkTaskExecutor;
+
+    WorkloadInterceptor(AsyncTaskExecutor bulkTaskExecutor) {
+        this.bulkTaskExecutor = bulkTaskExecutor;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // Dentro de uma transação a conexão já foi aberta nesta thread: trocar de thread a perderia.
+        if (workloadOf(invocation) != WorkloadType.BULK
+                || WorkloadContext.current() == WorkloadType.BULK
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+
+        Future<Object> result = bulkTaskExecutor.submit(() -> WorkloadContext.call(WorkloadType.BULK, () -> proceed(invocation)));
+        try {
+            return result.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    private static WorkloadType workloadOf(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+        return workload != null ? workload.value() : WorkloadType.INTERACTIVE;
+    }
+
+    private static Object proceed(MethodInvocation invocation) throws Exception {
+        try {
+            return invocation.proceed();
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new UndeclaredThrowableException(ex);
+        }
+    }
+}
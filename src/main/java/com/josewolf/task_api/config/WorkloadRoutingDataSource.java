@@ -0,0 +1,13 @@
+package com.josewolf.task_api.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Entrega a conexão do pool do workload da thread atual. A escolha acontece quando a conexão é aberta,
+// no início da transação, então toda a transação usa o mesmo pool.
+class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+}
@@ -0,0 +1,8 @@
+package com.josewolf.task_api.config;
+
+// INTERACTIVE: CRUD de um único recurso, atendido na thread da requisição com o pool de conexões interativo.
+// BULK: listagens completas, operações em lote e manutenção, com executor e pool de conexões próprios.
+public enum WorkloadType {
+    INTERACTIVE,
+    BULK
+}
@@ -0,0 +1,45 @@
+package com.josewolf.task_api.controller;
+
+import com.josewolf.task_api.exceptions.PreconditionFailedException;
+import org.springframework.http.MediaType;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// A ETag de uma task ou de um usuário é a coluna version entre aspas, ex.: "3".
+// If-Match aceita uma única ETag forte ou "*"; qualquer outro valor nunca corresponde à versão atual.
+// A ETag da lista de tasks de um usuário vem do TaskListVersions e ganha um sufixo por formato de resposta.
+final class ETags {
+
+    private static final Pattern VERSION = Pattern.compile("\"(\\d{1,18})\"");
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // JSON, o formato padrão, mantém a ETag sem sufixo; os demais usam o fim do subtipo, ex.: "7" em CBOR vira
+    // "7-cbor" e em application/x-jackson-smile, "7-smile".
+    static String forFormat(String etag, MediaType format) {
+        if (format == null || format.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
+            return etag;
+        }
+        String subtype = format.getSubtype();
+        String suffix = subtype.substring(Math.max(subtype.lastIndexOf('-'), subtype.lastIndexOf('+')) + 1);
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    static Long versionFromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        Matcher matcher = VERSION.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match deve conter a ETag atual do recurso, ex.: \"3\".");
+        }
+        return Long.valueOf(matcher.group(1));
+    }
+}
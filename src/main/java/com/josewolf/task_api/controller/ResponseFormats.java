@@ -0,0 +1,57 @@
+package com.josewolf.task_api.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Escolhe o formato da resposta antes de o Spring MVC escrevê-la, com as mesmas fontes que ele usa: os tipos aceitos
+// vêm do ContentNegotiationManager e os produzíveis dos conversores registrados que sabem escrever o tipo do corpo.
+// Um formato novo (outro conversor no classpath) passa a ser negociado sem mudança aqui.
+final class ResponseFormats {
+
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final List<MediaType> producible;
+
+    ResponseFormats(ContentNegotiationManager contentNegotiationManager, List<HttpMessageConverter<?>> converters,
+                    Class<?> bodyType) {
+        this.contentNegotiationManager = contentNegotiationManager;
+        this.producible = converters.stream()
+                .filter(converter -> converter.canWrite(bodyType, null))
+                .flatMap(converter -> converter.getSupportedMediaTypes(bodyType).stream())
+                .filter(MediaType::isConcrete)
+                .distinct()
+                .toList();
+    }
+
+    // Como o Spring: o tipo aceito mais específico (e de maior q) que algum conversor produz; empates ficam com o
+    // conversor registrado antes, então sem Accept a resposta é JSON.
+    // Nulo quando nenhum formato é aceito ou o Accept é inválido, e o Spring responde o erro.
+    MediaType negotiate(NativeWebRequest request) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return null;
+        }
+
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType requested : acceptable) {
+            if (requested.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType candidate : producible) {
+                if (requested.isCompatibleWith(candidate)) {
+                    compatible.add(candidate.copyQualityValue(requested));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        return compatible.isEmpty() ? null : compatible.get(0).removeQualityValue();
+    }
+}
@@ -1,18 +1,33 @@
 package com.josewolf.task_api.controller;
 
 import com.josewolf.task_api.dto.TaskStatusRequestDTO;
+import com.josewolf.task_api.dto.requestdto.TaskBulkStatusRequestDTO;
 import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import com.josewolf.task_api.dto.responsedto.AffectedRowsResponseDTO;
+import com.josewolf.task_api.dto.responsedto.BulkTaskResponseDTO;
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskCountsResponseDTO;
 import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.model.TaskStatus;
 import com.josewolf.task_api.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Set;
 
 @Tag(name = "Tasks", description = "Responsável por ações da task.")
 @RestController
@@ -20,9 +35,16 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskEventStreams taskEventStreams;
+    private final ResponseFormats taskPageFormats;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskEventStreams taskEventStreams,
+                          @Qualifier("mvcContentNegotiationManager") ContentNegotiationManager contentNegotiationManager,
+                          RequestMappingHandlerAdapter handlerAdapter) {
         this.taskService = taskService;
+        this.taskEventStreams = taskEventStreams;
+        this.taskPageFormats = new ResponseFormats(contentNegotiationManager, handlerAdapter.getMessageConverters(),
+                CursorPageResponseDTO.class);
     }
 
     @PostMapping
@@ -33,43 +55,139 @@ public class TaskController {
     public ResponseEntity<TaskResponseDTO> createTask(@RequestBody @Valid TaskRequestDTO requestDTO) {
         TaskResponseDTO taskResponseDTO = taskService.createTask(requestDTO);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(taskResponseDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(taskResponseDTO.version())).body(taskResponseDTO);
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Cria tasks em lote", description = "Cria até 1000 tasks em uma única requisição e retorna o resultado de cada item.")
+    @ApiResponse(responseCode = "201", description = "Todas as tasks foram criadas.")
+    @ApiResponse(responseCode = "207", description = "Parte dos itens foi recusada; veja o status de cada item.")
+    @ApiResponse(responseCode = "400", description = "A lista está vazia ou excede o tamanho máximo.")
+    @ApiResponse(responseCode = "503", description = "Muitas operações em lote em andamento; tente novamente.")
+    public ResponseEntity<BulkTaskResponseDTO> createTasks(@RequestBody List<TaskRequestDTO> requestDTOS) {
+        BulkTaskResponseDTO response = taskService.createTasks(requestDTOS);
+        HttpStatus status = response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity.status(status).body(response);
     }
 
     @GetMapping
-    @Operation(summary = "Lista todas as task", description = "Retorna lista de todas as tasks.")
-    @ApiResponse(responseCode = "200", description = "Lista todas as tasks existentes.")
-    @ApiResponse(responseCode = "200", description = "Retorna uma lista vazia.")
-    public ResponseEntity<List<TaskResponseDTO>> getAllTasks() {
-        List<TaskResponseDTO> taskResponseDTOS = taskService.listAllTasks();
-        return ResponseEntity.status(HttpStatus.OK).body(taskResponseDTOS);
+    @Operation(summary = "Lista todas as task", description = "Retorna uma página de tasks ordenadas por id. Use o nextCursor no parâmetro after para buscar a próxima página.")
+    @ApiResponse(responseCode = "200", description = "Lista a página de tasks solicitada.")
+    @ApiResponse(responseCode = "200", description = "Retorna uma página vazia.")
+    @ApiResponse(responseCode = "503", description = "Muitas operações em lote em andamento; tente novamente.")
+    public ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> getAllTasks(
+            @Parameter(description = "Id da última task recebida (nextCursor da página anterior)")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Quantidade de tasks por página (máximo 100)")
+            @RequestParam(required = false) Integer limit) {
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.listAllTasks(after, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(page);
     }
 
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Lista as tasks", description = "Lista todas as tasks, que o usuário possui por id.")
+    @Operation(summary = "Lista as tasks", description = "Lista as tasks do usuário por id, da mais recente para a mais antiga, com filtro opcional por status. Use o nextCursor no parâmetro before para buscar a próxima página. A resposta traz uma ETag; envie-a em If-None-Match para receber 304 enquanto as tasks do usuário não mudarem.")
     @ApiResponse(responseCode = "200", description = "Task encontrada com sucesso pelo id do usuário.")
+    @ApiResponse(responseCode = "304", description = "As tasks do usuário não mudaram desde a ETag informada.")
+    @ApiResponse(responseCode = "404", description = "Não existe usuário com o id solicitado.")
+    public ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> getTasksByUserId(
+            @PathVariable Long userId,
+            @Parameter(description = "Status das tasks")
+            @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Id da última task recebida (nextCursor da página anterior)")
+            @RequestParam(required = false) Long before,
+            @Parameter(description = "Quantidade de tasks por página (máximo 100)")
+            @RequestParam(required = false) Integer limit,
+            ServletWebRequest webRequest) {
+        // JSON, CBOR e Smile são representações diferentes da mesma lista: cada formato tem a própria ETag, para que
+        // um cache que revalida com as ETags de todas as variantes guardadas não receba 304 para o formato errado.
+        webRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        MediaType format = taskPageFormats.negotiate(webRequest);
+
+        // O 304 custa só a leitura de users.tasks_version pela chave primária, sem a consulta da página nem a serialização.
+        String etag = ETags.forFormat(taskService.taskListETag(userId), format);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.listTasksByUserId(userId, status, before, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK).eTag(etag);
+        // O formato da ETag é o formato escrito: com o Content-Type definido o Spring não negocia de novo.
+        if (format != null) {
+            response.contentType(format);
+        }
+        return response.body(page);
+    }
+
+    // Sem produces: o SseEmitter define o text/event-stream, e o 404 continua sendo serializado como JSON.
+    @GetMapping("/user/{userId}/events")
+    @Operation(summary = "Acompanha as alterações das tasks", description = "Stream Server-Sent Events com as tasks do usuário criadas (created), alteradas (updated), com status alterado (status-changed) e excluídas (deleted), em substituição ao polling da listagem. Operações em lote e reconexões fora da janela de replay geram um evento resync: recarregue a lista. Ao reconectar, envie o id do último evento em Last-Event-ID para receber os eventos perdidos.")
+    @ApiResponse(responseCode = "200", description = "Stream de eventos aberto.")
+    @ApiResponse(responseCode = "404", description = "Não existe usuário com o id solicitado.")
+    public SseEmitter streamTaskEvents(@PathVariable Long userId,
+                                       @Parameter(description = "Id do último evento recebido, para retomar o stream")
+                                       @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskEventStreams.open(userId, lastEventId);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Busca tasks por conteúdo", description = "Busca os termos no título e na descrição das tasks, sem diferenciar maiúsculas e acentos, e retorna as tasks ordenadas por relevância. Use o nextCursor no parâmetro offset para buscar a próxima página.")
+    @ApiResponse(responseCode = "200", description = "Retorna a página de tasks encontradas.")
+    @ApiResponse(responseCode = "400", description = "O termo de busca não foi informado.")
+    public ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> searchTasks(
+            @Parameter(description = "Termos da busca")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Restringe a busca às tasks deste usuário")
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Posição do primeiro resultado (nextCursor da página anterior)")
+            @RequestParam(required = false) Integer offset,
+            @Parameter(description = "Quantidade de tasks por página (máximo 100)")
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.searchTasks(q, userId, offset, limit));
+    }
+
+    @GetMapping("/user/{userId}/counts")
+    @Operation(summary = "Conta as tasks do usuário", description = "Retorna a quantidade de tasks pendentes e concluídas do usuário, calculada no banco sem carregar as tasks.")
+    @ApiResponse(responseCode = "200", description = "Contagem das tasks do usuário por status.")
     @ApiResponse(responseCode = "404", description = "Não existe usuário com o id solicitado.")
-    public ResponseEntity<List<TaskResponseDTO>> getTasksByUserId(@PathVariable Long userId) {
-        List<TaskResponseDTO> taskResponseDTOS = taskService.listTasksByUserId(userId);
-        return ResponseEntity.status(HttpStatus.OK).body(taskResponseDTOS);
+    public ResponseEntity<TaskCountsResponseDTO> getTaskCountsByUserId(@PathVariable Long userId) {
+        return ResponseEntity.ok(taskService.countTasksByUserId(userId));
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Atualiza a task", description = "Retorna uma ataulização do titulo e da descrição da task pelo id.")
+    @Operation(summary = "Atualiza a task", description = "Retorna uma ataulização do titulo e da descrição da task pelo id. Com If-Match, a alteração só é aplicada se a task ainda estiver na versão informada.")
     @ApiResponse(responseCode = "200", description = "Task encontrada pelo id, e atualizada com sucesso.")
     @ApiResponse(responseCode = "400", description = "O corpo da requisição está ausente ou possui campos inválidos.")
     @ApiResponse(responseCode = "404", description = "Não existe task com o id solicitado.")
-    public ResponseEntity<TaskResponseDTO> updateTask(@PathVariable Long id,@Valid @RequestBody TaskRequestDTO requestDTO) {
-        return ResponseEntity.status(HttpStatus.OK).body(taskService.updateTask(id, requestDTO));
+    @ApiResponse(responseCode = "412", description = "A task foi alterada desde a versão informada em If-Match.")
+    public ResponseEntity<TaskResponseDTO> updateTask(@PathVariable Long id,@Valid @RequestBody TaskRequestDTO requestDTO,
+                                                      @Parameter(description = "ETag da versão da task que está sendo alterada")
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponseDTO response = taskService.updateTask(id, ETags.versionFromIfMatch(ifMatch), requestDTO);
+        return ResponseEntity.status(HttpStatus.OK).eTag(ETags.of(response.version())).body(response);
     }
 
     @PatchMapping("/{id}/status")
-    @Operation(summary = "Atualiza o status da Task", description = "Retorna o status da task atualizado.")
+    @Operation(summary = "Atualiza o status da Task", description = "Retorna o status da task atualizado. Com currentStatus no corpo, o status só muda se a task ainda estiver nele; com If-Match, só se a task ainda estiver na versão informada.")
     @ApiResponse(responseCode = "200", description = "Task encontrada pelo id, e status atualizado com sucesso.")
     @ApiResponse(responseCode = "400", description = "O corpo da requisição está ausente ou possui campos inválidos.")
     @ApiResponse(responseCode = "404", description = "Não existe task com o id solicitado.")
-    public ResponseEntity<TaskResponseDTO> updateTaskStatus(@PathVariable Long id, @Valid @RequestBody TaskStatusRequestDTO statusRequestDTO) {
-        return ResponseEntity.ok(taskService.updateStatus(id,statusRequestDTO));
+    @ApiResponse(responseCode = "409", description = "A task não está mais no status informado em currentStatus.")
+    @ApiResponse(responseCode = "412", description = "A task foi alterada desde a versão informada em If-Match.")
+    public ResponseEntity<TaskResponseDTO> updateTaskStatus(@PathVariable Long id, @Valid @RequestBody TaskStatusRequestDTO statusRequestDTO,
+                                                            @Parameter(description = "ETag da versão da task que está sendo alterada")
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponseDTO response = taskService.updateStatus(id, ETags.versionFromIfMatch(ifMatch), statusRequestDTO);
+        return ResponseEntity.ok().eTag(ETags.of(response.version())).body(response);
+    }
+
+    @PatchMapping("/status")
+    @Operation(summary = "Atualiza o status de várias tasks", description = "Atualiza em uma única operação as tasks informadas por ids, ou as tasks de um usuário com filtro opcional pelo status atual. Retorna a quantidade de tasks alteradas.")
+    @ApiResponse(responseCode = "200", description = "Status atualizado; retorna a quantidade de tasks alteradas.")
+    @ApiResponse(responseCode = "400", description = "O corpo da requisição está ausente ou possui campos inválidos.")
+    @ApiResponse(responseCode = "503", description = "Muitas operações em lote em andamento; tente novamente.")
+    public ResponseEntity<AffectedRowsResponseDTO> updateTasksStatus(@Valid @RequestBody TaskBulkStatusRequestDTO requestDTO) {
+        return ResponseEntity.ok(taskService.updateStatuses(requestDTO));
     }
 
     @DeleteMapping("/{id}")
@@ -81,4 +199,19 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping
+    @Operation(summary = "Deleta tasks em lote", description = "Exclui as tasks informadas por ids, ou as tasks de um usuário com filtro opcional por status. A exclusão é feita em blocos e retorna a quantidade de tasks removidas.")
+    @ApiResponse(responseCode = "200", description = "Tasks deletadas; retorna a quantidade removida.")
+    @ApiResponse(responseCode = "400", description = "Informe ids ou userId, mas não ambos, e no máximo 1000 ids.")
+    @ApiResponse(responseCode = "503", description = "Muitas operações em lote em andamento; tente novamente.")
+    public ResponseEntity<AffectedRowsResponseDTO> deleteTasks(
+            @Parameter(description = "Ids das tasks a excluir, separados por vírgula (até 1000)")
+            @RequestParam(required = false) Set<Long> ids,
+            @Parameter(description = "Exclui as tasks deste usuário")
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Status das tasks a excluir, usado com userId")
+            @RequestParam(required = false) TaskStatus status) {
+        return ResponseEntity.ok(taskService.deleteTasks(ids, userId, status));
+    }
+
 }
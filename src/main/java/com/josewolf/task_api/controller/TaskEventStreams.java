@@ -0,0 +1,153 @@
+package com.josewolf.task_api.controller;
+
+import com.josewolf.task_api.service.TaskEventFeed;
+import com.josewolf.task_api.service.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Conexões SSE do feed de tasks. Nenhuma conexão ociosa segura uma thread: a requisição fica assíncrona no Tomcat,
+// os eventos entram em uma fila limitada por conexão e uma virtual thread só existe enquanto a fila tem eventos.
+// Um cliente lento que enche a fila recebe o que já estava nela e tem a conexão encerrada; ao reconectar com o
+// Last-Event-ID recebe o restante pela janela de replay, ou um resync.
+@Component
+public class TaskEventStreams {
+
+    private static final TaskEventFeed.Event HEARTBEAT = new TaskEventFeed.Event(null, null);
+
+    private final TaskService taskService;
+    private final TaskExecutor sendExecutor;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final Counter slowConsumers;
+
+    public TaskEventStreams(TaskService taskService,
+                            @Qualifier("taskEventSendExecutor") TaskExecutor sendExecutor,
+                            @Qualifier("taskEventScheduler") TaskScheduler scheduler,
+                            MeterRegistry meterRegistry,
+                            @Value("${task-api.task-events.timeout:30m}") Duration timeout,
+                            @Value("${task-api.task-events.buffer-size:64}") int bufferSize,
+                            @Value("${task-api.task-events.heartbeat:15s}") Duration heartbeat) {
+        this.taskService = taskService;
+        this.sendExecutor = sendExecutor;
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+
+        Gauge.builder("taskapi.task_events.connections", connections, Set::size).register(meterRegistry);
+        this.slowConsumers = Counter.builder("taskapi.task_events.slow_consumers").register(meterRegistry);
+
+        // Proxies e balanceadores costumam encerrar conexões sem tráfego; o comentário também revela clientes que já saíram.
+        scheduler.scheduleAtFixedRate(this::heartbeat, heartbeat);
+    }
+
+    public SseEmitter open(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(emitter);
+        Runnable unsubscribe = taskService.subscribeToTaskEvents(userId, lastEventId, connection);
+        connections.add(connection);
+
+        Runnable close = () -> {
+            connection.closed = true;
+            connections.remove(connection);
+            unsubscribe.run();
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(ex -> close.run());
+        return emitter;
+    }
+
+    private void heartbeat() {
+        connections.forEach(Connection::heartbeat);
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(TaskEventFeed.Event event) {
+        if (event == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        // Sem dados o navegador não dispara evento, mas guarda o id para o Last-Event-ID da reconexão.
+        if (event.data() == null) {
+            return SseEmitter.event().id(event.id()).comment("position");
+        }
+        return SseEmitter.event()
+                .id(event.id())
+                .name(event.data().type())
+                .data(event.data(), MediaType.APPLICATION_JSON);
+    }
+
+    private final class Connection implements TaskEventFeed.Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<TaskEventFeed.Event> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        private Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Roda dentro do compute do feed: só enfileira e agenda o envio, sem I/O.
+        @Override
+        public boolean offer(TaskEventFeed.Event event) {
+            if (closed || overflowed) {
+                return false;
+            }
+            if (!queue.offer(event)) {
+                overflowed = true;
+                slowConsumers.increment();
+            }
+            scheduleSend();
+            return !overflowed;
+        }
+
+        private void heartbeat() {
+            if (!closed && queue.isEmpty() && queue.offer(HEARTBEAT)) {
+                scheduleSend();
+            }
+        }
+
+        private void scheduleSend() {
+            if (sending.compareAndSet(false, true)) {
+                sendExecutor.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                TaskEventFeed.Event event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(toSse(event));
+                }
+                if (overflowed && !closed) {
+                    closed = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Cliente desconectado ou stream já encerrado: o container chama o onError/onCompletion, que cancela a assinatura.
+                closed = true;
+            } finally {
+                sending.set(false);
+                if (!closed && !queue.isEmpty()) {
+                    scheduleSend();
+                }
+            }
+        }
+    }
+}
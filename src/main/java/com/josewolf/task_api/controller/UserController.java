@@ -1,17 +1,21 @@
 package com.josewolf.task_api.controller;
 
 import com.josewolf.task_api.dto.requestdto.UserRequestDTO;
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.UserDeletionResponseDTO;
 import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
 import com.josewolf.task_api.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.net.URI;
 
 @Tag(name = "Usuário", description = "Responsável por ações do usuário")
 @RestController
@@ -30,17 +34,27 @@ public class UserController {
     @ApiResponse(responseCode = "400", description = "O corpo da requisição está ausente ou possui campos inválidos.")
     public ResponseEntity<UserResponseDTO> createUser(@RequestBody @Valid UserRequestDTO userRequestDTO) {
         UserResponseDTO userResponseDTO = userService.createUser(userRequestDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(userResponseDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(userResponseDTO.version())).body(userResponseDTO);
     }
 
 
     @GetMapping
-    @Operation(summary = "Lista todos os usuários", description = "Retorna uma lista de todos os usuários criados")
-    @ApiResponse(responseCode = "200", description = "Todos os usuários existentes são listados.")
-    @ApiResponse(responseCode = "200", description = "Retorna uma lista vazia.")
-    public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-        List<UserResponseDTO> userResponseDTOS = userService.findAllUsers();
-        return ResponseEntity.ok(userResponseDTOS);
+    @Operation(summary = "Lista todos os usuários", description = "Retorna uma página de usuários ordenados por id, com filtros opcionais pelo início do username e do email. Com filtro, o custo da página cresce com o número de usuários que têm o prefixo: prefira prefixos mais longos.")
+    @ApiResponse(responseCode = "200", description = "Os usuários da página solicitada são listados.")
+    @ApiResponse(responseCode = "200", description = "Retorna uma página vazia.")
+    public ResponseEntity<CursorPageResponseDTO<UserResponseDTO>> getAllUsers(
+            @Parameter(description = "Prefixo do username")
+            @RequestParam(required = false) String username,
+            @Parameter(description = "Prefixo do email")
+            @RequestParam(required = false) String email,
+            @Parameter(description = "Id do último usuário recebido (nextCursor da página anterior)")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Quantidade de usuários por página (máximo 100)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Inclui a contagem de tasks pendentes e concluídas de cada usuário")
+            @RequestParam(defaultValue = "false") boolean withTaskCounts) {
+        CursorPageResponseDTO<UserResponseDTO> page = userService.findAllUsers(username, email, after, limit, withTaskCounts);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/search")
@@ -48,7 +62,8 @@ public class UserController {
     @ApiResponse(responseCode = "200", description = "Usuário encontrado pelo username solicitado.")
     @ApiResponse(responseCode = "404", description = "Usuário não encontrado com o username solicitado.")
     public ResponseEntity<UserResponseDTO> getByUserName(@RequestParam String username) {
-        return ResponseEntity.ok(userService.findByUsername(username));
+        UserResponseDTO response = userService.findByUsername(username);
+        return ResponseEntity.ok().eTag(ETags.of(response.version())).body(response);
     }
 
     @GetMapping("/search/email")
@@ -56,25 +71,39 @@ public class UserController {
     @ApiResponse(responseCode = "200", description = "Usuário encontrado pelo email solicitado.")
     @ApiResponse(responseCode = "404", description = "Usuário não encontrado com o email solicitado.")
     public ResponseEntity<UserResponseDTO> getByEmail(@RequestParam String email) {
-        return ResponseEntity.ok(userService.findByEmail(email));
+        UserResponseDTO response = userService.findByEmail(email);
+        return ResponseEntity.ok().eTag(ETags.of(response.version())).body(response);
     }
 
     @PatchMapping("/{id}")
-    @Operation(summary = "Atualiza o username ou email por id", description = "Atualiza o username ou email.")
+    @Operation(summary = "Atualiza o username ou email por id", description = "Atualiza o username ou email. Com If-Match, a alteração só é aplicada se o usuário ainda estiver na versão informada.")
     @ApiResponse(responseCode = "200", description = "Email ou username foram alterados.")
     @ApiResponse(responseCode = "404", description = "Usuário não encontrado com o Id solicitado.")
     @ApiResponse(responseCode = "409", description = "Email ou username já em uso por outro usuário.")
-    public ResponseEntity<UserResponseDTO> patch(@PathVariable Long id, @RequestBody UserRequestDTO userRequestDTO) {
-        UserResponseDTO response = userService.updateUserById(id, userRequestDTO);
-        return ResponseEntity.ok(response);
+    @ApiResponse(responseCode = "412", description = "O usuário foi alterado desde a versão informada em If-Match.")
+    public ResponseEntity<UserResponseDTO> patch(@PathVariable Long id, @RequestBody UserRequestDTO userRequestDTO,
+                                                 @Parameter(description = "ETag da versão do usuário que está sendo alterada")
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UserResponseDTO response = userService.updateUserById(id, ETags.versionFromIfMatch(ifMatch), userRequestDTO);
+        return ResponseEntity.ok().eTag(ETags.of(response.version())).body(response);
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Exclui o usuário", description = "Exclui o usuário por id.")
-    @ApiResponse(responseCode = "204", description = "Usuário deletado.")
+    @Operation(summary = "Exclui o usuário", description = "Marca o usuário como excluído e remove as tasks dele em segundo plano. Acompanhe a limpeza em /api/users/{id}/deletion.")
+    @ApiResponse(responseCode = "202", description = "Usuário excluído; a remoção das tasks foi agendada.")
     @ApiResponse(responseCode = "404", description = "Usuário não encontrado com o Id solicitado.")
-    public ResponseEntity<Void>  deleteUserById(@PathVariable Long id) {
-        userService.deleteUserById(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<UserDeletionResponseDTO> deleteUserById(@PathVariable Long id) {
+        UserDeletionResponseDTO deletion = userService.deleteUserById(id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/" + id + "/deletion"))
+                .body(deletion);
+    }
+
+    @GetMapping("/{id}/deletion")
+    @Operation(summary = "Consulta a exclusão do usuário", description = "Retorna o andamento da remoção das tasks de um usuário excluído. Enquanto o usuário estiver marcado como excluído a consulta responde em qualquer instância; o histórico de exclusões concluídas fica por uma hora apenas na instância que as executou e é perdido em um reinício.")
+    @ApiResponse(responseCode = "200", description = "Situação da exclusão do usuário.")
+    @ApiResponse(responseCode = "404", description = "Nenhuma exclusão em andamento nem registrada nesta instância para o Id solicitado.")
+    public ResponseEntity<UserDeletionResponseDTO> getDeletionStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(userService.findDeletionStatus(id));
     }
 }
@@ -0,0 +1,11 @@
+package com.josewolf.task_api.dto;
+
+import com.josewolf.task_api.model.TaskStatus;
+
+// Linha da contagem agrupada por usuário e status. taskStatus vem nulo para usuários sem tasks.
+public record TaskStatusCountDTO(
+        Long userId,
+        TaskStatus taskStatus,
+        Long total
+) {
+}
@@ -7,6 +7,9 @@ import jakarta.validation.constraints.NotNull;
 public record TaskStatusRequestDTO(
         @Schema(description = "Status atual da tarefa", allowableValues = {"PENDING", "COMPLETED"})
         @NotNull(message = "O status não pode ser nulo")
-        TaskStatus taskStatus
+        TaskStatus taskStatus,
+        @Schema(description = "Quando informado, altera o status somente se a task ainda estiver neste status", allowableValues = {"PENDING", "COMPLETED"})
+        TaskStatus currentStatus
 ) {
+
 }
@@ -0,0 +1,23 @@
+package com.josewolf.task_api.dto.requestdto;
+
+import com.josewolf.task_api.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Set;
+
+public record TaskBulkStatusRequestDTO(
+        @Schema(description = "Ids das tasks a atualizar. Não pode ser usado junto com userId.", example = "[1, 2, 3]")
+        Set<Long> ids,
+
+        @Schema(description = "Atualiza as tasks deste usuário. Não pode ser usado junto com ids.", example = "7")
+        Long userId,
+
+        @Schema(description = "Filtro opcional pelo status atual, usado com userId", allowableValues = {"PENDING", "COMPLETED"})
+        TaskStatus currentStatus,
+
+        @Schema(description = "Novo status das tasks", allowableValues = {"PENDING", "COMPLETED"})
+        @NotNull(message = "O status não pode ser nulo")
+        TaskStatus taskStatus
+) {
+}
@@ -0,0 +1,9 @@
+package com.josewolf.task_api.dto.responsedto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record AffectedRowsResponseDTO(
+        @Schema(description = "Quantidade de tasks afetadas pela operação", example = "12")
+        int affected
+) {
+}
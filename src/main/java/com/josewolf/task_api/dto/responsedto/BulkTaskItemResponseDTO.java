@@ -0,0 +1,25 @@
+package com.josewolf.task_api.dto.responsedto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkTaskItemResponseDTO(
+        @Schema(description = "Posição do item na lista enviada", example = "0")
+        int index,
+        @Schema(description = "Código de status HTTP do item", example = "201")
+        int status,
+        @Schema(description = "Task criada, quando o item foi aceito")
+        TaskResponseDTO task,
+        @Schema(description = "Motivo da recusa do item", example = "Usuário não encontrado")
+        String error
+) {
+
+    public static BulkTaskItemResponseDTO created(int index, TaskResponseDTO task) {
+        return new BulkTaskItemResponseDTO(index, 201, task, null);
+    }
+
+    public static BulkTaskItemResponseDTO rejected(int index, int status, String error) {
+        return new BulkTaskItemResponseDTO(index, status, null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.josewolf.task_api.dto.responsedto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record BulkTaskResponseDTO(
+        @Schema(description = "Quantidade de tasks criadas", example = "2")
+        int created,
+        @Schema(description = "Quantidade de itens recusados", example = "1")
+        int failed,
+        @Schema(description = "Resultado de cada item, na ordem enviada")
+        List<BulkTaskItemResponseDTO> results
+) {
+}
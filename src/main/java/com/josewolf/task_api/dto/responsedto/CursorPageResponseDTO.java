@@ -0,0 +1,33 @@
+package com.josewolf.task_api.dto.responsedto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageResponseDTO<T>(
+        @Schema(description = "Itens da página atual")
+        List<T> content,
+        @Schema(description = "Cursor para buscar a próxima página. Nulo quando não existem mais itens.", example = "20")
+        Long nextCursor
+) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    // As consultas buscam limit + 1 linhas: a linha extra só indica se existe próxima página.
+    public static <T> CursorPageResponseDTO<T> of(List<T> rows, int limit, Function<T, Long> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPageResponseDTO<>(rows, null);
+        }
+        List<T> page = rows.subList(0, limit);
+        return new CursorPageResponseDTO<>(List.copyOf(page), cursorOf.apply(page.get(limit - 1)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.josewolf.task_api.dto.responsedto;
+
+import com.josewolf.task_api.dto.TaskStatusCountDTO;
+import com.josewolf.task_api.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Collection;
+
+public record TaskCountsResponseDTO(
+        @Schema(description = "Quantidade de tasks pendentes", example = "3")
+        long pending,
+        @Schema(description = "Quantidade de tasks concluídas", example = "5")
+        long completed
+) {
+
+    public static TaskCountsResponseDTO of(Collection<TaskStatusCountDTO> rows) {
+        long pending = 0;
+        long completed = 0;
+        for (TaskStatusCountDTO row : rows) {
+            if (row.taskStatus() == TaskStatus.PENDING) {
+                pending += row.total();
+            } else if (row.taskStatus() == TaskStatus.COMPLETED) {
+                completed += row.total();
+            }
+        }
+        return new TaskCountsResponseDTO(pending, completed);
+    }
+}
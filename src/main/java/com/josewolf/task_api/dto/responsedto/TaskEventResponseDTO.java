@@ -0,0 +1,41 @@
+package com.josewolf.task_api.dto.responsedto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskEventResponseDTO(
+        @Schema(description = "Tipo do evento: created, updated, status-changed, deleted ou resync", example = "updated")
+        String type,
+        @Schema(description = "Usuário dono das tasks", example = "1")
+        Long userId,
+        @Schema(description = "Id da task afetada; ausente em resync", example = "42")
+        Long taskId,
+        @Schema(description = "Task após a alteração; ausente em deleted e resync")
+        TaskResponseDTO task
+) {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String STATUS_CHANGED = "status-changed";
+    public static final String DELETED = "deleted";
+    public static final String RESYNC = "resync";
+
+    public static TaskEventResponseDTO of(String type, TaskResponseDTO task) {
+        return new TaskEventResponseDTO(type, task.userId(), task.id(), task);
+    }
+
+    public static TaskEventResponseDTO deleted(Long userId, Long taskId) {
+        return new TaskEventResponseDTO(DELETED, userId, taskId, null);
+    }
+
+    // O cliente perdeu eventos (lote, buffer cheio ou fora da janela de replay) e deve recarregar a lista.
+    public static TaskEventResponseDTO resync(Long userId) {
+        return new TaskEventResponseDTO(RESYNC, userId, null, null);
+    }
+
+    // Só trafega entre as instâncias: sem userId, o TaskEventFeed envia um resync a cada usuário com stream aberto.
+    public static TaskEventResponseDTO resyncAll() {
+        return new TaskEventResponseDTO(RESYNC, null, null, null);
+    }
+}
@@ -15,7 +15,9 @@ public record TaskResponseDTO(
     @Schema(description = "Status atual da tarefa", example = "PENDING")
     TaskStatus taskStatus,
     @Schema(description = "Retorna o ID do usuário relacionado com a task.", example = "task = 5, pertence ao usuário = 7")
-    Long userId
+    Long userId,
+    @Schema(description = "Versão da task. Envie como ETag no cabeçalho If-Match para atualizar apenas esta versão.", example = "0")
+    Long version
 
 ) {
     public TaskResponseDTO (Task task){
@@ -23,7 +25,8 @@ public record TaskResponseDTO(
         task.getTitle(),
         task.getDescription(),
         task.getTaskStatus(),
-        task.getUser() != null ? task.getUser().getId() : null
+        task.getUser() != null ? task.getUser().getId() : null,
+        task.getVersion()
        );
     }
 }
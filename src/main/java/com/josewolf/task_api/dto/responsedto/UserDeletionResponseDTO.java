@@ -0,0 +1,51 @@
+package com.josewolf.task_api.dto.responsedto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserDeletionResponseDTO(
+        @Schema(description = "Id do usuário excluído", example = "7")
+        Long userId,
+        @Schema(description = "Situação da limpeza das tasks do usuário", example = "RUNNING")
+        State state,
+        @Schema(description = "Quantidade de tasks removidas até o momento, contada pela instância que executa a limpeza", example = "3000")
+        long tasksDeleted,
+        @Schema(description = "Momento em que a exclusão foi solicitada")
+        Instant requestedAt,
+        @Schema(description = "Momento em que a limpeza terminou. Nulo enquanto estiver em andamento.")
+        Instant finishedAt,
+        @Schema(description = "Motivo da falha, quando a limpeza falhar")
+        String error
+) {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public static UserDeletionResponseDTO pending(Long userId) {
+        return new UserDeletionResponseDTO(userId, State.PENDING, 0, Instant.now(), null, null);
+    }
+
+    // Usuário ainda marcado como excluído no banco, sem limpeza acompanhada por esta instância.
+    public static UserDeletionResponseDTO untracked(Long userId) {
+        return new UserDeletionResponseDTO(userId, State.PENDING, 0, null, null, null);
+    }
+
+    public UserDeletionResponseDTO running(long tasksDeleted) {
+        return new UserDeletionResponseDTO(userId, State.RUNNING, tasksDeleted, requestedAt, null, null);
+    }
+
+    public UserDeletionResponseDTO completed() {
+        return new UserDeletionResponseDTO(userId, State.COMPLETED, tasksDeleted, requestedAt, Instant.now(), null);
+    }
+
+    public UserDeletionResponseDTO failed(String error) {
+        return new UserDeletionResponseDTO(userId, State.FAILED, tasksDeleted, requestedAt, Instant.now(), error);
+    }
+}
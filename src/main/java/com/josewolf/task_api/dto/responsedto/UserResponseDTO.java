@@ -1,19 +1,36 @@
 package com.josewolf.task_api.dto.responsedto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.josewolf.task_api.model.User;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.annotation.PersistenceCreator;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record UserResponseDTO(
         @Schema(description = "Id único gerado pelo banco de dados.", example = "1")
         Long id,
         @Schema(description = "Retorna o username escrito pelo usuário.", example = "Teste")
         String username,
         @Schema(description = "Retorna o email escrito pelo usuário.", example = "teste@gmail.com")
-        String email
+        String email,
+        @Schema(description = "Versão do usuário. Envie como ETag no cabeçalho If-Match para atualizar apenas esta versão.", example = "0")
+        Long version,
+        @Schema(description = "Contagem de tasks por status. Presente apenas quando solicitada com withTaskCounts.")
+        TaskCountsResponseDTO taskCounts
 ) {
 
+        // Construtor usado pelas projeções do UserRepository, que não carregam as contagens.
+        @PersistenceCreator
+        public UserResponseDTO(Long id, String username, String email, Long version) {
+                this(id, username, email, version, null);
+        }
+
         public UserResponseDTO(User user) {
-                this(user.getId(), user.getUsername(), user.getEmail());
+                this(user.getId(), user.getUsername(), user.getEmail(), user.getVersion());
+        }
+
+        public UserResponseDTO withTaskCounts(TaskCountsResponseDTO taskCounts) {
+                return new UserResponseDTO(id, username, email, version, taskCounts);
         }
 
 }
@@ -0,0 +1,9 @@
+package com.josewolf.task_api.exceptions;
+
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+}
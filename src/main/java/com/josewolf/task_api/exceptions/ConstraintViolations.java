@@ -0,0 +1,19 @@
+package com.josewolf.task_api.exceptions;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    // O nome informado pelo driver pode vir com schema ou sufixos (ex.: "PUBLIC.UK_USERS_EMAIL_INDEX_4" no H2).
+    public static boolean violates(DataIntegrityViolationException ex, String constraintName) {
+        return ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraintName);
+    }
+}
@@ -1,7 +1,9 @@
 package com.josewolf.task_api.exceptions;
 
 import com.josewolf.task_api.dto.StandardError;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -33,6 +35,37 @@ public class GlobalHandlerException{
         return  ResponseEntity.status(HttpStatus.CONFLICT).body(err);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<StandardError> handleConflict(ConflictException ex) {
+        StandardError err = new StandardError(
+                HttpStatus.CONFLICT.value(),
+                "Conflito de dados",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(err);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<StandardError> handlePreconditionFailed(PreconditionFailedException ex) {
+        StandardError err = new StandardError(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Versão desatualizada",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(err);
+    }
+
+    // O executor de operações em lote está cheio; as requisições interativas continuam sendo atendidas.
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<StandardError> handleTaskRejected(TaskRejectedException ex) {
+        StandardError err = new StandardError(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Serviço sobrecarregado",
+                "Muitas operações em lote em andamento. Tente novamente em instantes."
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").body(err);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<StandardError> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
         StandardError err = new StandardError(
@@ -43,4 +76,14 @@ public class GlobalHandlerException{
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<StandardError> handleInvalidRequest(InvalidRequestException ex) {
+        StandardError err = new StandardError(
+                HttpStatus.BAD_REQUEST.value(),
+                "Requisição inválida",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+    }
+
 }
@@ -0,0 +1,9 @@
+package com.josewolf.task_api.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+}
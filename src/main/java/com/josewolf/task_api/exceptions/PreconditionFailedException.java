@@ -0,0 +1,9 @@
+package com.josewolf.task_api.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
@@ -5,6 +5,10 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,21 +17,45 @@ import java.util.List;
 @Setter
 @Entity
 @NoArgsConstructor
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_UNIQUE_KEY, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_UNIQUE_KEY, columnNames = "email")
+})
+@SQLRestriction("deleted = false")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
 
+    public static final String USERNAME_UNIQUE_KEY = "uk_users_username";
+    public static final String EMAIL_UNIQUE_KEY = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     @NotBlank(message = "Campo obrigatório")
     private String username;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     @NotBlank(message = "Campo obrigatório")
     private String email;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Usuários excluídos ficam marcados até o UserPurgeService remover as tasks e apagar a linha.
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Versão da lista de tasks do usuário (ETag da listagem), incrementada por SQL nativo no TaskListVersions.
+    // Não é gravada pela entidade, e o valor em cache pode estar desatualizado: leia pelo UserRepository.
+    @ColumnDefault("0")
+    @Column(name = "tasks_version", nullable = false, insertable = false, updatable = false)
+    private long tasksVersion;
+
+    @OneToMany(mappedBy = "user")
     private List<Task> tasks = new ArrayList<>();
 }
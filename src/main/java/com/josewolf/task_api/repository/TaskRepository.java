@@ -1,14 +1,143 @@
 package com.josewolf.task_api.repository;
 
+import com.josewolf.task_api.dto.TaskStatusCountDTO;
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
 import com.josewolf.task_api.model.Task;
+import com.josewolf.task_api.model.TaskStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
-    List<Task> findByUserId(Long userId);
+    // Parte de users com left join: nenhuma linha = usuário inexistente; uma linha com id nulo = usuário sem tasks.
+    @Query("""
+            select new com.josewolf.task_api.dto.responsedto.TaskResponseDTO(t.id, t.title, t.description, t.taskStatus, u.id, t.version)
+            from User u
+            left join u.tasks t on t.id < :before
+            where u.id = :userId
+            order by t.id desc""")
+    List<TaskResponseDTO> findPageByUserId(Long userId, Long before, Limit limit);
+
+    @Query("""
+            select new com.josewolf.task_api.dto.responsedto.TaskResponseDTO(t.id, t.title, t.description, t.taskStatus, u.id, t.version)
+            from User u
+            left join u.tasks t on t.taskStatus = :taskStatus and t.id < :before
+            where u.id = :userId
+            order by t.id desc""")
+    List<TaskResponseDTO> findPageByUserIdAndStatus(Long userId, TaskStatus taskStatus, Long before, Limit limit);
+
+    // Como em findResponsesByIds, tasks de usuários marcados como excluídos ficam de fora.
+    @Query("""
+            select new com.josewolf.task_api.dto.responsedto.TaskResponseDTO(t.id, t.title, t.description, t.taskStatus, u.id, t.version)
+            from Task t
+            join t.user u
+            where t.id > :after and u.deleted = false
+            order by t.id""")
+    List<TaskResponseDTO> findPageAfter(Long after, Limit limit);
+
+    // Agregação coberta pelo índice (user_id, task_status, id): nenhuma linha de task é carregada.
+    // Usuários sem tasks retornam uma linha com status nulo; usuários inexistentes não retornam linhas.
+    @Query("""
+            select new com.josewolf.task_api.dto.TaskStatusCountDTO(u.id, t.taskStatus, count(t.id))
+            from User u
+            left join u.tasks t
+            where u.id in :userIds
+            group by u.id, t.taskStatus""")
+    List<TaskStatusCountDTO> countByUserIdsAndStatus(Collection<Long> userIds);
+
+    @Query("""
+            select new com.josewolf.task_api.dto.responsedto.TaskResponseDTO(t.id, t.title, t.description, t.taskStatus, u.id, t.version)
+            from Task t
+            join t.user u
+            where t.id = :id and u.deleted = false""")
+    Optional<TaskResponseDTO> findResponseById(Long id);
+
+    // Tasks de usuários marcados como excluídos ficam de fora, mesmo antes de o UserPurgeService removê-las.
+    @Query("""
+            select new com.josewolf.task_api.dto.responsedto.TaskResponseDTO(t.id, t.title, t.description, t.taskStatus, u.id, t.version)
+            from Task t
+            join t.user u
+            where t.id in :ids and u.deleted = false""")
+    List<TaskResponseDTO> findResponsesByIds(Collection<Long> ids);
+
+    // Full-text search do PostgreSQL (DatabaseTaskSearch); as funções e o índice GIN estão em db/task-search-postgresql.sql.
+    // O ranking é calculado só sobre as tasks que casam com a consulta, e apenas os ids da página saem do banco.
+    @Query(value = """
+            select t.id
+            from tasks t
+            join users u on u.id = t.user_id and u.deleted = false
+            cross join task_search_query(:query) q
+            where task_search_document(t.title, t.description) @@ q
+            order by ts_rank(task_search_document(t.title, t.description), q) desc, t.id desc
+            offset :offset limit :limit""", nativeQuery = true)
+    List<Long> searchIds(String query, int offset, int limit);
+
+    @Query(value = """
+            select t.id
+            from tasks t
+            join users u on u.id = t.user_id and u.deleted = false
+            cross join task_search_query(:query) q
+            where t.user_id = :userId and task_search_document(t.title, t.description) @@ q
+            order by ts_rank(task_search_document(t.title, t.description), q) desc, t.id desc
+            offset :offset limit :limit""", nativeQuery = true)
+    List<Long> searchIdsByUserId(String query, Long userId, int offset, int limit);
+
+    // Escritas sem If-Match: um único UPDATE, sem ler a task antes. Como todo UPDATE JPQL, despeja a região "tasks".
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.title = :title, t.description = :description, t.version = t.version + 1 where t.id = :id")
+    int updateContent(Long id, String title, String description);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.taskStatus = :taskStatus, t.version = t.version + 1 where t.id = :id")
+    int updateStatus(Long id, TaskStatus taskStatus);
+
+    // Tasks que já estão no status de destino não são reescritas nem entram na contagem.
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.taskStatus = :taskStatus, t.version = t.version + 1 where t.id in :ids and t.taskStatus <> :taskStatus")
+    int updateStatusByIds(Collection<Long> ids, TaskStatus taskStatus);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.taskStatus = :taskStatus, t.version = t.version + 1 where t.user.id = :userId and t.taskStatus <> :taskStatus")
+    int updateStatusByUserId(Long userId, TaskStatus taskStatus);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Task t set t.taskStatus = :taskStatus, t.version = t.version + 1
+            where t.user.id = :userId and t.taskStatus = :currentStatus and t.taskStatus <> :taskStatus""")
+    int updateStatusByUserIdAndStatus(Long userId, TaskStatus currentStatus, TaskStatus taskStatus);
+
+    @Query("select t.id from Task t where t.user.id = :userId order by t.id")
+    List<Long> findIdsByUserId(Long userId, Limit limit);
+
+    @Query("select t.id from Task t where t.user.id = :userId and t.taskStatus = :taskStatus order by t.id")
+    List<Long> findIdsByUserIdAndStatus(Long userId, TaskStatus taskStatus, Limit limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.id in :ids")
+    int deleteByIds(Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.id in :ids and t.user.id = :userId")
+    int deleteByIdsAndUserId(Collection<Long> ids, Long userId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.id in :ids and t.user.id = :userId and t.taskStatus = :taskStatus")
+    int deleteByIdsAndUserIdAndStatus(Collection<Long> ids, Long userId, TaskStatus taskStatus);
+
+    @Query("select t.id from Task t where t.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.user.id = :userId")
+    int deleteByUserId(Long userId);
 
 }
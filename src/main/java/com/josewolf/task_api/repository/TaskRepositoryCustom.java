@@ -0,0 +1,15 @@
+package com.josewolf.task_api.repository;
+
+import com.josewolf.task_api.model.Task;
+
+import java.util.Optional;
+
+// Consultas do TaskRepository cujo SQL depende do banco (implementadas em TaskRepositoryCustomImpl).
+public interface TaskRepositoryCustom {
+
+    // Remove a task e devolve o id do dono; vazio quando a task não existe.
+    Optional<Long> deleteReturningUserId(Long id);
+
+    // Descarta a entrada da task no cache de segundo nível e relê a linha do banco; false quando a task não existe mais.
+    boolean refresh(Task task);
+}
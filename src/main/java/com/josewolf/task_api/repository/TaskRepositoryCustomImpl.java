@@ -0,0 +1,57 @@
+package com.josewolf.task_api.repository;
+
+import com.josewolf.task_api.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.List;
+import java.util.Optional;
+
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    TaskRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // PostgreSQL: um único DELETE ... RETURNING, sem leitura prévia. O H2 dos testes não tem RETURNING e lê o dono antes.
+    // O statement nativo não passa pela limpeza de cache do Hibernate: só esta task sai da região "tasks".
+    @Override
+    public Optional<Long> deleteReturningUserId(Long id) {
+        if (!supportsReturning()) {
+            List<Long> owners = entityManager.createQuery("select t.user.id from Task t where t.id = :id", Long.class)
+                    .setParameter("id", id)
+                    .getResultList();
+            if (owners.isEmpty()) {
+                return Optional.empty();
+            }
+            entityManager.createQuery("delete from Task t where t.id = :id").setParameter("id", id).executeUpdate();
+            return Optional.of(owners.get(0));
+        }
+
+        List<?> owners = entityManager.createNativeQuery("delete from tasks where id = :id returning user_id", Long.class)
+                .setParameter("id", id)
+                .getResultList();
+        entityManager.getEntityManagerFactory().getCache().evict(Task.class, id);
+        return owners.stream().findFirst().map(owner -> ((Number) owner).longValue());
+    }
+
+    @Override
+    public boolean refresh(Task task) {
+        entityManager.getEntityManagerFactory().getCache().evict(Task.class, task.getId());
+        try {
+            entityManager.refresh(task);
+            return true;
+        } catch (EntityNotFoundException ex) {
+            return false;
+        }
+    }
+
+    private boolean supportsReturning() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
@@ -1,15 +1,84 @@
 package com.josewolf.task_api.repository;
 
+import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
 import com.josewolf.task_api.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
-    Optional<User> findByUsername(String username);
-    Optional<User> findByEmail(String email);
+    Optional<UserResponseDTO> findResponseById(Long id);
+    Optional<UserResponseDTO> findResponseByUsername(String username);
+    Optional<UserResponseDTO> findResponseByEmail(String email);
+
+    List<UserResponseDTO> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+    // Com prefixo a página continua ordenada por id, então só a listagem sem filtro lê no máximo limit + 1 linhas.
+    // O banco escolhe entre percorrer a chave primária a partir do cursor, descartando quem não tem o prefixo, e ler
+    // todos os usuários com o prefixo pelos índices text_pattern_ops (db/schema-upgrade-postgresql.sql) e ordená-los
+    // por id: prefixos curtos ou raros custam proporcionalmente ao número de usuários que eles cobrem.
+    List<UserResponseDTO> findByUsernameStartingWithAndIdGreaterThanOrderByIdAsc(String usernamePrefix, Long after, Limit limit);
+    List<UserResponseDTO> findByEmailStartingWithAndIdGreaterThanOrderByIdAsc(String emailPrefix, Long after, Limit limit);
+    List<UserResponseDTO> findByUsernameStartingWithAndEmailStartingWithAndIdGreaterThanOrderByIdAsc(String usernamePrefix, String emailPrefix, Long after, Limit limit);
+
+    @Query("select u.id from User u where u.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    // Escritas sem If-Match: um único UPDATE, sem ler o usuário antes. Campos nulos mantêm o valor atual.
+    // Como todo UPDATE JPQL, despeja a região "users".
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update User u
+            set u.username = coalesce(:username, u.username), u.email = coalesce(:email, u.email), u.version = u.version + 1
+            where u.id = :id and u.deleted = false""")
+    int updateUsernameAndEmail(Long id, String username, String email);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.deleted = true, u.version = u.version + 1 where u.id = :id and u.deleted = false")
+    int markDeleted(Long id);
+
+    // Consultas nativas: a @SQLRestriction de User esconde os usuários marcados como excluídos de qualquer consulta JPQL.
+    @Query(value = "select id from users where deleted = true", nativeQuery = true)
+    List<Long> findDeletedIds();
+
+    @Query(value = "select count(*) from users where id = :id and deleted = true", nativeQuery = true)
+    long countDeleted(Long id);
+
+    // Versão da lista de tasks (ETag da listagem por usuário). Vazia para usuários inexistentes ou marcados como excluídos.
+    @Query(value = "select tasks_version from users where id = :id and deleted = false", nativeQuery = true)
+    Optional<Long> findTasksVersion(Long id);
+
+    // tasks_version não é lida pela entidade User: o query space próprio evita que o Hibernate despeje a região users
+    // do cache a cada escrita de task.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users_tasks_version"))
+    @Query(value = "update users set tasks_version = tasks_version + 1 where id in :ids", nativeQuery = true)
+    int incrementTasksVersions(Collection<Long> ids);
+
+    // Escritas por ids de task: os donos vêm da subconsulta, no mesmo statement.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users_tasks_version"))
+    @Query(value = "update users set tasks_version = tasks_version + 1 where id in (select user_id from tasks where id in :taskIds)",
+            nativeQuery = true)
+    int incrementTasksVersionsOfTasks(Collection<Long> taskIds);
+
+    // Com o query space o Hibernate despeja só a região de User do cache; sem ele esvaziaria todas as regiões.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "delete from users where id = :id and deleted = true", nativeQuery = true)
+    int purgeDeleted(Long id);
 
 }
@@ -0,0 +1,10 @@
+package com.josewolf.task_api.repository;
+
+import com.josewolf.task_api.model.User;
+
+// Operações do UserRepository que precisam do EntityManager (implementadas em UserRepositoryCustomImpl).
+public interface UserRepositoryCustom {
+
+    // Descarta a entrada do usuário no cache de segundo nível e relê a linha do banco; false quando o usuário não existe mais.
+    boolean refresh(User user);
+}
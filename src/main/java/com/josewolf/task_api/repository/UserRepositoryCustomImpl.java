@@ -0,0 +1,25 @@
+package com.josewolf.task_api.repository;
+
+import com.josewolf.task_api.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    UserRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public boolean refresh(User user) {
+        entityManager.getEntityManagerFactory().getCache().evict(User.class, user.getId());
+        try {
+            entityManager.refresh(user);
+            return true;
+        } catch (EntityNotFoundException ex) {
+            return false;
+        }
+    }
+}
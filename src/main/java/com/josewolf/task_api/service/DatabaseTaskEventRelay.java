@@ -0,0 +1,119 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.TaskEventResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+// LISTEN/NOTIFY do PostgreSQL: cada escrita faz um pg_notify com o evento em JSON, e todas as instâncias (inclusive a
+// que escreveu) o recebem em uma conexão própria que fica em LISTEN. Dentro de uma transação o banco só entrega a
+// notificação no commit, então um rollback nunca publica o evento.
+// Notificações enviadas enquanto a conexão de LISTEN está caída se perdem: ao reconectar, todos os streams desta
+// instância recebem um resync.
+@Slf4j
+public class DatabaseTaskEventRelay implements TaskEventRelay, AutoCloseable {
+
+    static final String CHANNEL = "task_events";
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final JsonMapper jsonMapper;
+    private volatile boolean running = true;
+    private volatile Connection connection;
+
+    public DatabaseTaskEventRelay(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jsonMapper = jsonMapper;
+    }
+
+    // O JdbcTemplate usa a conexão da transação em andamento, quando existe.
+    @Override
+    public void send(TaskEventResponseDTO event) {
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", CHANNEL, jsonMapper.writeValueAsString(event));
+    }
+
+    @Override
+    public void listen(Consumer<TaskEventResponseDTO> listener) {
+        Thread thread = new Thread(() -> receive(listener), "task-events-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        running = false;
+        Connection current = connection;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    // A conexão de LISTEN fica fora dos pools interactive e bulk: ela é ocupada o tempo todo.
+    private void receive(Consumer<TaskEventResponseDTO> listener) {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection listening = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    deliver(listener, TaskEventResponseDTO.resyncAll());
+                }
+                reconnecting = true;
+
+                PGConnection notifications = listening.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            deliverPayload(listener, notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Conexão de LISTEN dos eventos das tasks perdida; reconectando em {}", RECONNECT_DELAY, ex);
+                try {
+                    Thread.sleep(RECONNECT_DELAY.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliverPayload(Consumer<TaskEventResponseDTO> listener, String payload) {
+        try {
+            deliver(listener, jsonMapper.readValue(payload, TaskEventResponseDTO.class));
+        } catch (JacksonException ex) {
+            log.warn("Notificação de evento de task inválida ignorada: {}", payload, ex);
+        }
+    }
+
+    private void deliver(Consumer<TaskEventResponseDTO> listener, TaskEventResponseDTO event) {
+        try {
+            listener.accept(event);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao entregar o evento de task {}", event, ex);
+        }
+    }
+}
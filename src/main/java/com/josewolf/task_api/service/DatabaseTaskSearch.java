@@ -0,0 +1,25 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.repository.TaskRepository;
+
+import java.util.List;
+
+// Busca full-text do PostgreSQL: o índice GIN sobre task_search_document(title, description) é mantido pelo banco
+// a cada escrita, é o mesmo para todas as instâncias e não ocupa heap. Ranking e paginação (ts_rank, LIMIT/OFFSET)
+// também rodam no banco, então só os ids da página chegam à aplicação. O DDL está no README (seção Busca).
+public class DatabaseTaskSearch implements TaskSearch {
+
+    private final TaskRepository taskRepository;
+
+    public DatabaseTaskSearch(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public List<Long> search(String query, Long userId, int offset, int limit) {
+        if (userId == null) {
+            return taskRepository.searchIds(query, offset, limit);
+        }
+        return taskRepository.searchIdsByUserId(query, userId, offset, limit);
+    }
+}
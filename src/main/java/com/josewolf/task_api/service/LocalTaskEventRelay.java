@@ -0,0 +1,23 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.TaskEventResponseDTO;
+
+import java.util.function.Consumer;
+
+// Eventos só da própria instância: assinantes conectados a outra instância não recebem as escritas feitas nesta.
+// Usado pelo perfil de testes, em que o H2 não tem LISTEN/NOTIFY.
+public class LocalTaskEventRelay implements TaskEventRelay {
+
+    private volatile Consumer<TaskEventResponseDTO> listener = event -> {
+    };
+
+    @Override
+    public void send(TaskEventResponseDTO event) {
+        AfterCommit.run(() -> listener.accept(event));
+    }
+
+    @Override
+    public void listen(Consumer<TaskEventResponseDTO> listener) {
+        this.listener = listener;
+    }
+}
@@ -0,0 +1,210 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.TaskEventResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Alterações das tasks de cada usuário, publicadas após o commit e entregues aos assinantes do stream SSE.
+// As publicações passam pelo TaskEventRelay, que as leva a todas as instâncias: o assinante recebe as escritas
+// feitas em qualquer uma. A janela de replay e os ids dos eventos são de cada instância.
+// Só existe canal para usuários com assinantes recentes; para os demais a publicação é apenas um lookup no mapa.
+// Cada canal guarda os últimos eventos (janela de replay) para que uma reconexão com Last-Event-ID receba o que perdeu.
+// Quem volta de fora da janela, de outra instância ou de antes de um reinício recebe um resync e recarrega a lista.
+// Publicação, assinatura e remoção de um canal rodam dentro do compute do mapa, serializadas por usuário:
+// o replay e o registro do assinante acontecem juntos, sem perder nem duplicar eventos.
+@Component
+public class TaskEventFeed {
+
+    public interface Subscriber {
+
+        // Chamado dentro do compute do canal: não pode bloquear nem chamar o feed. false remove o assinante.
+        boolean offer(Event event);
+    }
+
+    // data nulo marca apenas a posição atual do stream, para que uma reconexão sem eventos recebidos possa ser retomada.
+    public record Event(String id, TaskEventResponseDTO data) {
+    }
+
+    private record Entry(long sequence, long publishedAt, Event event) {
+    }
+
+    private static final class Channel {
+
+        private final ArrayDeque<Entry> recent = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        // Eventos com sequência até floor podem não estar na janela: foram descartados ou publicados antes do canal existir.
+        private long floor;
+        private long lastActivity = System.nanoTime();
+
+        private Channel(long floor) {
+            this.floor = floor;
+        }
+    }
+
+    private final String instance = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final int replaySize;
+    private final long replayTtlNanos;
+
+    private final TaskEventRelay relay;
+
+    public TaskEventFeed(@Qualifier("taskEventScheduler") TaskScheduler scheduler, TaskEventRelay relay,
+                         @Value("${task-api.task-events.replay-size:256}") int replaySize,
+                         @Value("${task-api.task-events.replay-ttl:5m}") Duration replayTtl) {
+        this.relay = relay;
+        this.replaySize = replaySize;
+        this.replayTtlNanos = replayTtl.toNanos();
+        scheduler.scheduleWithFixedDelay(this::evictExpired, replayTtl);
+        relay.listen(this::publish);
+    }
+
+    public void createdAfterCommit(TaskResponseDTO task) {
+        relay.send(TaskEventResponseDTO.of(TaskEventResponseDTO.CREATED, task));
+    }
+
+    public void updatedAfterCommit(TaskResponseDTO task) {
+        relay.send(TaskEventResponseDTO.of(TaskEventResponseDTO.UPDATED, task));
+    }
+
+    public void statusChangedAfterCommit(TaskResponseDTO task) {
+        relay.send(TaskEventResponseDTO.of(TaskEventResponseDTO.STATUS_CHANGED, task));
+    }
+
+    public void deletedAfterCommit(Long userId, Long taskId) {
+        relay.send(TaskEventResponseDTO.deleted(userId, taskId));
+    }
+
+    // Operações em lote não geram um evento por task: encheriam o buffer dos assinantes de uma vez.
+    public void resyncAfterCommit(Long userId) {
+        relay.send(TaskEventResponseDTO.resync(userId));
+    }
+
+    // Escritas por ids de task não conhecem os donos: todos os usuários com canal, em cada instância, recebem um resync.
+    public void resyncAllAfterCommit() {
+        relay.send(TaskEventResponseDTO.resyncAll());
+    }
+
+    // Sem lastEventId o assinante recebe só a posição atual; com ele, os eventos posteriores da janela ou um resync.
+    // O Runnable devolvido cancela a assinatura e pode ser chamado mais de uma vez.
+    public Runnable subscribe(Long userId, String lastEventId, Subscriber subscriber) {
+        channels.compute(userId, (id, existing) -> {
+            Channel channel = existing != null ? existing : new Channel(sequence.get());
+            channel.lastActivity = System.nanoTime();
+            if (replay(channel, userId, lastEventId, subscriber)) {
+                channel.subscribers.add(subscriber);
+                subscriberCount.incrementAndGet();
+            }
+            return channel;
+        });
+        return () -> unsubscribe(userId, subscriber);
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Remove os eventos mais antigos que a janela e os canais sem assinantes há mais tempo que ela.
+    void evictExpired() {
+        long now = System.nanoTime();
+        for (Long userId : channels.keySet()) {
+            channels.computeIfPresent(userId, (id, channel) -> {
+                trim(channel, now);
+                boolean idle = channel.subscribers.isEmpty() && now - channel.lastActivity > replayTtlNanos;
+                return idle ? null : channel;
+            });
+        }
+    }
+
+    private void publish(TaskEventResponseDTO data) {
+        if (data.userId() == null) {
+            channels.keySet().forEach(userId -> publish(TaskEventResponseDTO.resync(userId)));
+            return;
+        }
+        channels.computeIfPresent(data.userId(), (id, channel) -> {
+            long now = System.nanoTime();
+            long next = sequence.incrementAndGet();
+            Event event = new Event(eventId(next), data);
+
+            channel.recent.addLast(new Entry(next, now, event));
+            trim(channel, now);
+
+            Iterator<Subscriber> subscribers = channel.subscribers.iterator();
+            while (subscribers.hasNext()) {
+                if (!subscribers.next().offer(event)) {
+                    subscribers.remove();
+                    subscriberCount.decrementAndGet();
+                }
+            }
+            return channel;
+        });
+    }
+
+    private boolean replay(Channel channel, Long userId, String lastEventId, Subscriber subscriber) {
+        long current = sequence.get();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return subscriber.offer(new Event(eventId(current), null));
+        }
+
+        long last = sequenceOf(lastEventId);
+        if (last < channel.floor || last > current) {
+            return subscriber.offer(new Event(eventId(current), TaskEventResponseDTO.resync(userId)));
+        }
+
+        for (Entry entry : channel.recent) {
+            if (entry.sequence() > last && !subscriber.offer(entry.event())) {
+                return false;
+            }
+        }
+        return subscriber.offer(new Event(eventId(current), null));
+    }
+
+    private void unsubscribe(Long userId, Subscriber subscriber) {
+        channels.computeIfPresent(userId, (id, channel) -> {
+            if (channel.subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            channel.lastActivity = System.nanoTime();
+            return channel;
+        });
+    }
+
+    private void trim(Channel channel, long now) {
+        while (!channel.recent.isEmpty()
+                && (channel.recent.size() > replaySize || now - channel.recent.peekFirst().publishedAt() > replayTtlNanos)) {
+            channel.floor = channel.recent.removeFirst().sequence();
+        }
+    }
+
+    private String eventId(long sequence) {
+        return instance + "-" + sequence;
+    }
+
+    // -1 para ids de outra instância ou malformados: ficam sempre abaixo do floor e resultam em resync.
+    private long sequenceOf(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !eventId.substring(0, dash).equals(instance)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
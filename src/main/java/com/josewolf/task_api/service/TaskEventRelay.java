@@ -0,0 +1,15 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.TaskEventResponseDTO;
+
+import java.util.function.Consumer;
+
+// Transporte dos eventos das tasks até o TaskEventFeed de cada instância (TaskEventsConfig escolhe a implementação).
+public interface TaskEventRelay {
+
+    // Entregue quando a transação atual for confirmada e descartado no rollback; fora de uma transação, imediatamente.
+    void send(TaskEventResponseDTO event);
+
+    // Registra quem recebe os eventos enviados por todas as instâncias, inclusive esta.
+    void listen(Consumer<TaskEventResponseDTO> listener);
+}
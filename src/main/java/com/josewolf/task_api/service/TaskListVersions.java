@@ -0,0 +1,43 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Versão da lista de tasks de cada usuário, usada como ETag. Fica na coluna users.tasks_version e é incrementada na
+// mesma transação de cada escrita do TaskService: todas as instâncias leem a mesma versão, então uma lista alterada
+// em outra instância nunca recebe 304, e a versão sobrevive a reinícios.
+@Component
+public class TaskListVersions {
+
+    private final UserRepository userRepository;
+
+    public TaskListVersions(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public Optional<String> etag(Long userId) {
+        return userRepository.findTasksVersion(userId).map(version -> "\"" + version + "\"");
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long userId) {
+        bump(List.of(userId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Collection<Long> userIds) {
+        userRepository.incrementTasksVersions(userIds);
+    }
+
+    // Deve rodar antes de uma exclusão por ids, enquanto as tasks ainda apontam para os donos.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bumpOwnersOf(Collection<Long> taskIds) {
+        userRepository.incrementTasksVersionsOfTasks(taskIds);
+    }
+}
@@ -0,0 +1,23 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+// Busca textual sobre título e descrição das tasks (TaskSearchConfig escolhe a implementação).
+// Os ganchos de escrita só importam para implementações que mantêm um índice próprio, fora do banco.
+public interface TaskSearch {
+
+    // Retorna os ids em ordem de relevância (empate: task mais recente primeiro), pulando offset resultados.
+    List<Long> search(String query, Long userId, int offset, int limit);
+
+    default void indexAfterCommit(TaskResponseDTO task) {
+    }
+
+    default void removeAfterCommit(Collection<Long> taskIds) {
+    }
+
+    default void removeByUserId(Long userId) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Índice invertido em memória sobre título e descrição das tasks, com ranking TF-IDF, para o perfil de testes
+// (task-api.search.engine=memory), em que o H2 não oferece full-text search. Cada instância tem a própria cópia,
+// que cresce com o número de tasks e é reconstruída ao iniciar: fora dos testes a busca é a DatabaseTaskSearch.
+// Guarda apenas os termos e o dono de cada task: o conteúdo exibido é sempre lido do banco.
+@Slf4j
+public class TaskSearchIndex implements TaskSearch {
+
+    static final int TITLE_WEIGHT = 2;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private record Document(Long userId, Map<String, Integer> termFrequencies) {
+    }
+
+    private record Match(Long id, double score) {
+    }
+
+    private final TaskRepository taskRepository;
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TaskSearchIndex(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long cursor = 0L;
+        int indexed = 0;
+        List<TaskResponseDTO> page;
+        do {
+            page = taskRepository.findPageAfter(cursor, Limit.of(REBUILD_PAGE_SIZE));
+            page.forEach(this::index);
+            indexed += page.size();
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        log.info("Índice de busca de tasks carregado com {} task(s)", indexed);
+    }
+
+    @Override
+    public List<Long> search(String query, Long userId, int offset, int limit) {
+        Set<String> terms = Set.copyOf(tokenize(query).keySet());
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) documents.size() / matches.size());
+                matches.forEach((id, frequency) -> {
+                    if (userId == null || userId.equals(documents.get(id).userId())) {
+                        scores.merge(id, (1.0 + Math.log(frequency)) * idf, Double::sum);
+                    }
+                });
+            }
+
+            return scores.entrySet().stream()
+                    .map(entry -> new Match(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingDouble(Match::score).reversed()
+                            .thenComparing(Match::id, Comparator.reverseOrder()))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Match::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(TaskResponseDTO task) {
+        Map<String, Integer> frequencies = tokenize(task.description());
+        tokenize(task.title()).forEach((term, count) -> frequencies.merge(term, count * TITLE_WEIGHT, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            unindex(task.id());
+            documents.put(task.id(), new Document(task.userId(), frequencies));
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(task.id(), frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> taskIds) {
+        lock.writeLock().lock();
+        try {
+            taskIds.forEach(this::unindex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeByUserId(Long userId) {
+        lock.writeLock().lock();
+        try {
+            List<Long> taskIds = documents.entrySet().stream()
+                    .filter(entry -> userId.equals(entry.getValue().userId()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            taskIds.forEach(this::unindex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Alterações feitas dentro de uma transação só chegam ao índice se ela for confirmada.
+    @Override
+    public void indexAfterCommit(TaskResponseDTO task) {
+        AfterCommit.run(() -> index(task));
+    }
+
+    @Override
+    public void removeAfterCommit(Collection<Long> taskIds) {
+        List<Long> ids = List.copyOf(taskIds);
+        AfterCommit.run(() -> remove(ids));
+    }
+
+    private void unindex(Long taskId) {
+        Document previous = documents.remove(taskId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.termFrequencies().keySet()) {
+            Map<Long, Integer> matches = postings.get(term);
+            matches.remove(taskId);
+            if (matches.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // Minúsculas e sem acentos, para que "configuração" encontre "configuracao".
+    static Map<String, Integer> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new HashMap<>();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)).replaceAll("");
+
+        return SEPARATORS.splitAsStream(normalized)
+                .filter(term -> term.length() > 1)
+                .collect(Collectors.toMap(term -> term, term -> 1, Integer::sum, HashMap::new));
+    }
+}
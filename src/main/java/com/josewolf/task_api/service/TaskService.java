@@ -1,96 +1,481 @@
 package com.josewolf.task_api.service;
 
+import com.josewolf.task_api.config.Workload;
+import com.josewolf.task_api.config.WorkloadType;
+import com.josewolf.task_api.dto.TaskStatusCountDTO;
 import com.josewolf.task_api.dto.TaskStatusRequestDTO;
+import com.josewolf.task_api.dto.requestdto.TaskBulkStatusRequestDTO;
 import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import com.josewolf.task_api.dto.responsedto.AffectedRowsResponseDTO;
+import com.josewolf.task_api.dto.responsedto.BulkTaskItemResponseDTO;
+import com.josewolf.task_api.dto.responsedto.BulkTaskResponseDTO;
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskCountsResponseDTO;
 import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.exceptions.ConflictException;
+import com.josewolf.task_api.exceptions.ConstraintViolations;
+import com.josewolf.task_api.exceptions.InvalidRequestException;
+import com.josewolf.task_api.exceptions.PreconditionFailedException;
 import com.josewolf.task_api.exceptions.ResourceNotFoundException;
 import com.josewolf.task_api.model.Task;
 import com.josewolf.task_api.model.TaskStatus;
-import com.josewolf.task_api.model.User;
 import com.josewolf.task_api.repository.TaskRepository;
 import com.josewolf.task_api.repository.UserRepository;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
+    public static final int MAX_BULK_SIZE = 1000;
+    public static final int DELETE_CHUNK_SIZE = 1000;
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskSearch taskSearch;
+    private final TaskListVersions taskListVersions;
+    private final TaskEventFeed taskEventFeed;
+    private final UserCache userCache;
 
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository, Validator validator,
+                       TransactionTemplate transactionTemplate, TaskSearch taskSearch,
+                       TaskListVersions taskListVersions, TaskEventFeed taskEventFeed, UserCache userCache) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
-
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.taskSearch = taskSearch;
+        this.taskListVersions = taskListVersions;
+        this.taskEventFeed = taskEventFeed;
+        this.userCache = userCache;
     }
 
+    // O usuário vem do UserCache, que só guarda usuários lidos sem o flag deleted e é limpo na exclusão feita por
+    // esta instância: para usuários já em cache o insert é o único statement.
+    // Um usuário excluído em outra instância pode continuar no cache desta até o TTL. Uma task criada nesse intervalo
+    // é apagada pelo UserPurgeService na mesma transação que remove o usuário, e depois disso o insert falha pela FK.
+    @Transactional
     public TaskResponseDTO createTask(TaskRequestDTO taskRequestDTO) {
-
-        User user = userRepository.findById(taskRequestDTO.userId()).orElseThrow(
-                () -> new ResourceNotFoundException("Usuário não encontrado"));
+        if (userCache.findById(taskRequestDTO.userId(), userRepository::findResponseById).isEmpty()) {
+            throw new ResourceNotFoundException("Usuário não encontrado");
+        }
 
         Task task = new Task();
 
         task.setTitle(taskRequestDTO.title());
         task.setDescription(taskRequestDTO.description());
         task.setTaskStatus(TaskStatus.PENDING);
-        task.setUser(user);
+        task.setUser(userRepository.getReferenceById(taskRequestDTO.userId()));
 
-        Task savedTask = taskRepository.save(task);
+        // A referência não carrega o usuário; um usuário apagado depois da consulta ainda é detectado pela FK no insert.
+        TaskResponseDTO response;
+        try {
+            response = new TaskResponseDTO(taskRepository.saveAndFlush(task));
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.violates(ex, Task.USER_FOREIGN_KEY)) {
+                throw new ResourceNotFoundException("Usuário não encontrado");
+            }
+            throw ex;
+        }
 
-        return new TaskResponseDTO(savedTask);
+        taskSearch.indexAfterCommit(response);
+        taskListVersions.bump(response.userId());
+        taskEventFeed.createdAfterCommit(response);
+        return response;
     }
 
-    public List<TaskResponseDTO> listAllTasks() {
+    @Workload(WorkloadType.BULK)
+    @Transactional
+    public BulkTaskResponseDTO createTasks(List<TaskRequestDTO> taskRequestDTOS) {
+        if (taskRequestDTOS == null || taskRequestDTOS.isEmpty()) {
+            throw new InvalidRequestException("A lista de tasks não pode ser vazia.");
+        }
+        if (taskRequestDTOS.size() > MAX_BULK_SIZE) {
+            throw new InvalidRequestException("A lista de tasks não pode ter mais de " + MAX_BULK_SIZE + " itens.");
+        }
 
-        List<Task> tasks = taskRepository.findAll();
+        Set<Long> userIds = taskRequestDTOS.stream()
+                .filter(Objects::nonNull)
+                .map(TaskRequestDTO::userId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingUserIds = userIds.isEmpty() ? Set.of() : userRepository.findExistingIds(userIds);
 
-        return tasks.stream()
-                .map(TaskResponseDTO::new)
-                .toList();
+        BulkTaskItemResponseDTO[] results = new BulkTaskItemResponseDTO[taskRequestDTOS.size()];
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> taskIndexes = new ArrayList<>();
+
+        for (int i = 0; i < taskRequestDTOS.size(); i++) {
+            TaskRequestDTO request = taskRequestDTOS.get(i);
+
+            if (request == null || !validator.validate(request).isEmpty()) {
+                results[i] = BulkTaskItemResponseDTO.rejected(i, HttpStatus.BAD_REQUEST.value(),
+                        "O item está ausente ou possui campos inválidos.");
+                continue;
+            }
+            if (!existingUserIds.contains(request.userId())) {
+                results[i] = BulkTaskItemResponseDTO.rejected(i, HttpStatus.NOT_FOUND.value(),
+                        "Usuário não encontrado com o Id: " + request.userId());
+                continue;
+            }
+
+            Task task = new Task();
+            task.setTitle(request.title());
+            task.setDescription(request.description());
+            task.setTaskStatus(TaskStatus.PENDING);
+            task.setUser(userRepository.getReferenceById(request.userId()));
+
+            tasks.add(task);
+            taskIndexes.add(i);
+        }
+
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+
+        for (int i = 0; i < savedTasks.size(); i++) {
+            int index = taskIndexes.get(i);
+            TaskResponseDTO response = new TaskResponseDTO(savedTasks.get(i));
+            taskSearch.indexAfterCommit(response);
+            results[index] = BulkTaskItemResponseDTO.created(index, response);
+        }
+        List<Long> owners = savedTasks.stream().map(task -> task.getUser().getId()).distinct().toList();
+        if (!owners.isEmpty()) {
+            taskListVersions.bump(owners);
+            owners.forEach(taskEventFeed::resyncAfterCommit);
+        }
+
+        return new BulkTaskResponseDTO(savedTasks.size(), results.length - savedTasks.size(), List.of(results));
     }
 
-    public List<TaskResponseDTO> listTasksByUserId(Long userId) {
+    @Workload(WorkloadType.BULK)
+    @Transactional
+    public AffectedRowsResponseDTO updateStatuses(TaskBulkStatusRequestDTO requestDTO) {
+        boolean hasIds = requestDTO.ids() != null && !requestDTO.ids().isEmpty();
+
+        if (hasIds == (requestDTO.userId() != null)) {
+            throw new InvalidRequestException("Informe a lista de ids ou o userId, mas não ambos.");
+        }
+
+        int affected;
+        if (hasIds) {
+            if (requestDTO.ids().size() > MAX_BULK_SIZE) {
+                throw new InvalidRequestException("A lista de ids não pode ter mais de " + MAX_BULK_SIZE + " itens.");
+            }
+            if (requestDTO.currentStatus() != null) {
+                throw new InvalidRequestException("O filtro por status atual só pode ser usado com userId.");
+            }
+            affected = taskRepository.updateStatusByIds(requestDTO.ids(), requestDTO.taskStatus());
+        } else if (requestDTO.currentStatus() != null) {
+            affected = taskRepository.updateStatusByUserIdAndStatus(requestDTO.userId(), requestDTO.currentStatus(), requestDTO.taskStatus());
+        } else {
+            affected = taskRepository.updateStatusByUserId(requestDTO.userId(), requestDTO.taskStatus());
+        }
+
+        if (affected > 0 && hasIds) {
+            invalidateListsOf(requestDTO.ids());
+        } else if (affected > 0) {
+            invalidateLists(requestDTO.userId());
+        }
+
+        return new AffectedRowsResponseDTO(affected);
+    }
+
+    @Workload(WorkloadType.BULK)
+    public CursorPageResponseDTO<TaskResponseDTO> listAllTasks(Long after, Integer limit) {
+        int pageSize = CursorPageResponseDTO.normalizeLimit(limit);
+        long cursor = after != null ? after : 0L;
+
+        List<TaskResponseDTO> tasks = taskRepository.findPageAfter(cursor, Limit.of(pageSize + 1));
+
+        return CursorPageResponseDTO.of(tasks, pageSize, TaskResponseDTO::id);
+    }
+
+    // Deve ser lida antes da consulta, para que a ETag nunca seja mais nova que os dados retornados.
+    public String taskListETag(Long userId) {
+        return taskListVersions.etag(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com o Id: " + userId));
+    }
+
+    // Consulta apenas a existência do usuário; os eventos seguintes vêm do feed, sem novas leituras no banco.
+    public Runnable subscribeToTaskEvents(Long userId, String lastEventId, TaskEventFeed.Subscriber subscriber) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("Usuário não encontrado com o Id: " + userId);
         }
+        return taskEventFeed.subscribe(userId, lastEventId, subscriber);
+    }
+
+    public CursorPageResponseDTO<TaskResponseDTO> listTasksByUserId(Long userId, TaskStatus status, Long before, Integer limit) {
+        int pageSize = CursorPageResponseDTO.normalizeLimit(limit);
+        long cursor = before != null ? before : Long.MAX_VALUE;
+        Limit rows = Limit.of(pageSize + 1);
+
+        List<TaskResponseDTO> tasks = status != null
+                ? taskRepository.findPageByUserIdAndStatus(userId, status, cursor, rows)
+                : taskRepository.findPageByUserId(userId, cursor, rows);
+
+        if (tasks.isEmpty()) {
+            throw new ResourceNotFoundException("Usuário não encontrado com o Id: " + userId);
+        }
+
+        if (tasks.get(0).id() == null) {
+            return new CursorPageResponseDTO<>(List.of(), null);
+        }
+
+        return CursorPageResponseDTO.of(tasks, pageSize, TaskResponseDTO::id);
+    }
+
+    // A busca devolve os ids já ordenados por relevância; o conteúdo vem do banco na mesma ordem.
+    public CursorPageResponseDTO<TaskResponseDTO> searchTasks(String query, Long userId, Integer offset, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Informe o termo de busca.");
+        }
+
+        int pageSize = CursorPageResponseDTO.normalizeLimit(limit);
+        int start = offset != null && offset > 0 ? offset : 0;
 
-        List<Task> tasks = taskRepository.findByUserId(userId);
+        List<Long> ids = taskSearch.search(query, userId, start, pageSize + 1);
+        List<Long> pageIds = ids.size() > pageSize ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new CursorPageResponseDTO<>(List.of(), null);
+        }
 
-        return tasks.stream()
-                .map(TaskResponseDTO::new)
+        Map<Long, TaskResponseDTO> tasksById = taskRepository.findResponsesByIds(pageIds).stream()
+                .collect(Collectors.toMap(TaskResponseDTO::id, Function.identity()));
+        List<TaskResponseDTO> tasks = pageIds.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
                 .toList();
+
+        Long nextCursor = ids.size() > pageSize ? (long) start + pageSize : null;
+        return new CursorPageResponseDTO<>(tasks, nextCursor);
     }
 
-    public TaskResponseDTO updateTask(Long taskId, TaskRequestDTO taskRequestDTO) {
-        Task task =  taskRepository.findById(taskId).orElseThrow(() ->
-                new ResourceNotFoundException("Task inexistente com o Id: " + taskId));
+    public TaskCountsResponseDTO countTasksByUserId(Long userId) {
+        List<TaskStatusCountDTO> rows = taskRepository.countByUserIdsAndStatus(List.of(userId));
 
-        task.setTitle(taskRequestDTO.title());
-        task.setDescription(taskRequestDTO.description());
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Usuário não encontrado com o Id: " + userId);
+        }
 
-        Task savedTask = taskRepository.save(task);
+        return TaskCountsResponseDTO.of(rows);
+    }
+
+    // expectedVersion vem do If-Match; nula quando o cliente não exige uma versão.
+    // Sem If-Match a escrita sempre vence: um único UPDATE, sem leitura prévia, e a releitura da resposta.
+    // Com If-Match a task vem do cache de segundo nível e o UPDATE é condicionado à versão lida.
+    // Uma versão diferente no cache é conferida no banco antes do 412 (ver findTaskMatching).
+    @Transactional
+    public TaskResponseDTO updateTask(Long taskId, Long expectedVersion, TaskRequestDTO taskRequestDTO) {
+        TaskResponseDTO response;
+        if (expectedVersion == null) {
+            if (taskRepository.updateContent(taskId, taskRequestDTO.title(), taskRequestDTO.description()) == 0) {
+                throw taskNotFound(taskId);
+            }
+            response = findResponseById(taskId);
+        } else {
+            Task task = findTaskMatching(taskId, expectedVersion, null);
+
+            task.setTitle(taskRequestDTO.title());
+            task.setDescription(taskRequestDTO.description());
+            response = new TaskResponseDTO(flush(task, expectedVersion));
+        }
 
-        return new TaskResponseDTO(savedTask);
+        taskSearch.indexAfterCommit(response);
+        taskListVersions.bump(response.userId());
+        taskEventFeed.updatedAfterCommit(response);
+        return response;
     }
 
-    public TaskResponseDTO updateStatus(Long taskId, TaskStatusRequestDTO statusRequestDTO) {
-        Task task =  taskRepository.findById(taskId).orElseThrow(() ->
-                new ResourceNotFoundException("Task inexistente com o Id: " + taskId));
+    // Com currentStatus a troca é um compare-and-set: o status é conferido na task lida e o UPDATE falha
+    // se outra requisição alterou a task (e portanto a versão) depois da leitura.
+    @Transactional
+    public TaskResponseDTO updateStatus(Long taskId, Long expectedVersion, TaskStatusRequestDTO statusRequestDTO) {
+        TaskStatus currentStatus = statusRequestDTO.currentStatus();
+        TaskResponseDTO response;
+        if (expectedVersion == null && currentStatus == null) {
+            if (taskRepository.updateStatus(taskId, statusRequestDTO.taskStatus()) == 0) {
+                throw taskNotFound(taskId);
+            }
+            response = findResponseById(taskId);
+        } else {
+            Task task = findTaskMatching(taskId, expectedVersion, currentStatus);
 
-        task.setTaskStatus(statusRequestDTO.taskStatus());
-        Task updatedTask = taskRepository.save(task);
+            task.setTaskStatus(statusRequestDTO.taskStatus());
+            response = new TaskResponseDTO(flush(task, expectedVersion));
+        }
 
-        return new TaskResponseDTO(updatedTask);
+        taskListVersions.bump(response.userId());
+        taskEventFeed.statusChangedAfterCommit(response);
+        return response;
     }
 
+    // A exclusão não tem pré-condição: um único DELETE, que devolve o dono para a ETag e o evento da lista dele.
+    @Transactional
     public void deleteTask(Long taskId) {
-        Task task =  taskRepository.findById(taskId).orElseThrow(() ->
-                new ResourceNotFoundException("Task inexistente com o Id: " + taskId));
+        Long userId = taskRepository.deleteReturningUserId(taskId).orElseThrow(() -> taskNotFound(taskId));
+
+        taskSearch.removeAfterCommit(List.of(taskId));
+        taskListVersions.bump(userId);
+        taskEventFeed.deletedAfterCommit(userId, taskId);
+    }
 
-        taskRepository.delete(task);
+    // Cada bloco roda na própria transação para não segurar locks de milhares de linhas de uma vez.
+    @Workload(WorkloadType.BULK)
+    public AffectedRowsResponseDTO deleteTasks(Collection<Long> ids, Long userId, TaskStatus status) {
+        boolean hasIds = ids != null && !ids.isEmpty();
 
+        if (hasIds == (userId != null)) {
+            throw new InvalidRequestException("Informe a lista de ids ou o userId, mas não ambos.");
+        }
+        if (hasIds && status != null) {
+            throw new InvalidRequestException("O filtro por status só pode ser usado com userId.");
+        }
+        if (hasIds && ids.size() > MAX_BULK_SIZE) {
+            throw new InvalidRequestException("A lista de ids não pode ter mais de " + MAX_BULK_SIZE + " itens.");
+        }
+
+        int deleted = 0;
+        if (hasIds) {
+            List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+            deleted = transactionTemplate.execute(tx -> {
+                taskListVersions.bumpOwnersOf(distinctIds);
+                return removeFromSearch(distinctIds, taskRepository.deleteByIds(distinctIds));
+            });
+            if (deleted > 0) {
+                taskEventFeed.resyncAllAfterCommit();
+            }
+        } else {
+            // O próximo bloco depende de quantas linhas a consulta achou, não de quantas o DELETE removeu:
+            // tasks apagadas ou alteradas por outra requisição no meio tempo reduzem só a contagem.
+            DeletedChunk chunk;
+            do {
+                chunk = transactionTemplate.execute(tx -> deleteNextChunk(userId, status));
+                deleted += chunk.deleted();
+            } while (chunk.selected() == DELETE_CHUNK_SIZE);
+
+            if (deleted > 0) {
+                taskEventFeed.resyncAfterCommit(userId);
+            }
+        }
+
+        return new AffectedRowsResponseDTO(deleted);
+    }
+
+    private record DeletedChunk(int selected, int deleted) {
+    }
+
+    // O DELETE repete o filtro da consulta: uma task que mudou de status entre as duas não é apagada.
+    private DeletedChunk deleteNextChunk(Long userId, TaskStatus status) {
+        Limit chunkSize = Limit.of(DELETE_CHUNK_SIZE);
+        List<Long> chunk = status != null
+                ? taskRepository.findIdsByUserIdAndStatus(userId, status, chunkSize)
+                : taskRepository.findIdsByUserId(userId, chunkSize);
+        if (chunk.isEmpty()) {
+            return new DeletedChunk(0, 0);
+        }
+
+        int deleted = status != null
+                ? taskRepository.deleteByIdsAndUserIdAndStatus(chunk, userId, status)
+                : taskRepository.deleteByIdsAndUserId(chunk, userId);
+        if (deleted > 0) {
+            taskListVersions.bump(userId);
+        }
+        return new DeletedChunk(chunk.size(), removeFromSearch(chunk, deleted));
+    }
+
+    // Quando o DELETE removeu menos linhas que os ids pedidos, só as tasks que não existem mais saem do índice.
+    private int removeFromSearch(List<Long> ids, int deleted) {
+        if (deleted == ids.size()) {
+            taskSearch.removeAfterCommit(ids);
+        } else if (deleted > 0) {
+            Set<Long> remaining = taskRepository.findExistingIds(ids);
+            taskSearch.removeAfterCommit(ids.stream().filter(id -> !remaining.contains(id)).toList());
+        }
+        return deleted;
+    }
+
+    // Escritas em lote invalidam as ETags e mandam um resync aos streams em vez de um evento por task.
+    private void invalidateLists(Long userId) {
+        taskListVersions.bump(userId);
+        taskEventFeed.resyncAfterCommit(userId);
+    }
+
+    // Escritas por ids de task: a versão de cada dono é incrementada no banco, mas o feed não sabe os donos sem uma
+    // consulta extra e manda resync a todos os streams.
+    private void invalidateListsOf(Collection<Long> taskIds) {
+        taskListVersions.bumpOwnersOf(taskIds);
+        taskEventFeed.resyncAllAfterCommit();
+    }
+
+    private Task findTask(Long taskId) {
+        return taskRepository.findById(taskId).orElseThrow(() -> taskNotFound(taskId));
+    }
+
+    private TaskResponseDTO findResponseById(Long taskId) {
+        return taskRepository.findResponseById(taskId).orElseThrow(() -> taskNotFound(taskId));
+    }
+
+    private static ResourceNotFoundException taskNotFound(Long taskId) {
+        return new ResourceNotFoundException("Task inexistente com o Id: " + taskId);
+    }
+
+    // A entrada do cache de segundo nível pode estar atrás do banco (escritas de outra instância ou SQL nativo) por até
+    // o ttl da região. Quando ela não atende às pré-condições, a task é relida do banco, o que também substitui a
+    // entrada, e só então a requisição recebe 412/409.
+    private Task findTaskMatching(Long taskId, Long expectedVersion, TaskStatus currentStatus) {
+        Task task = findTask(taskId);
+        if (!matches(task, expectedVersion, currentStatus)) {
+            if (!taskRepository.refresh(task)) {
+                throw taskNotFound(taskId);
+            }
+            checkPreconditions(task, expectedVersion, currentStatus);
+        }
+        return task;
+    }
+
+    private static boolean matches(Task task, Long expectedVersion, TaskStatus currentStatus) {
+        return (expectedVersion == null || expectedVersion.equals(task.getVersion()))
+                && (currentStatus == null || currentStatus == task.getTaskStatus());
+    }
+
+    private static void checkPreconditions(Task task, Long expectedVersion, TaskStatus currentStatus) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("A task foi alterada por outra requisição. Versão atual: " + task.getVersion());
+        }
+        if (currentStatus != null && currentStatus != task.getTaskStatus()) {
+            throw new ConflictException("A task não está mais com o status " + currentStatus + ". Status atual: " + task.getTaskStatus());
+        }
+    }
+
+    // Só para escritas condicionais: o UPDATE leva a versão lida e não afeta nenhuma linha se outra transação
+    // alterou a task no meio tempo. Sem If-Match a condição perdida é o currentStatus.
+    private Task flush(Task task, Long expectedVersion) {
+        try {
+            taskRepository.flush();
+            return task;
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            if (expectedVersion != null) {
+                throw new PreconditionFailedException("A task foi alterada por outra requisição.");
+            }
+            throw new ConflictException("A task foi alterada por outra requisição ao mesmo tempo. Confira o status atual.");
+        }
     }
 
 }
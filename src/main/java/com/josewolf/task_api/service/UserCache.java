@@ -0,0 +1,143 @@
+package com.josewolf.task_api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+// Os usuários ficam guardados por id; username e email são apenas índices para o id.
+// Uma entrada de índice só é aceita se o usuário em cache ainda tiver aquele username/email,
+// então um índice antigo nunca devolve dados de outro usuário.
+// Cada remoção grava, na geração do id removido, o próximo valor de um relógio. Um valor lido do banco só entra no
+// cache se o id dele não foi removido desde antes da leitura: do contrário ele pode ser anterior a uma alteração
+// cujo evict já passou e ficaria no cache até o TTL. Remoções de outros usuários não descartam a leitura.
+// As gerações ficam em EVICTION_STRIPES posições fixas, escolhidas pelo id: ids que dividem uma posição só
+// descartam leituras um do outro a mais, nunca aceitam um valor desatualizado.
+@Component
+public class UserCache {
+
+    private static final int EVICTION_STRIPES = 4096;
+
+    private final Cache<Long, UserResponseDTO> usersById;
+    private final Cache<String, Long> idsByUsername;
+    private final Cache<String, Long> idsByEmail;
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLongArray evictedAt = new AtomicLongArray(EVICTION_STRIPES);
+
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${task-api.user-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${task-api.user-cache.ttl:10m}") Duration ttl) {
+        this.usersById = newCache(maximumSize, ttl);
+        this.idsByUsername = newCache(maximumSize, ttl);
+        this.idsByEmail = newCache(maximumSize, ttl);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUsername, "users.byUsername");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "users.byEmail");
+    }
+
+    public Optional<UserResponseDTO> findById(Long id, Function<Long, Optional<UserResponseDTO>> loader) {
+        UserResponseDTO cached = usersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return load(id, loader);
+    }
+
+    public Optional<UserResponseDTO> findByUsername(String username, Function<String, Optional<UserResponseDTO>> loader) {
+        return find(idsByUsername, username, UserResponseDTO::username, loader);
+    }
+
+    public Optional<UserResponseDTO> findByEmail(String email, Function<String, Optional<UserResponseDTO>> loader) {
+        return find(idsByEmail, email, UserResponseDTO::email, loader);
+    }
+
+    public void put(UserResponseDTO user) {
+        usersById.put(user.id(), user);
+        idsByUsername.put(user.username(), user.id());
+        idsByEmail.put(user.email(), user.id());
+    }
+
+    public void evict(Long id) {
+        evictedAt.accumulateAndGet(stripe(id), clock.incrementAndGet(), Math::max);
+        UserResponseDTO cached = usersById.asMap().remove(id);
+        if (cached != null) {
+            idsByUsername.asMap().remove(cached.username(), id);
+            idsByEmail.asMap().remove(cached.email(), id);
+        }
+    }
+
+    // Remove agora e de novo ao fim da transação. Uma leitura concorrente que tenha visto o valor anterior ao commit
+    // começou antes da segunda remoção, então a geração do id já mudou quando ela tenta gravar e o valor é descartado.
+    public void evictAfterCommit(Long id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    private Optional<UserResponseDTO> find(Cache<String, Long> index, String key,
+                                           Function<UserResponseDTO, String> keyOf,
+                                           Function<String, Optional<UserResponseDTO>> loader) {
+        Long id = index.getIfPresent(key);
+        if (id != null) {
+            UserResponseDTO cached = usersById.getIfPresent(id);
+            if (cached != null && key.equals(keyOf.apply(cached))) {
+                return Optional.of(cached);
+            }
+        }
+
+        return load(key, loader);
+    }
+
+    private <K> Optional<UserResponseDTO> load(K key, Function<K, Optional<UserResponseDTO>> loader) {
+        long loadedAt = clock.get();
+        Optional<UserResponseDTO> loaded = loader.apply(key);
+        // Leituras feitas dentro de uma transação só entram no cache se ela for confirmada.
+        loaded.ifPresent(user -> AfterCommit.run(() -> putIfNotEvictedSince(user, loadedAt)));
+        return loaded;
+    }
+
+    // A geração é conferida de novo depois de gravar: uma remoção que ocorra no meio do put pode ter rodado antes
+    // das entradas existirem, e então as entradas gravadas aqui são desfeitas.
+    private void putIfNotEvictedSince(UserResponseDTO user, long loadedAt) {
+        int stripe = stripe(user.id());
+        if (evictedAt.get(stripe) > loadedAt) {
+            return;
+        }
+        put(user);
+        if (evictedAt.get(stripe) > loadedAt) {
+            usersById.asMap().remove(user.id(), user);
+            idsByUsername.asMap().remove(user.username(), user.id());
+            idsByEmail.asMap().remove(user.email(), user.id());
+        }
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (EVICTION_STRIPES - 1);
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
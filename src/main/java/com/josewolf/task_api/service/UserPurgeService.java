@@ -0,0 +1,111 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.UserDeletionResponseDTO;
+import com.josewolf.task_api.repository.TaskRepository;
+import com.josewolf.task_api.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remove as tasks de usuários marcados como excluídos em blocos, fora da requisição, e por fim o próprio usuário.
+// O estado que importa é o flag deleted no banco: exclusões pendentes são retomadas ao iniciar a aplicação.
+// O andamento de cada limpeza (tasks removidas, conclusão, falha) fica só na memória da instância que a executa
+// e é perdido em um reinício.
+@Slf4j
+@Service
+public class UserPurgeService {
+
+    public static final int PURGE_CHUNK_SIZE = 1000;
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor userPurgeExecutor;
+    private final TaskSearch taskSearch;
+    private final Map<Long, UserDeletionResponseDTO> jobs = new ConcurrentHashMap<>();
+
+    public UserPurgeService(UserRepository userRepository, TaskRepository taskRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Qualifier("userPurgeExecutor") TaskExecutor userPurgeExecutor,
+                            TaskSearch taskSearch) {
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.userPurgeExecutor = userPurgeExecutor;
+        this.taskSearch = taskSearch;
+    }
+
+    public UserDeletionResponseDTO schedule(Long userId) {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt() != null && job.finishedAt().isBefore(cutoff));
+
+        jobs.put(userId, UserDeletionResponseDTO.pending(userId));
+        userPurgeExecutor.execute(() -> purge(userId));
+
+        return jobs.get(userId);
+    }
+
+    // Sem registro local, um usuário ainda marcado no banco está sendo limpo por outra instância ou será retomado
+    // na próxima inicialização. Exclusões concluídas em outra instância, ou antes de um reinício, não têm registro.
+    public Optional<UserDeletionResponseDTO> findStatus(Long userId) {
+        UserDeletionResponseDTO job = jobs.get(userId);
+        if (job != null) {
+            return Optional.of(job);
+        }
+        return userRepository.countDeleted(userId) > 0
+                ? Optional.of(UserDeletionResponseDTO.untracked(userId))
+                : Optional.empty();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingPurges() {
+        List<Long> userIds = userRepository.findDeletedIds();
+        if (!userIds.isEmpty()) {
+            log.info("Retomando a exclusão de {} usuário(s)", userIds.size());
+            userIds.forEach(this::schedule);
+        }
+    }
+
+    void purge(Long userId) {
+        try {
+            int removed;
+            do {
+                int chunkDeleted = transactionTemplate.execute(tx -> deleteNextChunk(userId));
+                jobs.computeIfPresent(userId, (id, job) -> job.running(job.tasksDeleted() + chunkDeleted));
+                removed = chunkDeleted;
+            } while (removed == PURGE_CHUNK_SIZE);
+
+            // Tasks criadas durante a limpeza são removidas na mesma transação que apaga o usuário.
+            transactionTemplate.executeWithoutResult(tx -> {
+                int remaining = taskRepository.deleteByUserId(userId);
+                jobs.computeIfPresent(userId, (id, job) -> job.running(job.tasksDeleted() + remaining));
+                userRepository.purgeDeleted(userId);
+            });
+            taskSearch.removeByUserId(userId);
+
+            UserDeletionResponseDTO job = jobs.computeIfPresent(userId, (id, current) -> current.completed());
+            log.info("Usuário {} excluído com {} task(s) removida(s)", userId, job != null ? job.tasksDeleted() : 0);
+        } catch (RuntimeException ex) {
+            jobs.computeIfPresent(userId, (id, job) -> job.failed(ex.getMessage()));
+            log.error("Falha ao excluir as tasks do usuário {}", userId, ex);
+        }
+    }
+
+    private int deleteNextChunk(Long userId) {
+        List<Long> chunk = taskRepository.findIdsByUserId(userId, Limit.of(PURGE_CHUNK_SIZE));
+        return chunk.isEmpty() ? 0 : taskRepository.deleteByIds(chunk);
+    }
+}
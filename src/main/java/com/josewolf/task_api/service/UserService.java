@@ -1,110 +1,206 @@
 package com.josewolf.task_api.service;
 
+import com.josewolf.task_api.dto.TaskStatusCountDTO;
 import com.josewolf.task_api.dto.requestdto.UserRequestDTO;
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskCountsResponseDTO;
+import com.josewolf.task_api.dto.responsedto.UserDeletionResponseDTO;
 import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
+import com.josewolf.task_api.exceptions.ConstraintViolations;
+import com.josewolf.task_api.exceptions.PreconditionFailedException;
 import com.josewolf.task_api.exceptions.ResourceNotFoundException;
 import com.josewolf.task_api.model.User;
+import com.josewolf.task_api.repository.TaskRepository;
 import com.josewolf.task_api.repository.UserRepository;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
 
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final UserPurgeService userPurgeService;
+    private final UserCache userCache;
+    private final TaskEventFeed taskEventFeed;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, TaskRepository taskRepository,
+                       UserPurgeService userPurgeService, UserCache userCache, TaskEventFeed taskEventFeed) {
         this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.userPurgeService = userPurgeService;
+        this.userCache = userCache;
+        this.taskEventFeed = taskEventFeed;
     }
 
 
     public UserResponseDTO createUser(UserRequestDTO userRequestDTO) {
-
-        if (userRepository.findByUsername(userRequestDTO.username()).isPresent()) {
-            throw new DataIntegrityViolationException("O nome de usuário '" + userRequestDTO.username() + "' já está sendo utilizado.");
-        }
-
-        if (userRepository.findByEmail(userRequestDTO.email()).isPresent()) {
-            throw new DataIntegrityViolationException("O e-mail '" + userRequestDTO.email() + "' já pertence a outra conta.");
-        }
         User user = new User();
 
         user.setUsername(userRequestDTO.username());
         user.setEmail(userRequestDTO.email());
 
+        // Sem consultas prévias: username e email duplicados são detectados pelas constraints únicas no insert.
+        try {
+            User savedUser = userRepository.saveAndFlush(user);
+            return new UserResponseDTO(savedUser);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.violates(ex, User.USERNAME_UNIQUE_KEY)) {
+                throw new DataIntegrityViolationException("O nome de usuário '" + userRequestDTO.username() + "' já está sendo utilizado.", ex);
+            }
+            if (ConstraintViolations.violates(ex, User.EMAIL_UNIQUE_KEY)) {
+                throw new DataIntegrityViolationException("O e-mail '" + userRequestDTO.email() + "' já pertence a outra conta.", ex);
+            }
+            throw ex;
+        }
+    }
+
+    public CursorPageResponseDTO<UserResponseDTO> findAllUsers(String usernamePrefix, String emailPrefix, Long after, Integer limit,
+                                                               boolean withTaskCounts) {
+        int pageSize = CursorPageResponseDTO.normalizeLimit(limit);
+        long cursor = after != null ? after : 0L;
+        Limit rows = Limit.of(pageSize + 1);
+
+        boolean filterUsername = usernamePrefix != null && !usernamePrefix.isBlank();
+        boolean filterEmail = emailPrefix != null && !emailPrefix.isBlank();
+
+        List<UserResponseDTO> users;
+        if (filterUsername && filterEmail) {
+            users = userRepository.findByUsernameStartingWithAndEmailStartingWithAndIdGreaterThanOrderByIdAsc(usernamePrefix, emailPrefix, cursor, rows);
+        } else if (filterUsername) {
+            users = userRepository.findByUsernameStartingWithAndIdGreaterThanOrderByIdAsc(usernamePrefix, cursor, rows);
+        } else if (filterEmail) {
+            users = userRepository.findByEmailStartingWithAndIdGreaterThanOrderByIdAsc(emailPrefix, cursor, rows);
+        } else {
+            users = userRepository.findByIdGreaterThanOrderByIdAsc(cursor, rows);
+        }
 
-        User savedUser = userRepository.save(user);
+        CursorPageResponseDTO<UserResponseDTO> page = CursorPageResponseDTO.of(users, pageSize, UserResponseDTO::id);
 
-        return new UserResponseDTO(savedUser);
+        return withTaskCounts ? withTaskCounts(page) : page;
     }
 
-    public List<UserResponseDTO> findAllUsers() {
-        List<User> users = userRepository.findAll();
+    // Uma única consulta agrupada para todos os usuários da página.
+    private CursorPageResponseDTO<UserResponseDTO> withTaskCounts(CursorPageResponseDTO<UserResponseDTO> page) {
+        if (page.content().isEmpty()) {
+            return page;
+        }
+
+        List<Long> userIds = page.content().stream().map(UserResponseDTO::id).toList();
+        Map<Long, List<TaskStatusCountDTO>> countsByUser = taskRepository.countByUserIdsAndStatus(userIds).stream()
+                .collect(Collectors.groupingBy(TaskStatusCountDTO::userId));
 
-        return users.stream()
-                .map(UserResponseDTO::new)
+        List<UserResponseDTO> users = page.content().stream()
+                .map(user -> user.withTaskCounts(TaskCountsResponseDTO.of(countsByUser.getOrDefault(user.id(), List.of()))))
                 .toList();
+
+        return new CursorPageResponseDTO<>(users, page.nextCursor());
     }
 
     public UserResponseDTO findByUsername(String username) {
-        Optional<User> userOptional = userRepository.findByUsername(username);
-
-        if (userOptional.isEmpty()) {
-            throw new ResourceNotFoundException("Usuário não encontrado com o nome: " + username);
-        }
-
-        User user = userOptional.get();
-
-        return new UserResponseDTO(user);
+        return userCache.findByUsername(username, userRepository::findResponseByUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com o nome: " + username));
     }
 
     public UserResponseDTO findByEmail(String email) {
-        Optional<User> userOptional = userRepository.findByEmail(email);
+        return userCache.findByEmail(email, userRepository::findResponseByEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Email não encontrado: " + email));
+    }
 
-        if (userOptional.isEmpty()) {
-            throw new ResourceNotFoundException("Email não encontrado: " + email);
+    // expectedVersion vem do If-Match; nula quando o cliente não exige uma versão.
+    // Sem If-Match a escrita sempre vence: um único UPDATE, sem leitura prévia, e a releitura da resposta.
+    // Com If-Match o usuário vem do cache de segundo nível e o UPDATE leva a versão lida (falha se outra requisição
+    // alterou o usuário). Uma versão diferente no cache é conferida no banco antes do 412: a entrada pode estar atrás
+    // de escritas de outra instância.
+    @Transactional
+    public UserResponseDTO updateUserById(Long id, Long expectedVersion, UserRequestDTO userRequestDTO) {
+        // Campos em branco mantêm o valor atual.
+        String username = blankToNull(userRequestDTO.username());
+        String email = blankToNull(userRequestDTO.email());
+
+        UserResponseDTO response;
+        try {
+            if (expectedVersion == null) {
+                if (userRepository.updateUsernameAndEmail(id, username, email) == 0) {
+                    throw userNotFound(id);
+                }
+                response = userRepository.findResponseById(id).orElseThrow(() -> userNotFound(id));
+            } else {
+                response = new UserResponseDTO(updateIfVersionMatches(id, expectedVersion, username, email));
+            }
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.violates(ex, User.USERNAME_UNIQUE_KEY)) {
+                throw new DataIntegrityViolationException("O nome de usuário já está em uso.", ex);
+            }
+            if (ConstraintViolations.violates(ex, User.EMAIL_UNIQUE_KEY)) {
+                throw new DataIntegrityViolationException("O email já está em uso.", ex);
+            }
+            throw ex;
         }
+        userCache.evictAfterCommit(id);
 
-        User user = userOptional.get();
-
-        return new UserResponseDTO(user);
+        return response;
     }
 
-    public UserResponseDTO updateUserById(Long id, UserRequestDTO userRequestDTO) {
+    private User updateIfVersionMatches(Long id, Long expectedVersion, String username, String email) {
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com o id: " + id));
-
-        if (userRequestDTO.username() != null && !userRequestDTO.username().isBlank()) {
-            userRepository.findByUsername(userRequestDTO.username())
-                            .ifPresent(existingUserName -> {
-                                if (!existingUserName.getId().equals(id))
-                                    throw new DataIntegrityViolationException("O nome de usuário já está em uso.");
-                            });
-            user.setUsername(userRequestDTO.username());
+                .filter(found -> !found.isDeleted())
+                .orElseThrow(() -> userNotFound(id));
+        if (!expectedVersion.equals(user.getVersion())) {
+            if (!userRepository.refresh(user) || user.isDeleted()) {
+                throw userNotFound(id);
+            }
+            if (!expectedVersion.equals(user.getVersion())) {
+                throw new PreconditionFailedException("O usuário foi alterado por outra requisição. Versão atual: " + user.getVersion());
+            }
         }
 
-        if (userRequestDTO.email() != null && !userRequestDTO.email().isBlank()) {
-            userRepository.findByEmail(userRequestDTO.email())
-                            .ifPresent(existingUserEmail -> {
-                                if(!existingUserEmail.getId().equals(id))
-                                    throw new DataIntegrityViolationException("O email já está em uso.");
-                            });
-            user.setEmail(userRequestDTO.email());
+        if (username != null) {
+            user.setUsername(username);
+        }
+        if (email != null) {
+            user.setEmail(email);
         }
 
-        User updatedUser = userRepository.save(user);
-        return new UserResponseDTO(updatedUser);
+        try {
+            userRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw new PreconditionFailedException("O usuário foi alterado por outra requisição.");
+        }
+        return user;
     }
 
-    public void deleteUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com o id: " + id));
+    public UserDeletionResponseDTO deleteUserById(Long id) {
+        if (userRepository.markDeleted(id) == 0) {
+            throw userNotFound(id);
+        }
+        userCache.evictAfterCommit(id);
+        // A lista de tasks de um usuário excluído passa a responder 404: TaskListVersions não devolve ETag para
+        // usuários marcados como excluídos, então ETags anteriores não geram 304.
+        taskEventFeed.resyncAfterCommit(id);
+
+        return userPurgeService.schedule(id);
+    }
+
+    public UserDeletionResponseDTO findDeletionStatus(Long id) {
+        return userPurgeService.findStatus(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Nenhuma exclusão em andamento para o usuário com o id: " + id));
+    }
+
+    private static ResourceNotFoundException userNotFound(Long id) {
+        return new ResourceNotFoundException("Usuário não encontrado com o id: " + id);
+    }
 
-        userRepository.delete(user);
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
     }
 
 }
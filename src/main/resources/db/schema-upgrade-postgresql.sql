@@ -0,0 +1,68 @@
+-- Atualiza um banco criado com o mapeamento original de User e Task para o mapeamento atual. Rode uma vez, com a
+-- aplicação parada (a sequence parte do maior id gravado), por exemplo:
+--   psql -h localhost -p 5433 -U postgres -d seu_db -f src/main/resources/db/schema-upgrade-postgresql.sql
+-- Os índices são criados com CONCURRENTLY para não bloquear escritas em tasks; por isso o arquivo não pode rodar
+-- dentro de uma transação (não use psql --single-transaction). Todos os passos podem ser repetidos.
+
+-- Exclusão lógica de usuários (UserPurgeService), versões para If-Match/ETag e a versão da lista de tasks.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted boolean NOT NULL DEFAULT false;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tasks_version bigint NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- Os ids de tasks passam a vir de tasks_seq, reservados de 50 em 50 (inserts em lote sem ida ao banco por linha).
+-- O otimizador pooled do Hibernate entrega os ids (valor - 49) até o valor de cada nextval, então a sequence começa
+-- em max(id) + 50: o primeiro id entregue é max(id) + 1.
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50;
+ALTER SEQUENCE tasks_seq INCREMENT BY 50;
+SELECT setval('tasks_seq', (SELECT coalesce(max(id), 0) + 50 FROM tasks), false);
+
+-- As mensagens de erro (ConstraintViolations) identificam as violações pelo nome das constraints, que no mapeamento
+-- original eram geradas pelo Hibernate.
+DO $$
+DECLARE
+    current_name text;
+BEGIN
+    SELECT c.conname INTO current_name
+    FROM pg_constraint c
+    WHERE c.conrelid = 'users'::regclass AND c.contype = 'u'
+      AND c.conkey = ARRAY[(SELECT attnum FROM pg_attribute WHERE attrelid = 'users'::regclass AND attname = 'username')];
+    IF current_name IS NULL THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
+    ELSIF current_name <> 'uk_users_username' THEN
+        EXECUTE format('ALTER TABLE users RENAME CONSTRAINT %I TO uk_users_username', current_name);
+    END IF;
+
+    SELECT c.conname INTO current_name
+    FROM pg_constraint c
+    WHERE c.conrelid = 'users'::regclass AND c.contype = 'u'
+      AND c.conkey = ARRAY[(SELECT attnum FROM pg_attribute WHERE attrelid = 'users'::regclass AND attname = 'email')];
+    IF current_name IS NULL THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+    ELSIF current_name <> 'uk_users_email' THEN
+        EXECUTE format('ALTER TABLE users RENAME CONSTRAINT %I TO uk_users_email', current_name);
+    END IF;
+
+    SELECT c.conname INTO current_name
+    FROM pg_constraint c
+    WHERE c.conrelid = 'tasks'::regclass AND c.contype = 'f' AND c.confrelid = 'users'::regclass;
+    IF current_name IS NULL THEN
+        ALTER TABLE tasks ADD CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id);
+    ELSIF current_name <> 'fk_tasks_user' THEN
+        EXECUTE format('ALTER TABLE tasks RENAME CONSTRAINT %I TO fk_tasks_user', current_name);
+    END IF;
+END
+$$;
+
+-- Listagem por usuário filtrada por status, exclusão e troca de status em lote (TaskRepository).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_status_id ON tasks (user_id, task_status, id);
+-- Listagem por usuário sem filtro de status e exclusão em lote de todas as tasks do usuário: com o status no meio,
+-- idx_tasks_user_status_id não entrega as tasks do usuário ordenadas por id.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_id_id ON tasks (user_id, id);
+
+-- Filtros por prefixo de GET /api/users (LIKE 'prefixo%'). As constraints únicas usam a collation do banco e não
+-- atendem LIKE; com text_pattern_ops o banco lê só os usuários com o prefixo, que depois são ordenados por id.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username_pattern ON users (username text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_pattern ON users (email text_pattern_ops);
@@ -0,0 +1,29 @@
+-- Índice de busca das tasks (DatabaseTaskSearch). Rode uma vez no banco da aplicação, por exemplo:
+--   psql -h localhost -p 5433 -U postgres -d seu_db -f src/main/resources/db/task-search-postgresql.sql
+-- O índice é criado com CONCURRENTLY para não bloquear escritas em tasks; por isso o arquivo não pode rodar
+-- dentro de uma transação (não use psql --single-transaction).
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent é STABLE (depende do dicionário configurado); fixar o dicionário permite usá-la no índice.
+CREATE OR REPLACE FUNCTION task_search_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+-- Minúsculas e sem acentos; o título pesa mais que a descrição no ts_rank (peso A contra B).
+CREATE OR REPLACE FUNCTION task_search_document(title text, description text) RETURNS tsvector
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+    SELECT setweight(to_tsvector('simple', task_search_unaccent(coalesce(title, ''))), 'A')
+        || setweight(to_tsvector('simple', task_search_unaccent(coalesce(description, ''))), 'B')
+$$;
+
+-- Qualquer um dos termos encontra a task; as que têm mais termos ficam à frente no ranking.
+CREATE OR REPLACE FUNCTION task_search_query(query text) RETURNS tsquery
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+    SELECT to_tsquery('simple', coalesce(string_agg(quote_literal(lexeme), ' | '), ''))
+    FROM unnest(tsvector_to_array(to_tsvector('simple', task_search_unaccent(coalesce(query, ''))))) AS lexeme
+$$;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_search ON tasks USING gin (task_search_document(title, description));
@@ -0,0 +1,116 @@
+package com.josewolf.task_api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.josewolf.task_api.TaskApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Aplicação real (Tomcat + H2 em memória) em uma porta aleatória, com usuários e tasks criados pela própria API.
+final class BenchmarkApp implements AutoCloseable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ConfigurableApplicationContext context;
+    private final HttpClient http;
+    private final URI base;
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> taskIds = new ArrayList<>();
+
+    private BenchmarkApp(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    // name separa o banco em memória de cada aplicação iniciada na mesma JVM.
+    static BenchmarkApp start(String name, Duration dbLatency, int users, int tasksPerUser, String... args) throws Exception {
+        String[] arguments = Stream.concat(
+                Stream.of("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1"),
+                Stream.of(args)).toArray(String[]::new);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskApiApplication.class)
+                .profiles("test")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new SlowDatabase(dbLatency)))
+                .run(arguments);
+
+        BenchmarkApp app = new BenchmarkApp(context);
+        app.seed(users, tasksPerUser);
+        return app;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    HttpClient http() {
+        return http;
+    }
+
+    URI uri(String pathAndQuery) {
+        return base.resolve(pathAndQuery);
+    }
+
+    long randomUserId(ThreadLocalRandom random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    long randomTaskId(ThreadLocalRandom random) {
+        return taskIds.get(random.nextInt(taskIds.size()));
+    }
+
+    static HttpRequest json(URI uri, String method, String body) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    static String taskJson(long userId, int n) {
+        return "{\"title\":\"Task " + n + "\",\"description\":\"Gerada pelo benchmark\",\"userId\":" + userId + "}";
+    }
+
+    private void seed(int users, int tasksPerUser) throws IOException, InterruptedException {
+        for (int i = 0; i < users; i++) {
+            String user = "{\"username\":\"bench_" + i + "\",\"email\":\"bench_" + i + "@bench.local\"}";
+            HttpResponse<String> created = http.send(json(uri("/api/users"), "POST", user), HttpResponse.BodyHandlers.ofString());
+            long userId = OBJECT_MAPPER.readTree(created.body()).get("id").longValue();
+            userIds.add(userId);
+            if (tasksPerUser == 0) {
+                continue;
+            }
+
+            String tasks = IntStream.range(0, tasksPerUser)
+                    .mapToObj(t -> taskJson(userId, t))
+                    .collect(Collectors.joining(",", "[", "]"));
+            HttpResponse<String> bulk = http.send(json(uri("/api/tasks/bulk"), "POST", tasks), HttpResponse.BodyHandlers.ofString());
+            for (JsonNode item : OBJECT_MAPPER.readTree(bulk.body()).get("results")) {
+                taskIds.add(item.get("task").get("id").longValue());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        http.close();
+        context.close();
+    }
+}
@@ -0,0 +1,89 @@
+package com.josewolf.task_api.benchmark;
+
+import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import com.josewolf.task_api.dto.responsedto.BulkTaskResponseDTO;
+import com.josewolf.task_api.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Criação de benchmark.tasks tasks por rodada chamando o serviço direto: uma a uma com createTask e em lotes de
+// MAX_BULK_SIZE com createTasks (inserts em lote do JDBC). Cada rodada registra tasks/s e os statements preparados
+// pelo Hibernate; as rodadas alternam os dois modos, depois de uma rodada de aquecimento de cada.
+// Parâmetros (-D): benchmark.tasks, benchmark.rounds.
+// Ex.: ./mvnw test -Pbenchmark -Dtest=BulkCreateBenchmark
+@Tag("benchmark")
+public class BulkCreateBenchmark {
+
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 5_000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+
+    @Test
+    @DisplayName("Compara tasks/s e statements da criação uma a uma e em lote.")
+    void compareOneByOneWithBulk() throws Exception {
+        try (BenchmarkApp app = BenchmarkApp.start("bulk_create", Duration.ZERO, 100, 0)) {
+            TaskService taskService = app.bean(TaskService.class);
+            Statistics statistics = app.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("tasks por rodada=%d lote=%d", TASKS, TaskService.MAX_BULK_SIZE));
+
+            round(taskService, statistics, requests(app), false);
+            round(taskService, statistics, requests(app), true);
+            for (int i = 1; i <= ROUNDS; i++) {
+                lines.add("rodada " + i + "  uma a uma  " + round(taskService, statistics, requests(app), false));
+                lines.add("rodada " + i + "  em lote    " + round(taskService, statistics, requests(app), true));
+            }
+
+            String report = String.join(System.lineSeparator(), lines) + System.lineSeparator();
+
+            Path file = Path.of("target", "benchmarks", "bulk-create.txt");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report);
+            System.out.print(report);
+        }
+    }
+
+    private String round(TaskService taskService, Statistics statistics, List<TaskRequestDTO> requests, boolean bulk) {
+        statistics.clear();
+        long start = System.nanoTime();
+
+        int created = 0;
+        if (bulk) {
+            for (int from = 0; from < requests.size(); from += TaskService.MAX_BULK_SIZE) {
+                List<TaskRequestDTO> chunk = requests.subList(from, Math.min(from + TaskService.MAX_BULK_SIZE, requests.size()));
+                BulkTaskResponseDTO response = taskService.createTasks(chunk);
+                created += response.created();
+            }
+        } else {
+            for (TaskRequestDTO request : requests) {
+                taskService.createTask(request);
+                created++;
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        assertEquals(requests.size(), created);
+        return String.format("%,10.0f tasks/s   %,7d statements", created / seconds, statistics.getPrepareStatementCount());
+    }
+
+    private static List<TaskRequestDTO> requests(BenchmarkApp app) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return IntStream.range(0, TASKS)
+                .mapToObj(n -> new TaskRequestDTO("Task " + n, "Gerada pelo benchmark", app.randomUserId(random)))
+                .toList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.josewolf.task_api.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Carga do banco com e sem o cache de segundo nível: sobe a aplicação duas vezes e aplica a mesma mistura de
+// atualizações de task, contando os statements preparados pelo Hibernate por requisição. Só as escritas condicionais
+// (compareAndSetStatus) leem a task do cache; updateStatus e updateTask são UPDATEs JPQL diretos, e cada um esvazia a
+// região "tasks" inteira, não só a task alterada. O acerto do L2 reportado vale para esta mistura (80% condicionais):
+// com mais escritas sem If-Match, como no tráfego de produção, a região passa a maior parte do tempo vazia.
+// Parâmetros (-D): benchmark.clients, benchmark.warmup, benchmark.duration, benchmark.db-latency, benchmark.mix.
+// Ex.: ./mvnw test -Pbenchmark -Dtest=EntityCacheBenchmark
+@Tag("benchmark")
+public class EntityCacheBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 50);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("benchmark.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT30S"));
+    private static final Duration DB_LATENCY = Duration.parse(System.getProperty("benchmark.db-latency", "PT0.001S"));
+    private static final LoadMix MIX = LoadMix.parse(System.getProperty("benchmark.mix", "compareAndSetStatus=80,updateStatus=10,updateTask=10"));
+
+    @Test
+    @DisplayName("Compara statements por requisição, throughput e p99 com e sem o cache de segundo nível.")
+    void compareWithAndWithoutEntityCache() throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("clients=%d duration=%s db-latency=%s mix=%s", CLIENTS, DURATION, DB_LATENCY, MIX));
+        lines.add(run(false));
+        lines.add(run(true));
+
+        String report = String.join(System.lineSeparator(), lines) + System.lineSeparator();
+
+        Path file = Path.of("target", "benchmarks", "entity-cache.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+        System.out.print(report);
+    }
+
+    private String run(boolean entityCache) throws Exception {
+        String mode = entityCache ? "cache" : "sem cache";
+
+        try (BenchmarkApp app = BenchmarkApp.start("entitycache_" + entityCache, DB_LATENCY, 100, 100,
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + entityCache)) {
+            LoadGenerator generator = new LoadGenerator(app, MIX);
+            Statistics statistics = app.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            generator.closed(mode + " (warmup)", CLIENTS, WARMUP);
+            statistics.clear();
+            LoadResult total = generator.closed(mode, CLIENTS, DURATION).get(0);
+
+            assertTrue(total.requests() > 0, "Nenhuma requisição concluída em " + mode);
+            long hits = statistics.getSecondLevelCacheHitCount();
+            long misses = statistics.getSecondLevelCacheMissCount();
+            return String.format("%s   %5.2f statements/req   L2 hit %5.1f%%",
+                    total.format(),
+                    statistics.getPrepareStatementCount() / (double) (total.requests() + total.errors()),
+                    hits + misses == 0 ? 0 : 100.0 * hits / (hits + misses));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.josewolf.task_api.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Sobe a aplicação duas vezes, com platform threads e com virtual threads, e aplica a mesma carga
+// fechada: cada cliente envia uma requisição, espera a resposta e envia a próxima.
+// Parâmetros (-D): benchmark.clients, benchmark.warmup, benchmark.duration, benchmark.db-latency, benchmark.pool-size.
+// Ex.: ./mvnw test -Pbenchmark -Dtest=ExecutionModeBenchmark -Dbenchmark.clients=2000
+@Tag("benchmark")
+public class ExecutionModeBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("benchmark.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT30S"));
+    private static final Duration DB_LATENCY = Duration.parse(System.getProperty("benchmark.db-latency", "PT0.02S"));
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 50);
+
+    // Listagens condicionais são respondidas com 304 sem ir ao banco enquanto a lista não muda:
+    // com platform threads elas esperam na fila do Tomcat atrás das requisições presas no banco.
+    private static final LoadMix MIX = LoadMix.parse("conditionalList=50,listByUser=30,createTask=20");
+
+    @Test
+    @DisplayName("Compara throughput e p99 entre platform threads e virtual threads com o banco lento.")
+    void compareExecutionModes() throws Exception {
+        List<LoadResult> results = new ArrayList<>();
+        results.addAll(run(false));
+        results.addAll(run(true));
+
+        String report = String.format("clients=%d duration=%s db-latency=%s pool-size=%d mix=%s%n", CLIENTS, DURATION, DB_LATENCY, POOL_SIZE, MIX)
+                + results.stream().map(LoadResult::format).collect(Collectors.joining(System.lineSeparator()))
+                + System.lineSeparator();
+
+        Path file = Path.of("target", "benchmarks", "execution-mode.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+        System.out.print(report);
+
+        results.forEach(result -> assertTrue(result.requests() > 0, "Nenhuma requisição concluída em " + result.name()));
+    }
+
+    private List<LoadResult> run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+
+        try (BenchmarkApp app = BenchmarkApp.start("benchmark_" + mode, DB_LATENCY, 100, 50,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--task-api.datasource.interactive.maximum-pool-size=" + POOL_SIZE)) {
+            LoadGenerator generator = new LoadGenerator(app, MIX);
+
+            generator.closed(mode + " (warmup)", CLIENTS, WARMUP);
+            return generator.closed(mode + " threads", CLIENTS, DURATION);
+        }
+    }
+}
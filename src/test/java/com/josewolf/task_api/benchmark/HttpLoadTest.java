@@ -0,0 +1,86 @@
+package com.josewolf.task_api.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Teste de carga com portão de regressão: sobe a aplicação com H2 e um dataset gerado pela API, aplica a mistura
+// de endpoints nos modelos fechado e aberto e compara throughput e p50/p99/p999 com o baseline gravado.
+// Sem baseline (ou com -Dloadtest.update-baseline=true) a rodada é gravada como o novo baseline.
+// O baseline depende da máquina: grave-o no mesmo ambiente em que o portão vai rodar.
+// ./mvnw test -Pbenchmark -Dtest=HttpLoadTest [-Dloadtest.rate=800 -Dloadtest.mix=listByUser=70,createTask=30 ...]
+@Tag("benchmark")
+public class HttpLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+    private static final int RATE = Integer.getInteger("loadtest.rate", 500);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.max-in-flight", 1000);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private static final Duration DB_LATENCY = Duration.parse(System.getProperty("loadtest.db-latency", "PT0S"));
+    private static final LoadMix MIX = LoadMix.parse(System.getProperty("loadtest.mix",
+            "listByUser=35,conditionalList=20,createTask=15,updateStatus=15,countByUser=10,listAll=5"));
+
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.25"));
+    private static final long MIN_REGRESSION_MICROS = Duration.parse(System.getProperty("loadtest.min-regression", "PT0.002S")).toNanos() / 1000;
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("loadtest.update-baseline");
+
+    private static final int USERS = 200;
+    private static final int TASKS_PER_USER = 100;
+
+    private static final Path BASELINE = Path.of("src", "test", "resources", "loadtest", "baseline.properties");
+
+    @Test
+    @DisplayName("Não deve regredir throughput nem latência dos endpoints em relação ao baseline.")
+    void endpointsDoNotRegress() throws Exception {
+        List<LoadResult> results = new ArrayList<>();
+
+        try (BenchmarkApp app = BenchmarkApp.start("loadtest", DB_LATENCY, USERS, TASKS_PER_USER)) {
+            LoadGenerator generator = new LoadGenerator(app, MIX);
+
+            generator.closed("warmup", CLIENTS, WARMUP);
+            results.addAll(generator.closed("closed", CLIENTS, DURATION));
+            results.addAll(generator.open("open", RATE, DURATION, MAX_IN_FLIGHT));
+        }
+
+        String config = String.format("clients=%d rate=%d duration=%s db-latency=%s users=%d tasks-per-user=%d mix=%s",
+                CLIENTS, RATE, DURATION, DB_LATENCY, USERS, TASKS_PER_USER, MIX);
+        String report = config + System.lineSeparator()
+                + results.stream().map(LoadResult::format).collect(Collectors.joining(System.lineSeparator()))
+                + System.lineSeparator();
+
+        Path file = Path.of("target", "benchmarks", "load-test.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+        System.out.print(report);
+
+        Properties baseline = new Properties();
+        if (UPDATE_BASELINE || !Files.exists(BASELINE)) {
+            Files.createDirectories(BASELINE.getParent());
+            try (Writer writer = Files.newBufferedWriter(BASELINE)) {
+                RegressionGate.baselineOf(config, results).store(writer, "Baseline do HttpLoadTest");
+            }
+            System.out.println("Baseline gravado em " + BASELINE);
+        } else {
+            try (Reader reader = Files.newBufferedReader(BASELINE)) {
+                baseline.load(reader);
+            }
+        }
+
+        List<String> violations = new RegressionGate(baseline, TOLERANCE, MIN_REGRESSION_MICROS, MAX_ERROR_RATE).check(config, results);
+        assertTrue(violations.isEmpty(), "Regressão de desempenho:" + System.lineSeparator() + String.join(System.lineSeparator(), violations));
+    }
+}
@@ -0,0 +1,70 @@
+package com.josewolf.task_api.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Guarda todas as latências (em nanos) de cada operação, sem amostragem, para percentis exatos.
+final class LatencyRecorder {
+
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new Samples());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long nanos) {
+        samples.get(operation).add(nanos);
+    }
+
+    void error(Operation operation) {
+        errors.get(operation).increment();
+    }
+
+    // Uma linha com o total da rodada seguida de uma linha por operação executada.
+    List<LoadResult> results(String name, Duration duration) {
+        List<LoadResult> results = new ArrayList<>();
+        long[][] all = new long[Operation.values().length][];
+        long totalErrors = 0;
+
+        for (Operation operation : Operation.values()) {
+            all[operation.ordinal()] = samples.get(operation).toArray();
+            totalErrors += errors.get(operation).sum();
+        }
+        results.add(LoadResult.of(name, Arrays.stream(all).flatMapToLong(Arrays::stream).toArray(), totalErrors, duration));
+
+        for (Operation operation : Operation.values()) {
+            long[] latencies = all[operation.ordinal()];
+            long operationErrors = errors.get(operation).sum();
+            if (latencies.length > 0 || operationErrors > 0) {
+                results.add(LoadResult.of(name + "." + operation.key(), latencies, operationErrors, duration));
+            }
+        }
+        return results;
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[4096];
+        private int size;
+
+        synchronized void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        synchronized long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
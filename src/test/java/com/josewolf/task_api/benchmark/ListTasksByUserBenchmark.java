@@ -0,0 +1,118 @@
+package com.josewolf.task_api.benchmark;
+
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.exceptions.ResourceNotFoundException;
+import com.josewolf.task_api.repository.UserRepository;
+import com.josewolf.task_api.service.TaskService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Throughput da listagem de tasks por usuário chamando o serviço direto (sem HTTP), com mais threads que conexões:
+// compara a versão com duas consultas (existsById do usuário e depois a página, cada uma com a própria conexão do
+// pool) com a consulta única atual de TaskService.listTasksByUserId, que parte de users com left join nas tasks.
+// Parâmetros (-D): benchmark.threads, benchmark.pool-size, benchmark.limit, benchmark.warmup, benchmark.duration.
+// Ex.: ./mvnw test -Pbenchmark -Dtest=ListTasksByUserBenchmark
+@Tag("benchmark")
+public class ListTasksByUserBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 32);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 8);
+    private static final int LIMIT = Integer.getInteger("benchmark.limit", 20);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("benchmark.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT30S"));
+
+    @Test
+    @DisplayName("Compara o throughput da listagem por usuário com duas consultas e com a consulta única.")
+    void compareTwoQueriesWithSingleQuery() throws Exception {
+        try (BenchmarkApp app = BenchmarkApp.start("list_by_user", Duration.ZERO, 100, 50,
+                "--task-api.datasource.interactive.maximum-pool-size=" + POOL_SIZE)) {
+            TaskService taskService = app.bean(TaskService.class);
+            UserRepository userRepository = app.bean(UserRepository.class);
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(app.bean(EntityManagerFactory.class));
+            Statistics statistics = app.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            // Versão anterior: o usuário é confirmado antes, e a página vem de uma consulta só em tasks.
+            LongFunction<CursorPageResponseDTO<TaskResponseDTO>> twoQueries = userId -> {
+                if (!userRepository.existsById(userId)) {
+                    throw new ResourceNotFoundException("Usuário não encontrado com o Id: " + userId);
+                }
+                List<TaskResponseDTO> tasks = entityManager.createQuery("""
+                                select new com.josewolf.task_api.dto.responsedto.TaskResponseDTO(t.id, t.title, t.description, t.taskStatus, t.user.id, t.version)
+                                from Task t
+                                where t.user.id = :userId and t.id < :before
+                                order by t.id desc""", TaskResponseDTO.class)
+                        .setParameter("userId", userId)
+                        .setParameter("before", Long.MAX_VALUE)
+                        .setMaxResults(LIMIT + 1)
+                        .getResultList();
+                return CursorPageResponseDTO.of(tasks, LIMIT, TaskResponseDTO::id);
+            };
+            LongFunction<CursorPageResponseDTO<TaskResponseDTO>> singleQuery =
+                    userId -> taskService.listTasksByUserId(userId, null, null, LIMIT);
+
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("threads=%d pool=%d limit=%d duration=%s", THREADS, POOL_SIZE, LIMIT, DURATION));
+            lines.add(run("existsById + página", app, statistics, twoQueries));
+            lines.add(run("consulta única", app, statistics, singleQuery));
+
+            String report = String.join(System.lineSeparator(), lines) + System.lineSeparator();
+
+            Path file = Path.of("target", "benchmarks", "list-tasks-by-user.txt");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report);
+            System.out.print(report);
+        }
+    }
+
+    private String run(String mode, BenchmarkApp app, Statistics statistics,
+                       LongFunction<CursorPageResponseDTO<TaskResponseDTO>> listing) throws InterruptedException {
+        call(app, listing, WARMUP);
+        statistics.clear();
+        long calls = call(app, listing, DURATION);
+
+        assertTrue(calls > 0, "Nenhuma chamada concluída em " + mode);
+        return String.format("%-22s %,10.0f req/s   %4.2f statements/req",
+                mode, calls / (DURATION.toMillis() / 1000.0), statistics.getPrepareStatementCount() / (double) calls);
+    }
+
+    // THREADS threads chamando em laço fechado até o fim do intervalo; devolve o total de chamadas concluídas.
+    private long call(BenchmarkApp app, LongFunction<CursorPageResponseDTO<TaskResponseDTO>> listing, Duration duration)
+            throws InterruptedException {
+        AtomicLong calls = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            threads.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    listing.apply(app.randomUserId(random));
+                    calls.incrementAndGet();
+                }
+            });
+        }
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(duration.toMillis() + 60_000, TimeUnit.MILLISECONDS));
+        return calls.get();
+    }
+}
@@ -0,0 +1,105 @@
+package com.josewolf.task_api.benchmark;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+// Gera carga HTTP contra uma BenchmarkApp em dois modelos:
+// - fechado: N clientes, cada um envia a próxima requisição só depois da resposta anterior;
+// - aberto: requisições chegam a uma taxa fixa, independente das respostas. A latência é medida a partir
+//   do instante em que a requisição deveria ter saído, para que atrasos do próprio gerador apareçam nos
+//   percentis (coordinated omission). Acima de maxInFlight requisições pendentes a chegada conta como erro.
+final class LoadGenerator {
+
+    private final BenchmarkApp app;
+    private final LoadMix mix;
+    private final Map<Long, String> etags = new ConcurrentHashMap<>();
+
+    LoadGenerator(BenchmarkApp app, LoadMix mix) {
+        this.app = app;
+        this.mix = mix;
+    }
+
+    List<LoadResult> closed(String name, int clients, Duration duration) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        send(mix.pick(random), System.nanoTime(), recorder);
+                    }
+                });
+            }
+        }
+        return recorder.results(name, duration);
+    }
+
+    List<LoadResult> open(String name, int ratePerSecond, Duration duration, int maxInFlight) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long interval = 1_000_000_000L / ratePerSecond;
+        long arrivals = duration.toNanos() / interval;
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < arrivals; i++) {
+                long intendedStart = start + i * interval;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = mix.pick(random);
+                if (!inFlight.tryAcquire()) {
+                    recorder.error(operation);
+                    continue;
+                }
+                executor.submit(() -> {
+                    try {
+                        send(operation, intendedStart, recorder);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return recorder.results(name, duration);
+    }
+
+    private void send(Operation operation, long startNanos, LatencyRecorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = app.randomUserId(random);
+        HttpRequest request = operation.request(app, userId, etags, random);
+
+        try {
+            HttpResponse<String> response = app.http().send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400 && !operation.isExpectedConflict(response.statusCode())) {
+                recorder.error(operation);
+                return;
+            }
+
+            recorder.record(operation, System.nanoTime() - startNanos);
+            if (operation.isUserList() && response.statusCode() == 200) {
+                response.headers().firstValue("ETag").ifPresent(etag -> etags.put(userId, etag));
+            }
+        } catch (IOException ex) {
+            recorder.error(operation);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.josewolf.task_api.benchmark;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Proporção de cada operação, no formato "listByUser=50,createTask=20,...". Os pesos não precisam somar 100.
+final class LoadMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final String spec;
+
+    private LoadMix(Map<Operation, Integer> weights, String spec) {
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        this.spec = spec;
+
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("loadtest.mix precisa de ao menos uma operação com peso positivo: " + spec);
+        }
+    }
+
+    static LoadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida em loadtest.mix: " + entry);
+            }
+            weights.merge(Operation.fromKey(pair[0].trim()), Integer.parseInt(pair[1].trim()), Integer::sum);
+        }
+        return new LoadMix(weights, spec);
+    }
+
+    Operation pick(ThreadLocalRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,38 @@
+package com.josewolf.task_api.benchmark;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Resultado de uma rodada de carga: requests são as respostas bem-sucedidas, cujas latências entram nos percentis;
+// errors são respostas 4xx/5xx, falhas de conexão e chegadas descartadas. Os percentis são exatos, sem amostragem.
+record LoadResult(String name, long requests, long errors, Duration duration, long p50Micros, long p99Micros, long p999Micros) {
+
+    static LoadResult of(String name, long[] latencyNanos, long errors, Duration duration) {
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        return new LoadResult(name, sorted.length, errors, duration,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999));
+    }
+
+    double throughput() {
+        return requests / (duration.toMillis() / 1000.0);
+    }
+
+    double errorRate() {
+        long attempts = requests + errors;
+        return attempts == 0 ? 0 : errors / (double) attempts;
+    }
+
+    String format() {
+        return String.format("%-28s %10d ok %7d err %10.1f req/s   p50 %8.2f ms   p99 %8.2f ms   p999 %8.2f ms",
+                name, requests, errors, throughput(), p50Micros / 1000.0, p99Micros / 1000.0, p999Micros / 1000.0);
+    }
+
+    private static long percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1000;
+    }
+}
@@ -0,0 +1,77 @@
+package com.josewolf.task_api.benchmark;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Endpoints reais exercitados pelos testes de carga, identificados pelo nome usado em loadtest.mix.
+enum Operation {
+
+    LIST_BY_USER("listByUser"),
+    // Envia a última ETag recebida para o usuário: enquanto a lista não muda a resposta é 304, sem ir ao banco.
+    CONDITIONAL_LIST("conditionalList"),
+    CREATE_TASK("createTask"),
+    UPDATE_STATUS("updateStatus"),
+    UPDATE_TASK("updateTask"),
+    // Troca de status com currentStatus: passa pela task do cache de segundo nível. O status esperado é sorteado,
+    // então o 409 de quando a task já não está nele é uma resposta válida.
+    COMPARE_AND_SET_STATUS("compareAndSetStatus"),
+    COUNT_BY_USER("countByUser"),
+    LIST_ALL("listAll");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    boolean isUserList() {
+        return this == LIST_BY_USER || this == CONDITIONAL_LIST;
+    }
+
+    boolean isExpectedConflict(int statusCode) {
+        return this == COMPARE_AND_SET_STATUS && statusCode == 409;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida em loadtest.mix: " + key);
+    }
+
+    HttpRequest request(BenchmarkApp app, long userId, Map<Long, String> etags, ThreadLocalRandom random) {
+        return switch (this) {
+            case LIST_BY_USER -> get(app, "/api/tasks/user/" + userId + "?limit=20", null);
+            case CONDITIONAL_LIST -> get(app, "/api/tasks/user/" + userId + "?limit=20", etags.get(userId));
+            case CREATE_TASK -> BenchmarkApp.json(app.uri("/api/tasks"), "POST", BenchmarkApp.taskJson(userId, random.nextInt(1_000_000)));
+            case UPDATE_STATUS -> BenchmarkApp.json(app.uri("/api/tasks/" + app.randomTaskId(random) + "/status"), "PATCH",
+                    "{\"taskStatus\":\"" + (random.nextBoolean() ? "PENDING" : "COMPLETED") + "\"}");
+            case UPDATE_TASK -> BenchmarkApp.json(app.uri("/api/tasks/" + app.randomTaskId(random)), "PUT",
+                    BenchmarkApp.taskJson(userId, random.nextInt(1_000_000)));
+            case COMPARE_AND_SET_STATUS -> {
+                boolean pending = random.nextBoolean();
+                yield BenchmarkApp.json(app.uri("/api/tasks/" + app.randomTaskId(random) + "/status"), "PATCH",
+                        "{\"taskStatus\":\"" + (pending ? "COMPLETED" : "PENDING") + "\",\"currentStatus\":\""
+                                + (pending ? "PENDING" : "COMPLETED") + "\"}");
+            }
+            case COUNT_BY_USER -> get(app, "/api/tasks/user/" + userId + "/counts", null);
+            case LIST_ALL -> get(app, "/api/tasks?limit=20&after=" + app.randomTaskId(random), null);
+        };
+    }
+
+    private static HttpRequest get(BenchmarkApp app, String path, String ifNoneMatch) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(app.uri(path)).timeout(Duration.ofSeconds(30)).GET();
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return request.build();
+    }
+}
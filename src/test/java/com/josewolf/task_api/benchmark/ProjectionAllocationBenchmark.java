@@ -0,0 +1,134 @@
+package com.josewolf.task_api.benchmark;
+
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
+import com.josewolf.task_api.model.Task;
+import com.josewolf.task_api.model.User;
+import com.josewolf.task_api.repository.TaskRepository;
+import com.josewolf.task_api.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// Bytes alocados por chamada nas listagens, lendo entidades gerenciadas e convertendo para DTO (como antes das
+// projeções) e lendo direto em TaskResponseDTO/UserResponseDTO (consultas atuais do TaskRepository/UserRepository).
+// As duas variantes rodam na thread do teste, dentro da mesma transação somente leitura, e são medidas com o
+// ThreadMXBean; o desvio de listAllTasks para o executor bulk fica de fora por ser igual nas duas.
+// O cache de segundo nível fica desligado para que as entidades carregadas não sejam copiadas para ele.
+// Parâmetros (-D): benchmark.users, benchmark.tasks-per-user, benchmark.warmup-calls, benchmark.calls.
+// Ex.: ./mvnw test -Pbenchmark -Dtest=ProjectionAllocationBenchmark
+@Tag("benchmark")
+public class ProjectionAllocationBenchmark {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 100);
+    private static final int TASKS_PER_USER = Integer.getInteger("benchmark.tasks-per-user", 50);
+    private static final int WARMUP_CALLS = Integer.getInteger("benchmark.warmup-calls", 5_000);
+    private static final int CALLS = Integer.getInteger("benchmark.calls", 500);
+    private static final int ROUNDS = 5;
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Compara os bytes alocados por chamada das listagens com entidades e com projeções em DTO.")
+    void compareEntitiesWithProjections() throws Exception {
+        try (BenchmarkApp app = BenchmarkApp.start("projection_allocation", Duration.ZERO, USERS, TASKS_PER_USER,
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false")) {
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(app.bean(EntityManagerFactory.class));
+            TaskRepository taskRepository = app.bean(TaskRepository.class);
+            UserRepository userRepository = app.bean(UserRepository.class);
+            TransactionTemplate readOnly = new TransactionTemplate(app.bean(PlatformTransactionManager.class));
+            readOnly.setReadOnly(true);
+
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("users=%d tasks=%d warmup=%d calls=%d (mediana de %d rodadas)",
+                    USERS, USERS * TASKS_PER_USER, WARMUP_CALLS, CALLS, ROUNDS));
+
+            lines.add(compare("listAllTasks(limit=100)", readOnly,
+                    () -> CursorPageResponseDTO.of(entityManager
+                            .createQuery("select t from Task t where t.id > :after order by t.id", Task.class)
+                            .setParameter("after", 0L)
+                            .setMaxResults(101)
+                            .getResultList().stream()
+                            .map(TaskResponseDTO::new)
+                            .toList(), 100, TaskResponseDTO::id),
+                    () -> CursorPageResponseDTO.of(taskRepository.findPageAfter(0L, Limit.of(101)), 100, TaskResponseDTO::id)));
+
+            lines.add(compare("findAllUsers(limit=100)", readOnly,
+                    () -> CursorPageResponseDTO.of(entityManager
+                            .createQuery("select u from User u where u.id > :after order by u.id", User.class)
+                            .setParameter("after", 0L)
+                            .setMaxResults(101)
+                            .getResultList().stream()
+                            .map(UserResponseDTO::new)
+                            .toList(), 100, UserResponseDTO::id),
+                    () -> CursorPageResponseDTO.of(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101)), 100, UserResponseDTO::id)));
+
+            lines.add(compare("listTasksByUserId(limit=50)", readOnly,
+                    () -> CursorPageResponseDTO.of(entityManager
+                            .createQuery("select t from Task t where t.user.id = :userId and t.id < :before order by t.id desc", Task.class)
+                            .setParameter("userId", app.randomUserId(ThreadLocalRandom.current()))
+                            .setParameter("before", Long.MAX_VALUE)
+                            .setMaxResults(51)
+                            .getResultList().stream()
+                            .map(TaskResponseDTO::new)
+                            .toList(), 50, TaskResponseDTO::id),
+                    () -> CursorPageResponseDTO.of(taskRepository.findPageByUserId(
+                            app.randomUserId(ThreadLocalRandom.current()), Long.MAX_VALUE, Limit.of(51)), 50, TaskResponseDTO::id)));
+
+            String report = String.join(System.lineSeparator(), lines) + System.lineSeparator();
+
+            Path file = Path.of("target", "benchmarks", "projection-allocation.txt");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report);
+            System.out.print(report);
+        }
+    }
+
+    private String compare(String name, TransactionTemplate readOnly,
+                           Supplier<CursorPageResponseDTO<?>> entities, Supplier<CursorPageResponseDTO<?>> projection) {
+        long entityBytes = bytesPerCall(readOnly, entities);
+        long projectionBytes = bytesPerCall(readOnly, projection);
+        return String.format("%-30s entidades %,10d B/chamada   projeção %,10d B/chamada",
+                name, entityBytes, projectionBytes);
+    }
+
+    // Mediana das rodadas, depois do aquecimento do JIT e dos caches de planos de consulta.
+    private long bytesPerCall(TransactionTemplate readOnly, Supplier<CursorPageResponseDTO<?>> call) {
+        run(readOnly, call, WARMUP_CALLS);
+        long[] rounds = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = threadMXBean.getCurrentThreadAllocatedBytes();
+            run(readOnly, call, CALLS);
+            rounds[i] = (threadMXBean.getCurrentThreadAllocatedBytes() - start) / CALLS;
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+
+    private void run(TransactionTemplate readOnly, Supplier<CursorPageResponseDTO<?>> call, int calls) {
+        for (int i = 0; i < calls; i++) {
+            CursorPageResponseDTO<?> page = readOnly.execute(status -> call.get());
+            assertFalse(page.content().isEmpty());
+        }
+    }
+}
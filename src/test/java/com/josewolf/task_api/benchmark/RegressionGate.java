@@ -0,0 +1,87 @@
+package com.josewolf.task_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+// Compara uma rodada com o baseline gravado. Uma métrica só regride se piorar além da tolerância relativa
+// e também além de uma folga absoluta, para que variações de frações de milissegundo não reprovem a build.
+// Totais de cada modelo: throughput, p50, p99 e p999. Operações individuais, com menos amostras: só p99.
+final class RegressionGate {
+
+    private static final String CONFIG_KEY = "config";
+
+    private final Properties baseline;
+    private final double tolerance;
+    private final long minRegressionMicros;
+    private final double maxErrorRate;
+
+    RegressionGate(Properties baseline, double tolerance, long minRegressionMicros, double maxErrorRate) {
+        this.baseline = baseline;
+        this.tolerance = tolerance;
+        this.minRegressionMicros = minRegressionMicros;
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    static Properties baselineOf(String config, List<LoadResult> results) {
+        Properties properties = new Properties();
+        properties.setProperty(CONFIG_KEY, config);
+        for (LoadResult result : results) {
+            properties.setProperty(result.name() + ".throughput", String.format("%.1f", result.throughput()).replace(',', '.'));
+            properties.setProperty(result.name() + ".p50", Long.toString(result.p50Micros()));
+            properties.setProperty(result.name() + ".p99", Long.toString(result.p99Micros()));
+            properties.setProperty(result.name() + ".p999", Long.toString(result.p999Micros()));
+        }
+        return properties;
+    }
+
+    List<String> check(String config, List<LoadResult> results) {
+        List<String> violations = new ArrayList<>();
+
+        String baselineConfig = baseline.getProperty(CONFIG_KEY);
+        if (baselineConfig != null && !baselineConfig.equals(config)) {
+            violations.add("O baseline foi gravado com outra configuração (" + baselineConfig + "); grave um novo com -Dloadtest.update-baseline=true");
+            return violations;
+        }
+
+        for (LoadResult result : results) {
+            if (result.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s: taxa de erros %.2f%% acima de %.2f%%", result.name(), result.errorRate() * 100, maxErrorRate * 100));
+            }
+
+            boolean total = !result.name().contains(".");
+            if (total) {
+                checkThroughput(result, violations);
+                checkLatency(result, "p50", result.p50Micros(), violations);
+                checkLatency(result, "p999", result.p999Micros(), violations);
+            }
+            checkLatency(result, "p99", result.p99Micros(), violations);
+        }
+        return violations;
+    }
+
+    private void checkThroughput(LoadResult result, List<String> violations) {
+        String expected = baseline.getProperty(result.name() + ".throughput");
+        if (expected == null) {
+            return;
+        }
+        double minimum = Double.parseDouble(expected) * (1 - tolerance);
+        if (result.throughput() < minimum) {
+            violations.add(String.format("%s: throughput %.1f req/s abaixo do mínimo %.1f req/s (baseline %s)",
+                    result.name(), result.throughput(), minimum, expected));
+        }
+    }
+
+    private void checkLatency(LoadResult result, String percentile, long actualMicros, List<String> violations) {
+        String expected = baseline.getProperty(result.name() + "." + percentile);
+        if (expected == null) {
+            return;
+        }
+        long baselineMicros = Long.parseLong(expected);
+        long maximum = Math.max((long) (baselineMicros * (1 + tolerance)), baselineMicros + minRegressionMicros);
+        if (actualMicros > maximum) {
+            violations.add(String.format("%s: %s %.2f ms acima do máximo %.2f ms (baseline %.2f ms)",
+                    result.name(), percentile, actualMicros / 1000.0, maximum / 1000.0, baselineMicros / 1000.0));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.josewolf.task_api.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegressionGateTest {
+
+    private static final String CONFIG = "clients=10";
+
+    private static LoadResult result(String name, long requests, long errors, long p99Micros) {
+        return new LoadResult(name, requests, errors, Duration.ofSeconds(10), 1_000, p99Micros, p99Micros * 2);
+    }
+
+    private static RegressionGate gate(List<LoadResult> baseline) {
+        return new RegressionGate(RegressionGate.baselineOf(CONFIG, baseline), 0.25, 2_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Deve aprovar uma rodada dentro da tolerância do baseline.")
+    void check_WithinTolerance() {
+        RegressionGate gate = gate(List.of(result("closed", 10_000, 0, 20_000)));
+
+        assertTrue(gate.check(CONFIG, List.of(result("closed", 9_000, 0, 24_000))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve reprovar quando throughput cai ou o p99 sobe além da tolerância.")
+    void check_ThroughputAndLatencyRegression() {
+        RegressionGate gate = gate(List.of(result("closed", 10_000, 0, 20_000)));
+
+        List<String> violations = gate.check(CONFIG, List.of(result("closed", 7_000, 0, 30_000)));
+
+        assertEquals(3, violations.size());
+        assertTrue(violations.get(0).contains("throughput"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar pioras menores que a folga absoluta em latências pequenas.")
+    void check_IgnoresSmallAbsoluteRegression() {
+        RegressionGate gate = gate(List.of(result("closed.listByUser", 1_000, 0, 1_000)));
+
+        assertTrue(gate.check(CONFIG, List.of(result("closed.listByUser", 1_000, 0, 2_500))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve reprovar quando a taxa de erros passa do limite, mesmo sem baseline.")
+    void check_ErrorRateWithoutBaseline() {
+        RegressionGate gate = new RegressionGate(new Properties(), 0.25, 2_000, 0.01);
+
+        List<String> violations = gate.check(CONFIG, List.of(result("open", 900, 100, 20_000)));
+
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).contains("taxa de erros"));
+    }
+
+    @Test
+    @DisplayName("Deve reprovar quando o baseline foi gravado com outra configuração.")
+    void check_ConfigMismatch() {
+        RegressionGate gate = gate(List.of(result("closed", 10_000, 0, 20_000)));
+
+        List<String> violations = gate.check("clients=500", List.of(result("closed", 10_000, 0, 20_000)));
+
+        assertEquals(1, violations.size());
+    }
+}
@@ -0,0 +1,49 @@
+package com.josewolf.task_api.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+
+// Simula um banco lento: cada execução de statement espera a latência configurada antes de ir ao H2.
+// A espera acontece fora do H2, então não segura nenhum lock do banco em memória.
+class SlowDatabase implements BeanPostProcessor {
+
+    private final Duration latency;
+
+    SlowDatabase(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // Só o DataSource usado pelo JPA; os pools por trás dele são injetados com o tipo HikariDataSource.
+        if (bean instanceof DataSource dataSource && beanName.equals("dataSource") && !latency.isZero()) {
+            return wrap(dataSource, DataSource.class);
+        }
+        return bean;
+    }
+
+    private Object wrap(Object target, Class<?> type) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (Statement.class.isAssignableFrom(type) && method.getName().startsWith("execute")) {
+                Thread.sleep(latency);
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+
+            Class<?> returnType = method.getReturnType();
+            boolean jdbcResource = returnType == Connection.class || Statement.class.isAssignableFrom(returnType);
+            return result != null && jdbcResource ? wrap(result, returnType) : result;
+        });
+    }
+}
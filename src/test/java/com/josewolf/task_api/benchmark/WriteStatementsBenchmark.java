@@ -0,0 +1,133 @@
+package com.josewolf.task_api.benchmark;
+
+import com.josewolf.task_api.dto.TaskStatusRequestDTO;
+import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.exceptions.ResourceNotFoundException;
+import com.josewolf.task_api.model.Task;
+import com.josewolf.task_api.model.TaskStatus;
+import com.josewolf.task_api.model.User;
+import com.josewolf.task_api.repository.TaskRepository;
+import com.josewolf.task_api.repository.UserRepository;
+import com.josewolf.task_api.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+// Statements preparados pelo Hibernate por escrita de task, em benchmark.operations operações de cada tipo.
+// "leitura antes da escrita" refaz os caminhos anteriores com os repositórios, sem transação em volta: o usuário é
+// lido antes do insert, e a task é lida e depois salva (merge) ou apagada como entidade destacada.
+// "atual" chama o TaskService sem If-Match. A criação atual confere o usuário pelo UserCache: a primeira task de cada
+// um dos 100 usuários ainda faz a leitura do usuário, as seguintes só o insert (e a busca de ids da sequence a cada 50).
+// Toda escrita atual soma o UPDATE de users.tasks_version, a versão da lista usada como ETag.
+// No H2 a exclusão atual lê o dono antes do DELETE (2 statements); no PostgreSQL é um único DELETE ... RETURNING.
+// O cache de segundo nível fica desligado para que as leituras da versão anterior cheguem ao banco.
+// Parâmetros (-D): benchmark.operations.
+// Ex.: ./mvnw test -Pbenchmark -Dtest=WriteStatementsBenchmark
+@Tag("benchmark")
+public class WriteStatementsBenchmark {
+
+    private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 2_000);
+
+    @Test
+    @DisplayName("Compara os statements por escrita de task com leitura antes da escrita e com as escritas atuais.")
+    void compareReadBeforeWriteWithCurrentWrites() throws Exception {
+        try (BenchmarkApp app = BenchmarkApp.start("write_statements", Duration.ZERO, 100, 0,
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false")) {
+            TaskService taskService = app.bean(TaskService.class);
+            TaskRepository taskRepository = app.bean(TaskRepository.class);
+            UserRepository userRepository = app.bean(UserRepository.class);
+            Statistics statistics = app.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            List<Long> oldIds = new ArrayList<>();
+            List<Long> currentIds = new ArrayList<>();
+
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("operações por tipo=%d", OPERATIONS));
+
+            lines.add(compare("create", statistics, app,
+                    userId -> {
+                        User user = userRepository.findById(userId)
+                                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+                        Task task = new Task();
+                        task.setTitle("Task");
+                        task.setDescription("Gerada pelo benchmark");
+                        task.setTaskStatus(TaskStatus.PENDING);
+                        task.setUser(user);
+                        oldIds.add(new TaskResponseDTO(taskRepository.save(task)).id());
+                    },
+                    userId -> currentIds.add(taskService.createTask(
+                            new TaskRequestDTO("Task", "Gerada pelo benchmark", userId)).id())));
+
+            lines.add(compare("update", statistics, oldIds, currentIds,
+                    taskId -> {
+                        Task task = findTask(taskRepository, taskId);
+                        task.setTitle("Task alterada");
+                        task.setDescription("Alterada pelo benchmark");
+                        new TaskResponseDTO(taskRepository.save(task));
+                    },
+                    taskId -> taskService.updateTask(taskId, null,
+                            new TaskRequestDTO("Task alterada", "Alterada pelo benchmark", null))));
+
+            lines.add(compare("update status", statistics, oldIds, currentIds,
+                    taskId -> {
+                        Task task = findTask(taskRepository, taskId);
+                        task.setTaskStatus(TaskStatus.COMPLETED);
+                        new TaskResponseDTO(taskRepository.save(task));
+                    },
+                    taskId -> taskService.updateStatus(taskId, null, new TaskStatusRequestDTO(TaskStatus.COMPLETED, null))));
+
+            lines.add(compare("delete", statistics, oldIds, currentIds,
+                    taskId -> taskRepository.delete(findTask(taskRepository, taskId)),
+                    taskService::deleteTask));
+
+            String report = String.join(System.lineSeparator(), lines) + System.lineSeparator();
+
+            Path file = Path.of("target", "benchmarks", "write-statements.txt");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report);
+            System.out.print(report);
+        }
+    }
+
+    private static Task findTask(TaskRepository taskRepository, Long taskId) {
+        return taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task inexistente com o Id: " + taskId));
+    }
+
+    // Criação: cada variante recebe OPERATIONS usuários sorteados.
+    private String compare(String name, Statistics statistics, BenchmarkApp app,
+                           Consumer<Long> readBeforeWrite, Consumer<Long> current) {
+        List<Long> userIds = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < OPERATIONS; i++) {
+            userIds.add(app.randomUserId(random));
+        }
+        return compare(name, statistics, userIds, userIds, readBeforeWrite, current);
+    }
+
+    // Escritas sobre tasks: cada variante trabalha nas tasks que ela mesma criou.
+    private String compare(String name, Statistics statistics, List<Long> oldIds, List<Long> currentIds,
+                           Consumer<Long> readBeforeWrite, Consumer<Long> current) {
+        return String.format("%-14s leitura antes da escrita %5.2f statements/op   atual %5.2f statements/op",
+                name, statementsPerOperation(statistics, List.copyOf(oldIds), readBeforeWrite),
+                statementsPerOperation(statistics, List.copyOf(currentIds), current));
+    }
+
+    private static double statementsPerOperation(Statistics statistics, List<Long> ids, Consumer<Long> operation) {
+        statistics.clear();
+        ids.forEach(operation);
+        return statistics.getPrepareStatementCount() / (double) ids.size();
+    }
+}
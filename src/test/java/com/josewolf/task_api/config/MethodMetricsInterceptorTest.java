@@ -0,0 +1,61 @@
+package com.josewolf.task_api.config;
+
+import com.josewolf.task_api.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MethodMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Work work;
+
+    public static class Work {
+
+        public String find() {
+            return "ok";
+        }
+
+        public String missing() {
+            throw new ResourceNotFoundException("não encontrado");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+
+        ProxyFactory proxyFactory = new ProxyFactory(new Work());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new MethodMetricsInterceptor("taskapi.service", beanFactory.getBeanProvider(MeterRegistry.class)));
+        work = (Work) proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Deve registrar cada chamada no Timer do método, com exception=none.")
+    void invoke_RecordsSuccessfulCalls() {
+        work.find();
+        work.find();
+
+        Timer timer = meterRegistry.get("taskapi.service").tag("class", "Work").tag("method", "find").tag("exception", "none").timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    @DisplayName("Deve registrar a chamada com o nome da exceção e relançá-la.")
+    void invoke_RecordsFailedCalls() {
+        assertThrows(ResourceNotFoundException.class, () -> work.missing());
+
+        Timer timer = meterRegistry.get("taskapi.service").tag("method", "missing").tag("exception", "ResourceNotFoundException").timer();
+        assertEquals(1, timer.count());
+    }
+}
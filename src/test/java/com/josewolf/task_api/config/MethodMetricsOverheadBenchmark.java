@@ -0,0 +1,88 @@
+package com.josewolf.task_api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Custo do MethodMetricsInterceptor por chamada: compara o mesmo proxy com um interceptor que só repassa
+// a chamada e com o interceptor de métricas gravando em um PrometheusMeterRegistry (histograma incluído).
+// ./mvnw test -Pbenchmark -Dtest=MethodMetricsOverheadBenchmark
+@Tag("benchmark")
+public class MethodMetricsOverheadBenchmark {
+
+    private static final int CALLS = 5_000_000;
+    private static final int ROUNDS = 5;
+
+    private long sink;
+
+    public static class Work {
+
+        private long counter;
+
+        public long next() {
+            return ++counter;
+        }
+    }
+
+    @Test
+    @DisplayName("Mede o custo por chamada da gravação dos Timers de serviço e repositório.")
+    void measureOverhead() throws Exception {
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+
+        Work plain = proxy(invocation -> invocation.proceed());
+        Work measured = proxy(new MethodMetricsInterceptor("taskapi.service", beanFactory.getBeanProvider(MeterRegistry.class)));
+
+        double plainNanos = nanosPerCall(plain);
+        double measuredNanos = nanosPerCall(measured);
+
+        String report = String.format("proxy sem métricas   %8.1f ns/chamada%nproxy com métricas   %8.1f ns/chamada%noverhead             %8.1f ns/chamada%n",
+                plainNanos, measuredNanos, measuredNanos - plainNanos);
+
+        Path file = Path.of("target", "benchmarks", "metrics-overhead.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+        System.out.print(report);
+
+        assertTrue(sink > 0);
+    }
+
+    private static Work proxy(MethodInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(new Work());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return (Work) proxyFactory.getProxy();
+    }
+
+    // Mediana das rodadas, depois de uma rodada de aquecimento para o JIT.
+    private double nanosPerCall(Work work) {
+        call(work);
+        double[] rounds = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            call(work);
+            rounds[i] = (System.nanoTime() - start) / (double) CALLS;
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+
+    private void call(Work work) {
+        for (int i = 0; i < CALLS; i++) {
+            sink += work.next();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.josewolf.task_api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.aop.framework.ProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServiceMethodMdcInterceptorTest {
+
+    private Work work;
+
+    public static class Work {
+
+        private Work self;
+
+        public String current() {
+            return MDC.get(ServiceMethodMdcInterceptor.MDC_KEY);
+        }
+
+        public String nested() {
+            return self.current() + " -> " + MDC.get(ServiceMethodMdcInterceptor.MDC_KEY);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Work target = new Work();
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new ServiceMethodMdcInterceptor());
+        work = (Work) proxyFactory.getProxy();
+        target.self = work;
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Deve colocar classe e método no MDC durante a chamada e removê-los ao final.")
+    void invoke_PutsServiceMethodInMdc() {
+        assertEquals("Work.current", work.current());
+        assertNull(MDC.get(ServiceMethodMdcInterceptor.MDC_KEY));
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o método externo ao fim de uma chamada aninhada.")
+    void invoke_RestoresOuterMethodAfterNestedCall() {
+        assertEquals("Work.current -> Work.nested", work.nested());
+    }
+}
@@ -0,0 +1,121 @@
+package com.josewolf.task_api.config;
+
+import com.josewolf.task_api.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkloadInterceptorTest {
+
+    private ThreadPoolTaskExecutor bulkTaskExecutor;
+    private Work work;
+
+    public static class Work {
+
+        @Workload(WorkloadType.BULK)
+        public String bulk() {
+            return Thread.currentThread().getName() + ":" + WorkloadContext.current();
+        }
+
+        public String interactive() {
+            return Thread.currentThread().getName() + ":" + WorkloadContext.current();
+        }
+
+        @Workload(WorkloadType.BULK)
+        public void failing() {
+            throw new InvalidRequestException("inválido");
+        }
+
+        @Workload(WorkloadType.BULK)
+        public void blocking(CountDownLatch started, CountDownLatch release) throws InterruptedException {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        bulkTaskExecutor = new ThreadPoolTaskExecutor();
+        bulkTaskExecutor.setCorePoolSize(1);
+        bulkTaskExecutor.setMaxPoolSize(1);
+        bulkTaskExecutor.setQueueCapacity(0);
+        bulkTaskExecutor.setThreadNamePrefix("bulk-");
+        bulkTaskExecutor.initialize();
+
+        ProxyFactory proxyFactory = new ProxyFactory(new Work());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Workload.class),
+                new WorkloadInterceptor(bulkTaskExecutor)));
+        work = (Work) proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkTaskExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve executar métodos BULK no executor de lote usando o pool de lote.")
+    void bulk_RunsOnBulkExecutor() {
+        assertEquals("bulk-1:BULK", work.bulk());
+    }
+
+    @Test
+    @DisplayName("Deve executar métodos sem @Workload na thread que chamou, com o pool interativo.")
+    void interactive_RunsOnCallerThread() {
+        assertEquals(Thread.currentThread().getName() + ":INTERACTIVE", work.interactive());
+    }
+
+    @Test
+    @DisplayName("Deve repassar a exceção original lançada no executor de lote.")
+    void bulk_PropagatesOriginalException() {
+        assertThrows(InvalidRequestException.class, () -> work.failing());
+    }
+
+    @Test
+    @DisplayName("Deve executar na thread atual quando já existe uma transação aberta.")
+    void bulk_RunsInlineInsideTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertEquals(Thread.currentThread().getName() + ":INTERACTIVE", work.bulk());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar na hora a chamada BULK quando as threads de lote estão ocupadas, sem enfileirar.")
+    void bulk_RejectsWhenExecutorIsBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+            try {
+                work.blocking(started, release);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertThrows(TaskRejectedException.class, () -> work.bulk());
+        } finally {
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -2,8 +2,15 @@ package com.josewolf.task_api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.josewolf.task_api.dto.TaskStatusRequestDTO;
+import com.josewolf.task_api.dto.requestdto.TaskBulkStatusRequestDTO;
 import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import com.josewolf.task_api.dto.responsedto.AffectedRowsResponseDTO;
+import com.josewolf.task_api.dto.responsedto.BulkTaskItemResponseDTO;
+import com.josewolf.task_api.dto.responsedto.BulkTaskResponseDTO;
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskCountsResponseDTO;
 import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.exceptions.InvalidRequestException;
 import com.josewolf.task_api.exceptions.ResourceNotFoundException;
 import com.josewolf.task_api.model.TaskStatus;
 import com.josewolf.task_api.service.TaskService;
@@ -14,13 +21,20 @@ import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = TaskController.class)
@@ -32,6 +46,9 @@ public class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskEventStreams taskEventStreams;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
@@ -39,7 +56,7 @@ public class TaskControllerTest {
     void createTask_ReturnsCreated() throws Exception {
 
         TaskRequestDTO requestDTO = new TaskRequestDTO("Teste title", "teste description", 1L);
-        TaskResponseDTO responseDTO = new TaskResponseDTO(1L,"Teste title", "teste description", TaskStatus.PENDING, 1l);
+        TaskResponseDTO responseDTO = new TaskResponseDTO(1L,"Teste title", "teste description", TaskStatus.PENDING, 1l, 0L);
 
         when(taskService.createTask(any(TaskRequestDTO.class))).thenReturn(responseDTO);
 
@@ -84,75 +101,238 @@ public class TaskControllerTest {
         verify(taskService, never()).createTask(any());
     }
 
+    @Test
+    @DisplayName("Deve retornar 201 Created quando todas as tarefas do lote forem criadas")
+    void createTasks_ReturnsCreated_WhenAllItemsAreCreated() throws Exception {
+        TaskRequestDTO requestDTO = new TaskRequestDTO("Teste title", "teste description", 1L);
+        TaskResponseDTO responseDTO = new TaskResponseDTO(1L,"Teste title", "teste description", TaskStatus.PENDING, 1L, 0L);
+
+        when(taskService.createTasks(anyList()))
+                .thenReturn(new BulkTaskResponseDTO(1, 0, List.of(BulkTaskItemResponseDTO.created(0, responseDTO))));
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(requestDTO))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].task.id").value(1))
+                .andExpect(jsonPath("$.results[0].error").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 207 Multi-Status quando parte do lote for recusada")
+    void createTasks_ReturnsMultiStatus_WhenSomeItemsFail() throws Exception {
+        TaskRequestDTO requestDTO = new TaskRequestDTO("Teste title", "teste description", 1L);
+        TaskResponseDTO responseDTO = new TaskResponseDTO(1L,"Teste title", "teste description", TaskStatus.PENDING, 1L, 0L);
+
+        when(taskService.createTasks(anyList()))
+                .thenReturn(new BulkTaskResponseDTO(1, 1, List.of(
+                        BulkTaskItemResponseDTO.created(0, responseDTO),
+                        BulkTaskItemResponseDTO.rejected(1, 404, "Usuário não encontrado com o Id: 999"))));
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(requestDTO, requestDTO))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].status").value(404))
+                .andExpect(jsonPath("$.results[1].task").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 Bad Request quando o lote for inválido")
+    void createTasks_ReturnsBadRequest_WhenBatchIsEmpty() throws Exception {
+        when(taskService.createTasks(anyList())).thenThrow(new InvalidRequestException("A lista de tasks não pode ser vazia."));
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("A lista de tasks não pode ser vazia."));
+    }
+
     //read
 
     @Test
     @DisplayName("Deve retornar 200 ok e listar todas as tarefas")
     void getTask_ReturnsTask() throws Exception {
-        TaskResponseDTO responseDTO = new TaskResponseDTO(1L,"Teste title", "teste description", TaskStatus.PENDING, 1l);
-        TaskResponseDTO responseDTO2 = new TaskResponseDTO(2L,"Teste title2", "teste description2", TaskStatus.PENDING, 1l);
+        TaskResponseDTO responseDTO = new TaskResponseDTO(1L,"Teste title", "teste description", TaskStatus.PENDING, 1l, 0L);
+        TaskResponseDTO responseDTO2 = new TaskResponseDTO(2L,"Teste title2", "teste description2", TaskStatus.PENDING, 1l, 0L);
 
-        when(taskService.listAllTasks()).thenReturn(List.of(responseDTO, responseDTO2));
+        when(taskService.listAllTasks(null, null)).thenReturn(new CursorPageResponseDTO<>(List.of(responseDTO, responseDTO2), null));
 
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(2))
-                .andExpect(jsonPath("$[0].id").value(responseDTO.id()))
-                .andExpect(jsonPath("$[0].title").value(responseDTO.title()))
-                .andExpect(jsonPath("$[0].description").value(responseDTO.description()))
-                .andExpect(jsonPath("$[0].taskStatus").value(TaskStatus.PENDING.toString()))
-                .andExpect(jsonPath("$[0].userId").value(responseDTO.userId()))
-                .andExpect(jsonPath("$[1].id").value(responseDTO2.id()))
-                .andExpect(jsonPath("$[1].title").value(responseDTO2.title()))
-                .andExpect(jsonPath("$[1].description").value(responseDTO2.description()))
-                .andExpect(jsonPath("$[1].taskStatus").value(TaskStatus.PENDING.toString()))
-                .andExpect(jsonPath("$[1].userId").value(responseDTO2.userId()));
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(responseDTO.id()))
+                .andExpect(jsonPath("$.content[0].title").value(responseDTO.title()))
+                .andExpect(jsonPath("$.content[0].description").value(responseDTO.description()))
+                .andExpect(jsonPath("$.content[0].taskStatus").value(TaskStatus.PENDING.toString()))
+                .andExpect(jsonPath("$.content[0].userId").value(responseDTO.userId()))
+                .andExpect(jsonPath("$.content[1].id").value(responseDTO2.id()))
+                .andExpect(jsonPath("$.content[1].title").value(responseDTO2.title()))
+                .andExpect(jsonPath("$.content[1].description").value(responseDTO2.description()))
+                .andExpect(jsonPath("$.content[1].taskStatus").value(TaskStatus.PENDING.toString()))
+                .andExpect(jsonPath("$.content[1].userId").value(responseDTO2.userId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
 
     }
 
+    @Test
+    @DisplayName("Deve repassar o cursor e o limite e retornar o próximo cursor")
+    void getTasks_ReturnsNextCursor_WhenThereAreMorePages() throws Exception {
+        TaskResponseDTO responseDTO = new TaskResponseDTO(11L,"Teste title", "teste description", TaskStatus.PENDING, 1l, 0L);
+
+        when(taskService.listAllTasks(10L, 1)).thenReturn(new CursorPageResponseDTO<>(List.of(responseDTO), 11L));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("after", "10")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(responseDTO.id()))
+                .andExpect(jsonPath("$.nextCursor").value(11));
+
+        verify(taskService, times(1)).listAllTasks(10L, 1);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 200 ok com as tasks encontradas pela busca")
+    void searchTasks_ReturnOk() throws Exception {
+        TaskResponseDTO responseDTO = new TaskResponseDTO(4L, "Relatório mensal", "Enviar relatório", TaskStatus.PENDING, 1L, 0L);
+
+        when(taskService.searchTasks("relatorio", 1L, 20, 20)).thenReturn(new CursorPageResponseDTO<>(List.of(responseDTO), 40L));
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("q", "relatorio")
+                        .param("userId", "1")
+                        .param("offset", "20")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(4))
+                .andExpect(jsonPath("$.nextCursor").value(40));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 se o termo de busca não for informado")
+    void searchTasks_ReturnBadRequest_WhenQueryIsMissing() throws Exception {
+        when(taskService.searchTasks(null, null, null, null)).thenThrow(new InvalidRequestException("Informe o termo de busca."));
+
+        mockMvc.perform(get("/api/tasks/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 200 ok com a contagem de tasks do usuário")
+    void getTaskCounts_ReturnOk() throws Exception {
+        when(taskService.countTasksByUserId(1L)).thenReturn(new TaskCountsResponseDTO(2, 5));
+
+        mockMvc.perform(get("/api/tasks/user/1/counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pending").value(2))
+                .andExpect(jsonPath("$.completed").value(5));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao contar tasks de um usuário inexistente")
+    void getTaskCounts_ReturnNotFound_WhenUserNotExist() throws Exception {
+        when(taskService.countTasksByUserId(999L)).thenThrow(new ResourceNotFoundException("Usuário não encontrado com o Id: 999"));
+
+        mockMvc.perform(get("/api/tasks/user/999/counts"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
     @Test
     @DisplayName("Deve retornar 200 Ok e uma lista vazia")
     void getTasks_ReturnsEmptyList_WhenListIsEmpty() throws Exception {
-        when(taskService.listAllTasks()).thenReturn(List.of());
+        when(taskService.listAllTasks(null, null)).thenReturn(new CursorPageResponseDTO<>(List.of(), null));
 
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(0));
+                .andExpect(jsonPath("$.content.size()").value(0));
     }
 
     @Test
     @DisplayName("Retorna 200 ok e lista todas as tarefas por id do usuário")
     void getTasksByUserId_ReturnsOk() throws Exception {
         Long userId = 1L;
-        TaskResponseDTO responseDTO = new TaskResponseDTO(1L,"Teste title", "teste description", TaskStatus.PENDING, userId);
-        TaskResponseDTO responseDTO2 = new TaskResponseDTO(2L,"Teste title2", "teste description2", TaskStatus.PENDING, userId);
+        TaskResponseDTO responseDTO = new TaskResponseDTO(1L,"Teste title", "teste description", TaskStatus.PENDING, userId, 0L);
+        TaskResponseDTO responseDTO2 = new TaskResponseDTO(2L,"Teste title2", "teste description2", TaskStatus.PENDING, userId, 0L);
 
-        when(taskService.listTasksByUserId(responseDTO.userId())).thenReturn(List.of(responseDTO, responseDTO2));
+        when(taskService.listTasksByUserId(responseDTO.userId(), null, null, null)).thenReturn(new CursorPageResponseDTO<>(List.of(responseDTO, responseDTO2), null));
 
         mockMvc.perform(get("/api/tasks/user/" + userId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(2))
-                .andExpect(jsonPath("$[0].id").value(responseDTO.id()))
-                .andExpect(jsonPath("$[0].title").value(responseDTO.title()))
-                .andExpect(jsonPath("$[0].description").value(responseDTO.description()))
-                .andExpect(jsonPath("$[0].taskStatus").value(TaskStatus.PENDING.toString()))
-                .andExpect(jsonPath("$[0].userId").value(responseDTO2.userId()))
-                .andExpect(jsonPath("$[1].id").value(responseDTO2.id()))
-                .andExpect(jsonPath("$[1].title").value(responseDTO2.title()))
-                .andExpect(jsonPath("$[1].description").value(responseDTO2.description()))
-                .andExpect(jsonPath("$[1].taskStatus").value(TaskStatus.PENDING.toString()))
-                .andExpect(jsonPath("$[1].userId").value(responseDTO2.userId()));
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(responseDTO.id()))
+                .andExpect(jsonPath("$.content[0].title").value(responseDTO.title()))
+                .andExpect(jsonPath("$.content[0].description").value(responseDTO.description()))
+                .andExpect(jsonPath("$.content[0].taskStatus").value(TaskStatus.PENDING.toString()))
+                .andExpect(jsonPath("$.content[0].userId").value(responseDTO2.userId()))
+                .andExpect(jsonPath("$.content[1].id").value(responseDTO2.id()))
+                .andExpect(jsonPath("$.content[1].title").value(responseDTO2.title()))
+                .andExpect(jsonPath("$.content[1].description").value(responseDTO2.description()))
+                .andExpect(jsonPath("$.content[1].taskStatus").value(TaskStatus.PENDING.toString()))
+                .andExpect(jsonPath("$.content[1].userId").value(responseDTO2.userId()));
 
     }
 
+    @Test
+    @DisplayName("Retorna a ETag da lista de tarefas do usuário")
+    void getTasksByUserId_ReturnsETag() throws Exception {
+        when(taskService.taskListETag(1L)).thenReturn("\"a1.0.3\"");
+        when(taskService.listTasksByUserId(1L, null, null, null)).thenReturn(new CursorPageResponseDTO<>(List.of(), null));
+
+        mockMvc.perform(get("/api/tasks/user/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"a1.0.3\""));
+    }
+
+    @Test
+    @DisplayName("Retorna 304 sem consultar as tarefas quando a ETag não mudou")
+    void getTasksByUserId_ReturnsNotModified_WhenETagMatches() throws Exception {
+        when(taskService.taskListETag(1L)).thenReturn("\"a1.0.3\"");
+
+        mockMvc.perform(get("/api/tasks/user/1")
+                        .header("If-None-Match", "\"a1.0.3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"a1.0.3\""))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).listTasksByUserId(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Retorna 200 ok repassando status, cursor e limite das tarefas do usuário")
+    void getTasksByUserId_ReturnsOk_WithStatusAndCursor() throws Exception {
+        Long userId = 1L;
+        TaskResponseDTO responseDTO = new TaskResponseDTO(9L,"Teste title", "teste description", TaskStatus.COMPLETED, userId, 0L);
+
+        when(taskService.listTasksByUserId(userId, TaskStatus.COMPLETED, 10L, 1)).thenReturn(new CursorPageResponseDTO<>(List.of(responseDTO), 9L));
+
+        mockMvc.perform(get("/api/tasks/user/" + userId)
+                        .param("status", "COMPLETED")
+                        .param("before", "10")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].taskStatus").value(TaskStatus.COMPLETED.toString()))
+                .andExpect(jsonPath("$.nextCursor").value(9));
+    }
+
     @Test
     @DisplayName("Retorna 404 Not Found se o id do usuário não for encontrado")
     void getTasksByUserId_ReturnsNotFound_WhenIdDoesNotExist() throws Exception {
         Long userId = 999L;
-        TaskResponseDTO responseDTO = new TaskResponseDTO(1L,"Teste title", "teste description", TaskStatus.PENDING, userId);
+        TaskResponseDTO responseDTO = new TaskResponseDTO(1L,"Teste title", "teste description", TaskStatus.PENDING, userId, 0L);
 
-        when(taskService.listTasksByUserId(responseDTO.userId()))
+        when(taskService.listTasksByUserId(responseDTO.userId(), null, null, null))
                 .thenThrow(new ResourceNotFoundException("Usuário não encontrado com o Id: 999"));
 
         mockMvc.perform(get("/api/tasks/user/" + userId))
@@ -170,9 +350,9 @@ public class TaskControllerTest {
         Long taskId = 1L;
 
         TaskRequestDTO requestDTO = new TaskRequestDTO("Titulo novo", "Descrição nova", userId);
-        TaskResponseDTO responseDTO = new TaskResponseDTO(taskId, "Titulo novo", "Descrição nova", TaskStatus.PENDING, userId);
+        TaskResponseDTO responseDTO = new TaskResponseDTO(taskId, "Titulo novo", "Descrição nova", TaskStatus.PENDING, userId, 0L);
 
-        when(taskService.updateTask(taskId, requestDTO)).thenReturn(responseDTO);
+        when(taskService.updateTask(taskId, null, requestDTO)).thenReturn(responseDTO);
 
         mockMvc.perform(put("/api/tasks/" + taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -185,6 +365,38 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.id").value(responseDTO.id()));
     }
 
+    @Test
+    @DisplayName("Deve repassar a versão do If-Match e devolver a nova ETag da tarefa")
+    void updateTaskByTaskId_ReturnsOk_WithIfMatch() throws Exception {
+        TaskRequestDTO requestDTO = new TaskRequestDTO("Titulo novo", "Descrição nova", 1L);
+        TaskResponseDTO responseDTO = new TaskResponseDTO(1L, "Titulo novo", "Descrição nova", TaskStatus.PENDING, 1L, 4L);
+
+        when(taskService.updateTask(1L, 3L, requestDTO)).thenReturn(responseDTO);
+
+        mockMvc.perform(put("/api/tasks/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 412 se o If-Match não for uma ETag de versão")
+    void updateTaskByTaskId_ReturnsPreconditionFailed_WhenIfMatchIsInvalid() throws Exception {
+        TaskRequestDTO requestDTO = new TaskRequestDTO("Titulo novo", "Descrição nova", 1L);
+
+        mockMvc.perform(put("/api/tasks/1")
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+
+        verify(taskService, never()).updateTask(any(), any(), any());
+    }
+
     @Test
     @DisplayName("Deve retornar 404 Not Found se a tarefa não existir")
     void updateTaskByTaskId_ReturnsNotFound_WhenIdDoesNotExist() throws Exception {
@@ -193,7 +405,7 @@ public class TaskControllerTest {
 
         TaskRequestDTO requestDTO = new TaskRequestDTO("Titulo novo", "Descrição nova", userId);
 
-        when(taskService.updateTask(taskId, requestDTO)).thenThrow(new ResourceNotFoundException("Task inexistente com o Id: 999"));
+        when(taskService.updateTask(taskId, null, requestDTO)).thenThrow(new ResourceNotFoundException("Task inexistente com o Id: 999"));
 
         mockMvc.perform(put("/api/tasks/" + taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -202,7 +414,7 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.message").exists());;
 
-        verify(taskService, times(1)).updateTask(taskId, requestDTO);
+        verify(taskService, times(1)).updateTask(taskId, null, requestDTO);
     }
 
     @Test
@@ -226,10 +438,10 @@ public class TaskControllerTest {
     void updateTaskStatusByTaskId_ReturnsOk() throws Exception {
         Long taskId =  1L;
 
-        TaskStatusRequestDTO statusRequestDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED);
-        TaskResponseDTO responseDTO = new TaskResponseDTO(taskId, "Título", "Descrição" , TaskStatus.COMPLETED, 1L);
+        TaskStatusRequestDTO statusRequestDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED, null);
+        TaskResponseDTO responseDTO = new TaskResponseDTO(taskId, "Título", "Descrição" , TaskStatus.COMPLETED, 1L, 0L);
 
-        when(taskService.updateStatus(eq(taskId), any(TaskStatusRequestDTO.class))).thenReturn(responseDTO);
+        when(taskService.updateStatus(eq(taskId), isNull(), any(TaskStatusRequestDTO.class))).thenReturn(responseDTO);
 
         mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -243,9 +455,9 @@ public class TaskControllerTest {
     void updateTaskStatusByTaskId_ReturnsNotFound_WhenIdDoesNotExist() throws Exception {
         Long taskId = 999L;
 
-        TaskStatusRequestDTO statusRequestDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED);
+        TaskStatusRequestDTO statusRequestDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED, null);
 
-        when(taskService.updateStatus(eq(taskId), any(TaskStatusRequestDTO.class))).thenThrow(new ResourceNotFoundException("Task inexistente com o Id: 999"));
+        when(taskService.updateStatus(eq(taskId), isNull(), any(TaskStatusRequestDTO.class))).thenThrow(new ResourceNotFoundException("Task inexistente com o Id: 999"));
 
         mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -254,7 +466,7 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.message").exists());
 
-        verify(taskService, times(1)).updateStatus(taskId, statusRequestDTO);
+        verify(taskService, times(1)).updateStatus(taskId, null, statusRequestDTO);
     }
 
     @Test
@@ -266,7 +478,34 @@ public class TaskControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)) // Sem o .content()
                 .andExpect(status().isBadRequest());
 
-        verify(taskService, never()).updateStatus(any(), any());
+        verify(taskService, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 200 Ok com a quantidade de tasks alteradas em lote")
+    void updateTasksStatus_ReturnsOk() throws Exception {
+        TaskBulkStatusRequestDTO requestDTO = new TaskBulkStatusRequestDTO(null, 1L, TaskStatus.PENDING, TaskStatus.COMPLETED);
+
+        when(taskService.updateStatuses(any(TaskBulkStatusRequestDTO.class))).thenReturn(new AffectedRowsResponseDTO(3));
+
+        mockMvc.perform(patch("/api/tasks/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 Bad Request se o novo status não for informado no lote")
+    void updateTasksStatus_ReturnsBadRequest_WhenStatusIsNull() throws Exception {
+        TaskBulkStatusRequestDTO requestDTO = new TaskBulkStatusRequestDTO(Set.of(1L), null, null, null);
+
+        mockMvc.perform(patch("/api/tasks/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).updateStatuses(any());
     }
 
     //Delete
@@ -295,4 +534,52 @@ public class TaskControllerTest {
 
         verify(taskService, times(1)).deleteTask(taskId);
     }
+
+    @Test
+    @DisplayName("Deve retornar 200 Ok com a quantidade de tasks deletadas em lote")
+    void deleteTasks_ReturnsOk() throws Exception {
+        when(taskService.deleteTasks(null, 1L, TaskStatus.COMPLETED)).thenReturn(new AffectedRowsResponseDTO(4));
+
+        mockMvc.perform(delete("/api/tasks")
+                        .param("userId", "1")
+                        .param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(4));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 Bad Request se o filtro da exclusão em lote for inválido")
+    void deleteTasks_ReturnsBadRequest_WhenSelectionIsInvalid() throws Exception {
+        when(taskService.deleteTasks(Set.of(1L, 2L), 1L, null))
+                .thenThrow(new InvalidRequestException("Informe a lista de ids ou o userId, mas não ambos."));
+
+        mockMvc.perform(delete("/api/tasks")
+                        .param("ids", "1,2")
+                        .param("userId", "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Informe a lista de ids ou o userId, mas não ambos."));
+    }
+
+    @Test
+    @DisplayName("Deve abrir o stream de eventos repassando o Last-Event-ID")
+    void streamTaskEvents_StartsAsyncStream() throws Exception {
+        when(taskEventStreams.open(1L, "a1b2c3d4-7")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/tasks/user/{userId}/events", 1L)
+                        .header("Last-Event-ID", "a1b2c3d4-7"))
+                .andExpect(request().asyncStarted());
+
+        verify(taskEventStreams, times(1)).open(1L, "a1b2c3d4-7");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 Not Found ao abrir o stream de um usuário inexistente")
+    void streamTaskEvents_ReturnsNotFound_WhenUserIdNotFound() throws Exception {
+        when(taskEventStreams.open(999L, null))
+                .thenThrow(new ResourceNotFoundException("Usuário não encontrado com o Id: 999"));
+
+        mockMvc.perform(get("/api/tasks/user/{userId}/events", 999L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Usuário não encontrado com o Id: 999"));
+    }
 }
@@ -2,6 +2,9 @@ package com.josewolf.task_api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.josewolf.task_api.dto.requestdto.UserRequestDTO;
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskCountsResponseDTO;
+import com.josewolf.task_api.dto.responsedto.UserDeletionResponseDTO;
 import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
 import com.josewolf.task_api.exceptions.ResourceNotFoundException;
 import com.josewolf.task_api.service.UserService;
@@ -37,7 +40,7 @@ public class UserControllerTest {
     @DisplayName("Deve retornar 201 Created ao criar um usuário")
     void createUser_ReturnsCreated() throws Exception {
         UserRequestDTO requestDTO = new UserRequestDTO("Teste", "teste@gmail.com");
-        UserResponseDTO responseDTO = new UserResponseDTO(1l, "Teste", "teste@gmail.com");
+        UserResponseDTO responseDTO = new UserResponseDTO(1l, "Teste", "teste@gmail.com", 0L);
 
         when(userService.createUser(any(UserRequestDTO.class))).thenReturn(responseDTO);
 
@@ -82,7 +85,7 @@ public class UserControllerTest {
     void getUserByUsername_ReturnOk_WhenUsernameExist() throws Exception {
         Long userId = 1L;
         String username = "Teste";
-        UserResponseDTO responseDTO = new UserResponseDTO(userId,username, "teste98@gmail.com");
+        UserResponseDTO responseDTO = new UserResponseDTO(userId,username, "teste98@gmail.com", 0L);
 
         when(userService.findByUsername(username)).thenReturn(responseDTO);
 
@@ -97,7 +100,7 @@ public class UserControllerTest {
     void getUserByEmail_ReturnOk_WhenEmailExist() throws Exception {
         Long userId = 1L;
         String email = "teste98@gmail.com";
-        UserResponseDTO responseDTO = new UserResponseDTO(userId,"Teste", email);
+        UserResponseDTO responseDTO = new UserResponseDTO(userId,"Teste", email, 0L);
 
         when(userService.findByEmail(email)).thenReturn(responseDTO);
 
@@ -110,18 +113,52 @@ public class UserControllerTest {
     @Test
     @DisplayName("Deve retornar 200 OK e os dados dos usuários")
     void getUserByAll_ReturnOk_WhenAllUsersExist() throws Exception {
-        UserResponseDTO responseDTO1 = new UserResponseDTO(1L,"Teste1", "teste98@gmail.com");
-        UserResponseDTO responseDTO2 = new UserResponseDTO(2L,"Teste2", "teste98@gmail.com");
+        UserResponseDTO responseDTO1 = new UserResponseDTO(1L,"Teste1", "teste98@gmail.com", 0L);
+        UserResponseDTO responseDTO2 = new UserResponseDTO(2L,"Teste2", "teste98@gmail.com", 0L);
 
-        when(userService.findAllUsers()).thenReturn(List.of(responseDTO1, responseDTO2));
+        when(userService.findAllUsers(null, null, null, null, false)).thenReturn(new CursorPageResponseDTO<>(List.of(responseDTO1, responseDTO2), null));
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(2))
-                .andExpect(jsonPath("$[0].username").value(responseDTO1.username()))
-                .andExpect(jsonPath("$[1].username").value(responseDTO2.username()))
-                .andExpect(jsonPath("$[0].email").value(responseDTO1.email()))
-                .andExpect(jsonPath("$[1].email").value(responseDTO2.email()));
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].username").value(responseDTO1.username()))
+                .andExpect(jsonPath("$.content[1].username").value(responseDTO2.username()))
+                .andExpect(jsonPath("$.content[0].email").value(responseDTO1.email()))
+                .andExpect(jsonPath("$.content[1].email").value(responseDTO2.email()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve repassar filtros, cursor e limite na listagem de usuários")
+    void getUserByAll_ReturnOk_WithFiltersAndCursor() throws Exception {
+        UserResponseDTO responseDTO = new UserResponseDTO(5L,"Teste5", "teste5@gmail.com", 0L);
+
+        when(userService.findAllUsers("Tes", "teste", 4L, 1, false)).thenReturn(new CursorPageResponseDTO<>(List.of(responseDTO), 5L));
+
+        mockMvc.perform(get("/api/users")
+                        .param("username", "Tes")
+                        .param("email", "teste")
+                        .param("after", "4")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].username").value(responseDTO.username()))
+                .andExpect(jsonPath("$.nextCursor").value(5));
+    }
+
+    @Test
+    @DisplayName("Deve incluir a contagem de tasks quando withTaskCounts for informado")
+    void getUserByAll_ReturnOk_WithTaskCounts() throws Exception {
+        UserResponseDTO responseDTO = new UserResponseDTO(1L, "Teste1", "teste1@gmail.com", 0L)
+                .withTaskCounts(new TaskCountsResponseDTO(3, 2));
+
+        when(userService.findAllUsers(null, null, null, null, true)).thenReturn(new CursorPageResponseDTO<>(List.of(responseDTO), null));
+
+        mockMvc.perform(get("/api/users")
+                        .param("withTaskCounts", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].taskCounts.pending").value(3))
+                .andExpect(jsonPath("$.content[0].taskCounts.completed").value(2));
     }
 
     @Test
@@ -155,12 +192,12 @@ public class UserControllerTest {
     @Test
     @DisplayName("Deve retornar 200 ok se não for encontrado usuários existentes")
     void getUserByAll_ReturnOk_WhenAllUsersNotExist() throws Exception {
-        when(userService.findAllUsers()).thenReturn(List.of());
+        when(userService.findAllUsers(null, null, null, null, false)).thenReturn(new CursorPageResponseDTO<>(List.of(), null));
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.size()").value(0));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content.size()").value(0));
     }
 
     //update
@@ -170,9 +207,9 @@ public class UserControllerTest {
     void updateUser_ReturnOk_WhenUserExists() throws Exception {
         Long userId = 1L;
         UserRequestDTO request = new UserRequestDTO("Novo Nome", "novo@email.com");
-        UserResponseDTO response = new UserResponseDTO(userId, "Novo Nome", "novo@email.com");
+        UserResponseDTO response = new UserResponseDTO(userId, "Novo Nome", "novo@email.com", 0L);
 
-        when(userService.updateUserById(eq(userId), any(UserRequestDTO.class))).thenReturn(response);
+        when(userService.updateUserById(eq(userId), isNull(), any(UserRequestDTO.class))).thenReturn(response);
 
         mockMvc.perform(patch("/api/users/" + userId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -189,7 +226,7 @@ public class UserControllerTest {
         Long userId = 999L;
         UserRequestDTO request = new UserRequestDTO("Novo Nome", "novo@email.com");
 
-        when(userService.updateUserById(eq(userId), any(UserRequestDTO.class))).thenThrow(new ResourceNotFoundException("Usuário não encontrado com o id: 999"));
+        when(userService.updateUserById(eq(userId), isNull(), any(UserRequestDTO.class))).thenThrow(new ResourceNotFoundException("Usuário não encontrado com o id: 999"));
 
         mockMvc.perform(patch("/api/users/" + userId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -205,7 +242,7 @@ public class UserControllerTest {
         Long userId = 1L;
         UserRequestDTO request = new UserRequestDTO("Novo Nome", "novo@email.com");
 
-        when(userService.updateUserById(eq(userId), any(UserRequestDTO.class))).thenThrow(new DataIntegrityViolationException("O nome de usuário já está em uso."));
+        when(userService.updateUserById(eq(userId), isNull(), any(UserRequestDTO.class))).thenThrow(new DataIntegrityViolationException("O nome de usuário já está em uso."));
 
         mockMvc.perform(patch("/api/users/" + userId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -221,7 +258,7 @@ public class UserControllerTest {
         Long userId = 1L;
         UserRequestDTO request = new UserRequestDTO("Novo Nome", "novo@email.com");
 
-        when(userService.updateUserById(eq(userId), any(UserRequestDTO.class))).thenThrow(new DataIntegrityViolationException("O email já está em uso."));
+        when(userService.updateUserById(eq(userId), isNull(), any(UserRequestDTO.class))).thenThrow(new DataIntegrityViolationException("O email já está em uso."));
 
         mockMvc.perform(patch("/api/users/" + userId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -233,14 +270,18 @@ public class UserControllerTest {
 
     //delete
     @Test
-    @DisplayName("Deve retornar 204 No Content quando o id for existente.")
-    void deleteUserById_ReturnNoContent_WhenIdExist() throws Exception {
+    @DisplayName("Deve retornar 202 Accepted e o andamento da exclusão quando o id for existente.")
+    void deleteUserById_ReturnAccepted_WhenIdExist() throws Exception {
         Long userId = 1L;
 
-        doNothing().when(userService).deleteUserById(userId);
+        when(userService.deleteUserById(userId)).thenReturn(UserDeletionResponseDTO.pending(userId));
 
         mockMvc.perform(delete("/api/users/" + userId))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/users/1/deletion"))
+                .andExpect(jsonPath("$.userId").value(1))
+                .andExpect(jsonPath("$.state").value("PENDING"))
+                .andExpect(jsonPath("$.finishedAt").doesNotExist());
 
         verify(userService, times(1)).deleteUserById(userId);
     }
@@ -250,12 +291,25 @@ public class UserControllerTest {
     void deleteUserById_ReturnNotFound_WhenIdNotExist() throws Exception {
         Long userId = 999L;
 
-        doThrow(new ResourceNotFoundException("Usuário não encontrado com o id: 999"))
-                .when(userService).deleteUserById(userId);
+        when(userService.deleteUserById(userId))
+                .thenThrow(new ResourceNotFoundException("Usuário não encontrado com o id: 999"));
 
         mockMvc.perform(delete("/api/users/" + userId))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").exists())
                 .andExpect(jsonPath("$.status").value(404));
     }
+
+    @Test
+    @DisplayName("Deve retornar 200 Ok com o andamento da exclusão do usuário.")
+    void getDeletionStatus_ReturnOk() throws Exception {
+        Long userId = 1L;
+
+        when(userService.findDeletionStatus(userId)).thenReturn(UserDeletionResponseDTO.pending(userId).running(2000));
+
+        mockMvc.perform(get("/api/users/" + userId + "/deletion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.tasksDeleted").value(2000));
+    }
 }
@@ -0,0 +1,150 @@
+package com.josewolf.task_api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.josewolf.task_api.dto.TaskStatusRequestDTO;
+import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import com.josewolf.task_api.dto.requestdto.UserRequestDTO;
+import com.josewolf.task_api.model.TaskStatus;
+import com.josewolf.task_api.repository.TaskRepository;
+import com.josewolf.task_api.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sem @Transactional: o cache de segundo nível só recebe o que foi confirmado, então cada requisição precisa fazer commit.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EntityCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Long userId;
+
+    @AfterEach
+    void tearDown() {
+        if (userId != null) {
+            transactionTemplate.executeWithoutResult(tx -> {
+                taskRepository.deleteByUserId(userId);
+                userRepository.deleteById(userId);
+            });
+        }
+    }
+
+    private Long createAndGetId(String path, Object request) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").longValue();
+    }
+
+    @Test
+    @DisplayName("Deve ler a task do cache de segundo nível nas atualizações condicionais e manter a versão correta")
+    void updateStatus_IntegrationReadsTaskFromEntityCache() throws Exception {
+        userId = createAndGetId("/api/users", new UserRequestDTO("cache_user", "cache_user@gmail.com"));
+        Long taskId = createAndGetId("/api/tasks", new TaskRequestDTO("Teste", "teste", userId));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "\"0\"")
+                        .content(objectMapper.writeValueAsString(new TaskStatusRequestDTO(TaskStatus.COMPLETED, null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "\"1\"")
+                        .content(objectMapper.writeValueAsString(new TaskStatusRequestDTO(TaskStatus.PENDING, TaskStatus.COMPLETED))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taskStatus").value("PENDING"))
+                .andExpect(jsonPath("$.version").value(2));
+
+        CacheRegionStatistics tasks = statistics.getDomainDataRegionStatistics("tasks");
+        assertTrue(tasks.getHitCount() >= 1, "As atualizações condicionais deveriam ler a task do cache");
+        assertEquals(2, statistics.getEntityStatistics("com.josewolf.task_api.model.Task").getUpdateCount());
+
+        mockMvc.perform(get("/actuator/querystats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cacheRegions[?(@.region == 'tasks')].hitCount").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 412 a atualização com If-Match de uma versão que já saiu do cache")
+    void updateStatus_IntegrationRejectsStaleVersion() throws Exception {
+        userId = createAndGetId("/api/users", new UserRequestDTO("cache_stale", "cache_stale@gmail.com"));
+        Long taskId = createAndGetId("/api/tasks", new TaskRequestDTO("Teste", "teste", userId));
+
+        mockMvc.perform(put("/api/tasks/{id}", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequestDTO("Novo", "novo", userId))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "\"0\"")
+                        .content(objectMapper.writeValueAsString(new TaskStatusRequestDTO(TaskStatus.COMPLETED, null))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar sem ler a task as atualizações sem If-Match, mesmo com a versão em cache desatualizada")
+    void update_IntegrationUnconditionalWritesAlwaysSucceed() throws Exception {
+        userId = createAndGetId("/api/users", new UserRequestDTO("cache_blind", "cache_blind@gmail.com"));
+        Long taskId = createAndGetId("/api/tasks", new TaskRequestDTO("Teste", "teste", userId));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (int version = 1; version <= 3; version++) {
+            mockMvc.perform(put("/api/tasks/{id}", taskId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new TaskRequestDTO("Novo " + version, "novo", userId))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.version").value(version));
+        }
+
+        assertEquals(0, statistics.getEntityStatistics("com.josewolf.task_api.model.Task").getLoadCount());
+
+        mockMvc.perform(delete("/api/tasks/{id}", taskId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/tasks/{id}", taskId))
+                .andExpect(status().isNotFound());
+    }
+}
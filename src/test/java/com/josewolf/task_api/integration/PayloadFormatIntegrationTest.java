@@ -0,0 +1,158 @@
+package com.josewolf.task_api.integration;
+
+import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import com.josewolf.task_api.dto.requestdto.UserRequestDTO;
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class PayloadFormatIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper cborMapper = CBORMapper.builder().build();
+    private final ObjectMapper smileMapper = SmileMapper.builder().build();
+
+    private JsonNode createUser(ObjectMapper mapper, MediaType mediaType, String name) throws Exception {
+        byte[] response = mockMvc.perform(post("/api/users")
+                        .contentType(mediaType)
+                        .accept(mediaType)
+                        .content(mapper.writeValueAsBytes(new UserRequestDTO(name, name + "@gmail.com"))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+        return mapper.readTree(response);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar e responder CBOR quando o Content-Type e o Accept pedirem application/cbor")
+    void createTask_IntegrationReadsAndWritesCbor() throws Exception {
+        JsonNode user = createUser(cborMapper, MediaType.APPLICATION_CBOR, "cbor_user");
+        Long userId = user.get("id").asLong();
+        assertEquals("cbor_user", user.get("username").asString());
+
+        byte[] response = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(new TaskRequestDTO("Binário", "Corpo em CBOR", userId))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TaskResponseDTO task = cborMapper.readValue(response, TaskResponseDTO.class);
+        assertEquals("Binário", task.title());
+        assertEquals(userId, task.userId());
+    }
+
+    @Test
+    @DisplayName("Deve listar as tasks do usuário em Smile e variar a resposta pelo Accept")
+    void getTasksByUserId_IntegrationWritesSmile() throws Exception {
+        Long userId = createUser(smileMapper, SMILE, "smile_user").get("id").asLong();
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(SMILE)
+                        .content(smileMapper.writeValueAsBytes(new TaskRequestDTO("Smile", "Corpo em Smile", userId))))
+                .andExpect(status().isCreated());
+
+        byte[] response = mockMvc.perform(get("/api/tasks/user/{userId}", userId).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = smileMapper.readTree(response);
+        assertEquals("Smile", page.get("content").get(0).get("title").asString());
+    }
+
+    @Test
+    @DisplayName("Deve usar uma ETag diferente por formato na lista de tasks e não responder 304 com a ETag de outro formato")
+    void getTasksByUserId_IntegrationUsesETagPerFormat() throws Exception {
+        Long userId = createUser(cborMapper, MediaType.APPLICATION_CBOR, "etag_format_user").get("id").asLong();
+
+        String jsonEtag = mockMvc.perform(get("/api/tasks/user/{userId}", userId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cborEtag = mockMvc.perform(get("/api/tasks/user/{userId}", userId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotNull(jsonEtag);
+        assertEquals(jsonEtag.substring(0, jsonEtag.length() - 1) + "-cbor\"", cborEtag);
+
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId).accept(SMILE, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, jsonEtag.substring(0, jsonEtag.length() - 1) + "-smile\""));
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId).header(HttpHeaders.ACCEPT, "application/*;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, cborEtag));
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, jsonEtag));
+    }
+
+    @Test
+    @DisplayName("Deve manter JSON como formato padrão quando o cliente não pedir um formato")
+    void getByUserName_IntegrationDefaultsToJson() throws Exception {
+        createUser(cborMapper, MediaType.APPLICATION_CBOR, "default_user");
+
+        mockMvc.perform(get("/api/users/search").param("username", "default_user"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.username").value("default_user"));
+
+        mockMvc.perform(get("/api/users/search").param("username", "default_user").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Deve responder os erros de validação no formato pedido pelo Accept")
+    void createTask_IntegrationWritesErrorsInCbor() throws Exception {
+        byte[] response = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(new TaskRequestDTO("", "", null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(400, cborMapper.readTree(response).get("status").asInt());
+    }
+}
@@ -0,0 +1,157 @@
+package com.josewolf.task_api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.josewolf.task_api.dto.TaskStatusRequestDTO;
+import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import com.josewolf.task_api.dto.requestdto.UserRequestDTO;
+import com.josewolf.task_api.model.TaskStatus;
+import com.josewolf.task_api.repository.TaskRepository;
+import com.josewolf.task_api.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sem @Transactional: os eventos só são publicados após o commit de cada requisição.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskEventsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Long userId;
+
+    @AfterEach
+    void tearDown() {
+        if (userId != null) {
+            transactionTemplate.executeWithoutResult(tx -> {
+                taskRepository.deleteByUserId(userId);
+                userRepository.deleteById(userId);
+            });
+        }
+    }
+
+    private Long createAndGetId(String path, Object request) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").longValue();
+    }
+
+    private MockHttpServletResponse openStream(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    // Os eventos são enviados por outra thread: espera até o conteúdo esperado chegar ao stream.
+    private static String awaitContent(MockHttpServletResponse stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            String content = stream.getContentAsString(StandardCharsets.UTF_8);
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(20);
+        }
+        return fail("O stream não recebeu: " + expected + "\n" + stream.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private static String idOfEventWithTask(String content, Long taskId) {
+        List<String> events = List.of(content.split("\n\n"));
+        return events.stream()
+                .filter(event -> event.contains("\"taskId\":" + taskId + ","))
+                .findFirst()
+                .flatMap(event -> event.lines().filter(line -> line.startsWith("id:")).findFirst())
+                .map(line -> line.substring("id:".length()))
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Deve enviar ao stream os eventos de criação, mudança de status e exclusão das tasks do usuário")
+    void streamTaskEvents_IntegrationSendsTaskChanges() throws Exception {
+        userId = createAndGetId("/api/users", new UserRequestDTO("events_user", "events_user@gmail.com"));
+        MockHttpServletResponse stream = openStream(get("/api/tasks/user/{userId}/events", userId));
+
+        Long taskId = createAndGetId("/api/tasks", new TaskRequestDTO("Teste", "teste", userId));
+        mockMvc.perform(patch("/api/tasks/{id}/status", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskStatusRequestDTO(TaskStatus.COMPLETED, null))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tasks/{id}", taskId))
+                .andExpect(status().isNoContent());
+
+        String content = awaitContent(stream, "event:deleted");
+        assertTrue(content.indexOf("event:created") < content.indexOf("event:status-changed"));
+        assertTrue(content.indexOf("event:status-changed") < content.indexOf("event:deleted"));
+        assertTrue(content.contains("\"taskStatus\":\"COMPLETED\""));
+    }
+
+    @Test
+    @DisplayName("Deve reenviar apenas os eventos posteriores ao Last-Event-ID ao reconectar")
+    void streamTaskEvents_IntegrationResumesFromLastEventId() throws Exception {
+        userId = createAndGetId("/api/users", new UserRequestDTO("events_resume", "events_resume@gmail.com"));
+        MockHttpServletResponse first = openStream(get("/api/tasks/user/{userId}/events", userId));
+
+        Long firstTaskId = createAndGetId("/api/tasks", new TaskRequestDTO("Primeira", "teste", userId));
+        Long secondTaskId = createAndGetId("/api/tasks", new TaskRequestDTO("Segunda", "teste", userId));
+        String lastEventId = idOfEventWithTask(awaitContent(first, "\"taskId\":" + secondTaskId + ","), firstTaskId);
+
+        MockHttpServletResponse resumed = openStream(get("/api/tasks/user/{userId}/events", userId)
+                .header("Last-Event-ID", lastEventId));
+
+        String content = awaitContent(resumed, "\"taskId\":" + secondTaskId + ",");
+        assertFalse(content.contains("\"taskId\":" + firstTaskId + ","));
+    }
+
+    @Test
+    @DisplayName("Deve enviar resync ao reconectar com um Last-Event-ID que não está na janela de replay")
+    void streamTaskEvents_IntegrationSendsResyncForUnknownEventId() throws Exception {
+        userId = createAndGetId("/api/users", new UserRequestDTO("events_resync", "events_resync@gmail.com"));
+
+        MockHttpServletResponse stream = openStream(get("/api/tasks/user/{userId}/events", userId)
+                .header("Last-Event-ID", "reinicio-42"));
+
+        awaitContent(stream, "event:resync");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao abrir o stream de um usuário inexistente")
+    void streamTaskEvents_IntegrationUserNotFound() throws Exception {
+        mockMvc.perform(get("/api/tasks/user/{userId}/events", 999_999L))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -2,11 +2,14 @@ package com.josewolf.task_api.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.josewolf.task_api.dto.TaskStatusRequestDTO;
+import com.josewolf.task_api.dto.requestdto.TaskBulkStatusRequestDTO;
 import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
 import com.josewolf.task_api.dto.requestdto.UserRequestDTO;
 import com.josewolf.task_api.model.TaskStatus;
 import com.josewolf.task_api.repository.TaskRepository;
 import com.josewolf.task_api.repository.UserRepository;
+import com.josewolf.task_api.service.TaskListVersions;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,11 +17,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +49,12 @@ public class TaskIntegrationTest {
     @Autowired
     private UserRepository  userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private Long criarUtilizadorEObterId() throws Exception {
@@ -91,6 +108,48 @@ public class TaskIntegrationTest {
         assertEquals(0, taskRepository.count());
     }
 
+    @Test
+    @DisplayName("Deve retornar status 404 ao criar task para um usuário marcado como excluído e ainda não removido")
+    void createTask_IntegrationNotFound_WhenUserIsMarkedAsDeleted() throws Exception {
+        Long userId = criarUtilizadorEObterId();
+        // Simula a exclusão feita por outra instância, sem limpeza registrada nesta.
+        userRepository.markDeleted(userId);
+
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste", "teste", userId))))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/users/" + userId + "/deletion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("PENDING"));
+
+        assertEquals(0, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Não deve listar nem atualizar tasks de um usuário marcado como excluído e ainda não removido")
+    void getAllTasks_IntegrationHidesTasks_WhenUserIsMarkedAsDeleted() throws Exception {
+        Long userId = criarUtilizadorEObterId();
+        String responseJson = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste", "teste", userId))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(responseJson).get("id").asLong();
+        // Simula a exclusão feita por outra instância, sem limpeza registrada nesta.
+        userRepository.markDeleted(userId);
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(0));
+
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequestDTO("Nova", "teste", userId))))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Deve retornar status 400 quando a descrição está vazia")
     void createTask_IntegrationBadRequest_WhenDescriptionIsBlank() throws Exception {
@@ -125,6 +184,33 @@ public class TaskIntegrationTest {
         assertEquals(0, taskRepository.count());
     }
 
+    @Test
+    @DisplayName("Deve criar tasks em lote e informar o resultado de cada item")
+    void createTasks_IntegrationMultiStatus() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        List<TaskRequestDTO> requestDTOS = List.of(
+                new TaskRequestDTO("Teste1", "teste1", userId),
+                new TaskRequestDTO("", "teste2", userId),
+                new TaskRequestDTO("Teste3", "teste3", 999L),
+                new TaskRequestDTO("Teste4", "teste4", userId));
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTOS)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].task.title").value("Teste1"))
+                .andExpect(jsonPath("$.results[1].status").value(400))
+                .andExpect(jsonPath("$.results[2].status").value(404))
+                .andExpect(jsonPath("$.results[3].status").value(201))
+                .andExpect(jsonPath("$.results[3].task.userId").value(userId));
+
+        assertEquals(2, taskRepository.count());
+    }
+
     //read
     @Test
     @DisplayName("Deve listar todas as tarefas existentes e retornar status 200")
@@ -147,24 +233,56 @@ public class TaskIntegrationTest {
 
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(2))
-                .andExpect(jsonPath("$[0].userId").value(requestDTO.userId()))
-                .andExpect(jsonPath("$[1].userId").value(requestDTO2.userId()))
-                .andExpect(jsonPath("$[0].title").value(requestDTO.title()))
-                .andExpect(jsonPath("$[1].title").value(requestDTO2.title()))
-                .andExpect(jsonPath("$[0].description").value(requestDTO.description()))
-                .andExpect(jsonPath("$[1].description").value(requestDTO2.description()));
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].userId").value(requestDTO.userId()))
+                .andExpect(jsonPath("$.content[1].userId").value(requestDTO2.userId()))
+                .andExpect(jsonPath("$.content[0].title").value(requestDTO.title()))
+                .andExpect(jsonPath("$.content[1].title").value(requestDTO2.title()))
+                .andExpect(jsonPath("$.content[0].description").value(requestDTO.description()))
+                .andExpect(jsonPath("$.content[1].description").value(requestDTO2.description()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
         assertEquals(2, taskRepository.count());
     }
 
+    @Test
+    @DisplayName("Deve paginar as tarefas pelo cursor e retornar status 200")
+    void getAllTasks_IntegrationSuccess_WhenPaginatedByCursor() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste" + i, "teste" + i, userId))))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/tasks").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Teste1"))
+                .andExpect(jsonPath("$.content[1].title").value("Teste2"))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        long nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asLong();
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("limit", "2")
+                        .param("after", String.valueOf(nextCursor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Teste3"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     @DisplayName("Deve retornar status 200 para uma lista vazia")
     void getAllTasks_IntegrationSuccess_WhenListIsEmpty() throws Exception {
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.size()").value(0));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content.size()").value(0));
 
         assertEquals(0, taskRepository.count(), "O banco de dados deveria estar vazio");
     }
@@ -190,17 +308,76 @@ public class TaskIntegrationTest {
 
         mockMvc.perform(get("/api/tasks/user/" + userId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(2))
-                .andExpect(jsonPath("$[0].userId").value(requestDTO.userId()))
-                .andExpect(jsonPath("$[1].userId").value(requestDTO2.userId()))
-                .andExpect(jsonPath("$[0].title").value(requestDTO.title()))
-                .andExpect(jsonPath("$[1].title").value(requestDTO2.title()))
-                .andExpect(jsonPath("$[0].description").value(requestDTO.description()))
-                .andExpect(jsonPath("$[1].description").value(requestDTO2.description()));
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].userId").value(requestDTO2.userId()))
+                .andExpect(jsonPath("$.content[1].userId").value(requestDTO.userId()))
+                .andExpect(jsonPath("$.content[0].title").value(requestDTO2.title()))
+                .andExpect(jsonPath("$.content[1].title").value(requestDTO.title()))
+                .andExpect(jsonPath("$.content[0].description").value(requestDTO2.description()))
+                .andExpect(jsonPath("$.content[1].description").value(requestDTO.description()));
 
         assertEquals(2, taskRepository.count());
     }
 
+    @Test
+    @DisplayName("Deve filtrar as tasks do usuário pelo status e paginar da mais recente para a mais antiga")
+    void getAllTasks_IntegrationSuccess_WhenFindByUserIdAndStatus() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+        long[] taskIds = new long[3];
+
+        for (int i = 0; i < 3; i++) {
+            String responseJson = mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste" + i, "teste" + i, userId))))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            taskIds[i] = objectMapper.readTree(responseJson).get("id").asLong();
+        }
+
+        mockMvc.perform(patch("/api/tasks/" + taskIds[1] + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskStatusRequestDTO(TaskStatus.COMPLETED, null))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/user/" + userId).param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(taskIds[1]));
+
+        mockMvc.perform(get("/api/tasks/user/" + userId)
+                        .param("status", "PENDING")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(taskIds[2]))
+                .andExpect(jsonPath("$.nextCursor").value(taskIds[2]));
+
+        mockMvc.perform(get("/api/tasks/user/" + userId)
+                        .param("status", "PENDING")
+                        .param("limit", "1")
+                        .param("before", String.valueOf(taskIds[2])))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(taskIds[0]))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 200 e uma página vazia se o usuário existir sem tasks")
+    void getAllTasksById_IntegrationSuccess_WhenUserHasNoTasks() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        mockMvc.perform(get("/api/tasks/user/" + userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content.size()").value(0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks/user/" + userId).param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(0));
+    }
+
     @Test
     @DisplayName("Deve retornar status 404 se o usuário não existir")
     void getAllTasksById_IntegrationFailed_WhenNotFoundUserId() throws Exception {
@@ -214,6 +391,217 @@ public class TaskIntegrationTest {
         assertEquals(0, taskRepository.count(), "Não deve existir tarefas, porque usuário não existe");
     }
 
+    @Test
+    @DisplayName("Deve contar as tasks do usuário por status e incluí-las na listagem de usuários")
+    void getTaskCountsByUserId_IntegrationSuccess() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+        Long[] taskIds = new Long[3];
+
+        for (int i = 0; i < taskIds.length; i++) {
+            String responseJson = mockMvc.perform(post("/api/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste " + i, "teste", userId))))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            taskIds[i] = objectMapper.readTree(responseJson).get("id").asLong();
+        }
+
+        mockMvc.perform(patch("/api/tasks/" + taskIds[0] + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskStatusRequestDTO(TaskStatus.COMPLETED, null))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/user/" + userId + "/counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pending").value(2))
+                .andExpect(jsonPath("$.completed").value(1));
+
+        mockMvc.perform(get("/api/users").param("withTaskCounts", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(userId))
+                .andExpect(jsonPath("$.content[0].taskCounts.pending").value(2))
+                .andExpect(jsonPath("$.content[0].taskCounts.completed").value(1));
+
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].taskCounts").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve retornar contagens zeradas para usuário sem tasks e 404 para usuário inexistente")
+    void getTaskCountsByUserId_IntegrationSuccess_WhenUserHasNoTasks() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        mockMvc.perform(get("/api/tasks/user/" + userId + "/counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pending").value(0))
+                .andExpect(jsonPath("$.completed").value(0));
+
+        mockMvc.perform(get("/api/tasks/user/999/counts"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    // Sem a transação do teste: o índice de busca só é atualizado após o commit.
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    @DisplayName("Deve buscar as tasks por conteúdo e refletir alterações e exclusões")
+    void searchTasks_IntegrationSuccess() throws Exception {
+        try {
+            Long userId = criarUtilizadorEObterId();
+            Long[] taskIds = new Long[2];
+            TaskRequestDTO[] requests = {
+                    new TaskRequestDTO("Enviar relatório", "Relatório mensal do financeiro", userId),
+                    new TaskRequestDTO("Comprar café", "Passar no mercado depois do relatório", userId)
+            };
+
+            for (int i = 0; i < requests.length; i++) {
+                String responseJson = mockMvc.perform(post("/api/tasks")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(requests[i])))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString();
+                taskIds[i] = objectMapper.readTree(responseJson).get("id").asLong();
+            }
+
+            mockMvc.perform(get("/api/tasks/search").param("q", "RELATORIO").param("userId", String.valueOf(userId)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.size()").value(2))
+                    .andExpect(jsonPath("$.content[0].id").value(taskIds[0]))
+                    .andExpect(jsonPath("$.content[1].id").value(taskIds[1]));
+
+            mockMvc.perform(put("/api/tasks/" + taskIds[1])
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new TaskRequestDTO("Comprar café", "Passar na padaria", userId))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/api/tasks/" + taskIds[0]))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/tasks/search").param("q", "relatório"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.size()").value(0));
+            mockMvc.perform(get("/api/tasks/search").param("q", "padaria"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(taskIds[1]));
+        } finally {
+            taskRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    @DisplayName("Deve responder 304 enquanto as tasks do usuário não mudarem")
+    void getAllTasksById_IntegrationNotModified_UntilTasksChange() throws Exception {
+        try {
+            Long userId = criarUtilizadorEObterId();
+
+            String etag = mockMvc.perform(get("/api/tasks/user/" + userId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/tasks/user/" + userId).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+
+            mockMvc.perform(post("/api/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste", "teste", userId))))
+                    .andExpect(status().isCreated());
+
+            String newEtag = mockMvc.perform(get("/api/tasks/user/" + userId).header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.size()").value(1))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            assertNotEquals(etag, newEtag);
+        } finally {
+            taskRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve responder 304 depois de uma escrita registrada no banco por outra instância")
+    void getAllTasksById_IntegrationModified_WhenAnotherInstanceWrites() throws Exception {
+        Long userId = criarUtilizadorEObterId();
+
+        String etag = mockMvc.perform(get("/api/tasks/user/" + userId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        // Outra instância lê a mesma versão, sem estado em memória compartilhado.
+        assertEquals(etag, new TaskListVersions(userRepository).etag(userId).orElseThrow());
+
+        // Simula a escrita de uma task feita por outra instância: só o banco muda.
+        userRepository.incrementTasksVersions(List.of(userId));
+
+        mockMvc.perform(get("/api/tasks/user/" + userId).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 412 a alteração feita sobre uma versão antiga e com 409 a troca de status fora do status esperado")
+    void updateTask_IntegrationPreconditionFailed_WhenVersionIsStale() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        String responseJson = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste", "teste", userId))))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(responseJson).get("id").asLong();
+
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequestDTO("Primeira", "teste", userId))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequestDTO("Segunda", "teste", userId))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskStatusRequestDTO(TaskStatus.COMPLETED, TaskStatus.PENDING))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2));
+
+        mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskStatusRequestDTO(TaskStatus.COMPLETED, TaskStatus.PENDING))))
+                .andExpect(status().isConflict());
+
+        assertEquals("Primeira", taskRepository.findById(taskId).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Deve conferir a versão no banco antes de recusar com 412 quando a task lida está desatualizada")
+    void updateTask_IntegrationSuccess_WhenCachedVersionIsBehindDatabase() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        String responseJson = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste", "teste", userId))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(responseJson).get("id").asLong();
+        taskRepository.findById(taskId).orElseThrow();
+
+        // Simula a escrita de outra instância: só o banco muda, a task lida antes continua na versão 0.
+        jdbcTemplate.update("update tasks set title = 'Outra instância', version = version + 1 where id = ?", taskId);
+
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequestDTO("Nova", "teste", userId))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+    }
+
     //update
     @Test
     @DisplayName("Deve atualizar os campos e retornar status 200")
@@ -299,7 +687,7 @@ public class TaskIntegrationTest {
 
         Long taskId = objectMapper.readTree(responseJson).get("id").asLong();
 
-        TaskStatusRequestDTO taskStatusRequestDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED);
+        TaskStatusRequestDTO taskStatusRequestDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED, null);
 
         mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -324,7 +712,7 @@ public class TaskIntegrationTest {
 
         Long taskId = objectMapper.readTree(responseJson).get("id").asLong();
 
-        TaskStatusRequestDTO taskStatusRequestDTO = new TaskStatusRequestDTO(null);
+        TaskStatusRequestDTO taskStatusRequestDTO = new TaskStatusRequestDTO(null, null);
 
         mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -342,7 +730,7 @@ public class TaskIntegrationTest {
 
         TaskRequestDTO updateRequest = new TaskRequestDTO("Novo Titulo", "Nova Descrição", userId);
 
-        TaskStatusRequestDTO taskStatusRequestDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED);
+        TaskStatusRequestDTO taskStatusRequestDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED, null);
 
         mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -352,6 +740,68 @@ public class TaskIntegrationTest {
                 .andExpect(jsonPath("$.status").value(404));
     }
 
+    @Test
+    @DisplayName("Deve atualizar o status das tasks do usuário em lote e retornar a quantidade alterada")
+    void updateTasksStatus_IntegrationSuccess_WhenFilteredByUserId() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste" + i, "teste" + i, userId))))
+                    .andExpect(status().isCreated());
+        }
+
+        TaskBulkStatusRequestDTO requestDTO = new TaskBulkStatusRequestDTO(null, userId, TaskStatus.PENDING, TaskStatus.COMPLETED);
+
+        mockMvc.perform(patch("/api/tasks/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+
+        mockMvc.perform(patch("/api/tasks/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(0));
+
+        mockMvc.perform(get("/api/tasks/user/" + userId).param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o status apenas das tasks informadas por id")
+    void updateTasksStatus_IntegrationSuccess_WhenFilteredByIds() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        String responseJson = mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste", "teste", userId))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(responseJson).get("id").asLong();
+
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste2", "teste2", userId))))
+                .andExpect(status().isCreated());
+
+        TaskBulkStatusRequestDTO requestDTO = new TaskBulkStatusRequestDTO(Set.of(taskId, 999L), null, null, TaskStatus.COMPLETED);
+
+        mockMvc.perform(patch("/api/tasks/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        mockMvc.perform(get("/api/tasks/user/" + userId).param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(taskId));
+    }
+
     //Delete
 
     @Test
@@ -396,4 +846,93 @@ public class TaskIntegrationTest {
 
         assertEquals(1, taskRepository.count(), "A tarefa deve ser deletada");
     }
+
+    @Test
+    @DisplayName("Deve deletar em lote as tasks do usuário com o status informado")
+    void deleteTasks_IntegrationSuccess_WhenFilteredByUserIdAndStatus() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste" + i, "teste" + i, userId))))
+                    .andExpect(status().isCreated());
+        }
+        Long completedId = taskRepository.findAll().get(0).getId();
+
+        mockMvc.perform(patch("/api/tasks/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new TaskBulkStatusRequestDTO(Set.of(completedId), null, null, TaskStatus.COMPLETED))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/tasks")
+                .param("userId", userId.toString())
+                .param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        assertEquals(2, taskRepository.count());
+        assertFalse(taskRepository.existsById(completedId));
+    }
+
+    @Test
+    @DisplayName("Deve deletar em lote apenas as tasks existentes entre os ids informados")
+    void deleteTasks_IntegrationSuccess_WhenFilteredByIds() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        for (int i = 1; i <= 2; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste" + i, "teste" + i, userId))))
+                    .andExpect(status().isCreated());
+        }
+        Long taskId = taskRepository.findAll().get(0).getId();
+
+        mockMvc.perform(delete("/api/tasks")
+                .param("ids", taskId + ",999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve medir as chamadas ao TaskService e ao TaskRepository feitas por um endpoint")
+    void createTask_IntegrationRecordsServiceAndRepositoryTimers() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste", "teste", userId))))
+                .andExpect(status().isCreated());
+
+        assertTrue(meterRegistry.get("taskapi.service").tag("class", "TaskService").tag("method", "createTask")
+                .tag("exception", "none").timer().count() >= 1);
+        assertTrue(meterRegistry.get("taskapi.repository").tag("class", "TaskRepository").tag("method", "saveAndFlush")
+                .tag("exception", "none").timer().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Deve expor as estatísticas das consultas do Hibernate sem permitir zerá-las por padrão")
+    void queryStats_IntegrationReportsQueriesAndRejectsReset() throws Exception {
+        Long userId  = criarUtilizadorEObterId();
+
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/querystats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.queries").isNotEmpty())
+                .andExpect(jsonPath("$.queries[0].executionCount").isNumber())
+                .andExpect(jsonPath("$.entities").isNotEmpty());
+
+        mockMvc.perform(delete("/actuator/querystats"))
+                .andExpect(status().isMethodNotAllowed());
+
+        mockMvc.perform(get("/actuator/querystats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queries").isNotEmpty());
+    }
 }
@@ -1,7 +1,9 @@
 package com.josewolf.task_api.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
 import com.josewolf.task_api.dto.requestdto.UserRequestDTO;
+import com.josewolf.task_api.repository.TaskRepository;
 import com.josewolf.task_api.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +18,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -32,6 +35,9 @@ public class UserIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -48,10 +54,10 @@ public class UserIntegrationTest {
                 .andExpect(jsonPath("$.username").value("Teste"))
                 .andExpect(jsonPath("$.email").value("teste@gmail.com"));
 
-        var userOptional = userRepository.findByEmail("teste@gmail.com");
+        var userOptional = userRepository.findResponseByEmail("teste@gmail.com");
 
         assertTrue(userOptional.isPresent(), "O usuário deveria ter sido persistido no H2");
-        assertEquals("Teste", userOptional.get().getUsername());
+        assertEquals("Teste", userOptional.get().username());
     }
 
     @Test
@@ -79,12 +85,33 @@ public class UserIntegrationTest {
                         .content(objectMapper.writeValueAsString(userRequestDTO)))
                 .andExpect(status().isBadRequest());
 
-        var userOptional = userRepository.findByUsername("");
+        var userOptional = userRepository.findResponseByUsername("");
 
         assertTrue(userOptional.isEmpty(), "O banco deveria estar vazio");
         assertEquals(0, userRepository.count(), "Não deveria existir nenhum registro");
     }
 
+    @Test
+    @DisplayName("Deve retornar 409 conflict ao cadastrar username ou email já utilizados")
+    void createUser_IntegrationConflict_WhenUsernameOrEmailExists() throws Exception {
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRequestDTO("Teste", "teste@gmail.com"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRequestDTO("Teste", "outro@gmail.com"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("O nome de usuário 'Teste' já está sendo utilizado."));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRequestDTO("Outro", "teste@gmail.com"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("O e-mail 'teste@gmail.com' já pertence a outra conta."));
+    }
+
     //Read
 
     @Test
@@ -106,11 +133,49 @@ public class UserIntegrationTest {
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(2))
-                .andExpect(jsonPath("$[0].username").value(requestDTO.username()))
-                .andExpect(jsonPath("$[0].email").value(requestDTO.email()))
-                .andExpect(jsonPath("$[1].username").value(requestDTO2.username()))
-                .andExpect(jsonPath("$[1].email").value(requestDTO2.email()));
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].username").value(requestDTO.username()))
+                .andExpect(jsonPath("$.content[0].email").value(requestDTO.email()))
+                .andExpect(jsonPath("$.content[1].username").value(requestDTO2.username()))
+                .andExpect(jsonPath("$.content[1].email").value(requestDTO2.email()));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar usuários pelo prefixo e paginar pelo cursor")
+    void getAllUsers_IntegrationSuccess_WhenFilteredAndPaginated() throws Exception {
+        for (String username : new String[]{"Ana", "Antonio", "Bruno", "Andre"}) {
+            mockMvc.perform(post("/api/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UserRequestDTO(username, username.toLowerCase() + "@gmail.com"))))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/users")
+                        .param("username", "An")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].username").value("Ana"))
+                .andExpect(jsonPath("$.content[1].username").value("Antonio"))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        long nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asLong();
+
+        mockMvc.perform(get("/api/users")
+                        .param("username", "An")
+                        .param("limit", "2")
+                        .param("after", String.valueOf(nextCursor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].username").value("Andre"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/users")
+                        .param("email", "bru"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].username").value("Bruno"));
     }
 
     @Test
@@ -199,6 +264,36 @@ public class UserIntegrationTest {
                 .andExpect(jsonPath("$.email").value(newRequestDTO.email()));
     }
 
+    @Test
+    @DisplayName("Deve retornar 412 se o usuário foi alterado desde a versão do If-Match")
+    void updateUserById_IntegrationPreconditionFailed_WhenVersionIsStale() throws Exception {
+        String responseJson = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRequestDTO("Teste", "teste@gmail.com"))))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readTree(responseJson).get("id").asLong();
+
+        mockMvc.perform(patch("/api/users/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRequestDTO("Teste2", null))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(patch("/api/users/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRequestDTO("Teste3", null))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+
+        mockMvc.perform(get("/api/users/search").param("username", "Teste2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+
     @Test
     @DisplayName("Deve retornar 404 not found se não for encontrado o Id do usuário")
     void updateUserById_IntegrationNotFound_WhenIdIsInvalid() throws Exception {
@@ -247,7 +342,7 @@ public class UserIntegrationTest {
                         .content(objectMapper.writeValueAsString(updateRequestDTO)))
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.status").value(409))
-                .andExpect(jsonPath("$.message").exists());
+                .andExpect(jsonPath("$.message").value("O nome de usuário já está em uso."));
     }
 
     @Test
@@ -280,12 +375,44 @@ public class UserIntegrationTest {
                         .content(objectMapper.writeValueAsString(updateRequestDTO)))
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.status").value(409))
-                .andExpect(jsonPath("$.message").exists());
+                .andExpect(jsonPath("$.message").value("O email já está em uso."));
+    }
+
+    @Test
+    @DisplayName("Não deve encontrar o usuário pelo username antigo depois da atualização")
+    void updateUserById_IntegrationEvictsCachedUsername() throws Exception {
+        String responseJson = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRequestDTO("Teste", "teste@gmail.com"))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Long userId = objectMapper.readTree(responseJson).get("id").asLong();
+
+        mockMvc.perform(get("/api/users/search").param("username", "Teste"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/search/email").param("email", "teste@gmail.com"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/users/" + userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRequestDTO("Novo", "novo@gmail.com"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/search").param("username", "Teste"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/users/search/email").param("email", "teste@gmail.com"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/users/search").param("username", "Novo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("novo@gmail.com"));
     }
 
     //Delete
     @Test
-    @DisplayName("Deve deletar o usuário no banco de dados e retornar 204 no content")
+    @DisplayName("Deve deletar o usuário no banco de dados e retornar 202 accepted")
     void deleteUser_IntegrationSuccess() throws Exception {
 
         UserRequestDTO requestDTO = new UserRequestDTO("Teste", "teste@gmail.com");
@@ -301,7 +428,8 @@ public class UserIntegrationTest {
         Long idParaDeletar = objectMapper.readTree(responseJson).get("id").asLong();
 
         mockMvc.perform(delete("/api/users/" + idParaDeletar))
-                        .andExpect(status().isNoContent());
+                        .andExpect(status().isAccepted())
+                        .andExpect(jsonPath("$.state").value("COMPLETED"));
 
         assertEquals(0, userRepository.count(), "O banco deveria estar vazio");
     }
@@ -319,5 +447,43 @@ public class UserIntegrationTest {
         assertEquals(0, userRepository.count(), "O banco deveria estar vazio");
     }
 
+    @Test
+    @DisplayName("Deve remover as tasks do usuário excluído e informar o andamento da exclusão")
+    void deleteUser_IntegrationSuccess_WhenUserHasTasks() throws Exception {
+        String responseJson = mockMvc.perform(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UserRequestDTO("Teste", "teste@gmail.com"))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Long userId = objectMapper.readTree(responseJson).get("id").asLong();
+
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TaskRequestDTO("Teste" + i, "teste" + i, userId))))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(delete("/api/users/" + userId))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/users/" + userId + "/deletion"));
+
+        mockMvc.perform(get("/api/users/" + userId + "/deletion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.tasksDeleted").value(3))
+                .andExpect(jsonPath("$.finishedAt").exists());
+
+        mockMvc.perform(get("/api/tasks/user/" + userId))
+                .andExpect(status().isNotFound());
 
+        mockMvc.perform(delete("/api/users/" + userId))
+                .andExpect(status().isNotFound());
+
+        assertEquals(0, taskRepository.count());
+        assertEquals(0, userRepository.count());
+    }
 }
@@ -0,0 +1,35 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.repository.TaskRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DatabaseTaskSearchTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final DatabaseTaskSearch databaseTaskSearch = new DatabaseTaskSearch(taskRepository);
+
+    @Test
+    @DisplayName("Deve delegar ao banco a busca, o ranking e a paginação.")
+    void search_DelegatesRankingAndPagingToDatabase() {
+        when(taskRepository.searchIds("relatorio", 20, 11)).thenReturn(List.of(9L, 4L));
+        when(taskRepository.searchIdsByUserId("relatorio", 1L, 0, 11)).thenReturn(List.of(7L));
+
+        assertEquals(List.of(9L, 4L), databaseTaskSearch.search("relatorio", null, 20, 11));
+        assertEquals(List.of(7L), databaseTaskSearch.search("relatorio", 1L, 0, 11));
+    }
+
+    @Test
+    @DisplayName("Não deve manter estado na aplicação: o índice é atualizado pelo próprio banco.")
+    void writeHooks_DoNotTouchRepository() {
+        databaseTaskSearch.removeAfterCommit(List.of(1L));
+        databaseTaskSearch.removeByUserId(1L);
+
+        verifyNoInteractions(taskRepository);
+    }
+}
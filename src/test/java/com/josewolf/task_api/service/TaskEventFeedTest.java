@@ -0,0 +1,181 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.TaskEventResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.model.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskEventFeedTest {
+
+    private static TaskResponseDTO task(long id, long userId) {
+        return new TaskResponseDTO(id, "Task " + id, "Descrição", TaskStatus.PENDING, userId, 0L);
+    }
+
+    private static TaskEventFeed feed(int replaySize, Duration replayTtl) {
+        return new TaskEventFeed(mock(TaskScheduler.class), new LocalTaskEventRelay(), replaySize, replayTtl);
+    }
+
+    // Guarda os eventos recebidos; com capacity limitada simula um cliente lento.
+    private static final class Collector implements TaskEventFeed.Subscriber {
+
+        private final List<TaskEventFeed.Event> events = new ArrayList<>();
+        private final int capacity;
+
+        private Collector(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private Collector() {
+            this(Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean offer(TaskEventFeed.Event event) {
+            if (events.size() >= capacity) {
+                return false;
+            }
+            events.add(event);
+            return true;
+        }
+
+        private List<TaskEventResponseDTO> data() {
+            return events.stream().map(TaskEventFeed.Event::data).filter(data -> data != null).toList();
+        }
+
+        private String lastId() {
+            return events.getLast().id();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar aos assinantes apenas os eventos do próprio usuário.")
+    void publish_DeliversOnlyToSubscribersOfTheUser() {
+        TaskEventFeed feed = feed(16, Duration.ofMinutes(5));
+        Collector user1 = new Collector();
+        Collector user2 = new Collector();
+        feed.subscribe(1L, null, user1);
+        feed.subscribe(2L, null, user2);
+
+        feed.createdAfterCommit(task(10L, 1L));
+        feed.statusChangedAfterCommit(task(10L, 1L));
+        feed.deletedAfterCommit(1L, 10L);
+
+        assertEquals(List.of(TaskEventResponseDTO.CREATED, TaskEventResponseDTO.STATUS_CHANGED, TaskEventResponseDTO.DELETED),
+                user1.data().stream().map(TaskEventResponseDTO::type).toList());
+        assertTrue(user2.data().isEmpty());
+        assertEquals(2, feed.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Deve entregar os eventos recebidos de outra instância e expandir o resync de todos por canal.")
+    void publish_DeliversEventsSentByAnotherInstance() {
+        LocalTaskEventRelay relay = new LocalTaskEventRelay();
+        TaskEventFeed feed = new TaskEventFeed(mock(TaskScheduler.class), relay, 16, Duration.ofMinutes(5));
+        Collector user1 = new Collector();
+        Collector user2 = new Collector();
+        feed.subscribe(1L, null, user1);
+        feed.subscribe(2L, null, user2);
+
+        // O relay entrega ao feed tudo o que qualquer instância envia, não só o que este feed publicou.
+        relay.send(TaskEventResponseDTO.of(TaskEventResponseDTO.UPDATED, task(10L, 1L)));
+        relay.send(TaskEventResponseDTO.resyncAll());
+
+        assertEquals(List.of(TaskEventResponseDTO.UPDATED, TaskEventResponseDTO.RESYNC),
+                user1.data().stream().map(TaskEventResponseDTO::type).toList());
+        assertEquals(List.of(TaskEventResponseDTO.resync(2L)), user2.data());
+    }
+
+    @Test
+    @DisplayName("Deve reenviar os eventos posteriores ao Last-Event-ID que ainda estão na janela de replay.")
+    void subscribe_ReplaysEventsAfterLastEventId() {
+        TaskEventFeed feed = feed(16, Duration.ofMinutes(5));
+        Collector first = new Collector();
+        Runnable unsubscribe = feed.subscribe(1L, null, first);
+
+        feed.createdAfterCommit(task(10L, 1L));
+        String lastEventId = first.lastId();
+        unsubscribe.run();
+        feed.createdAfterCommit(task(11L, 1L));
+        feed.updatedAfterCommit(task(11L, 1L));
+
+        Collector resumed = new Collector();
+        feed.subscribe(1L, lastEventId, resumed);
+
+        assertEquals(List.of(11L, 11L), resumed.data().stream().map(TaskEventResponseDTO::taskId).toList());
+        assertNull(resumed.events.getLast().data(), "O último evento deve marcar a posição atual do stream");
+        assertEquals(1, feed.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Deve enviar resync quando o Last-Event-ID já saiu da janela de replay.")
+    void subscribe_SendsResync_WhenLastEventIdLeftTheWindow() {
+        TaskEventFeed feed = feed(2, Duration.ofMinutes(5));
+        Collector first = new Collector();
+        feed.subscribe(1L, null, first);
+
+        feed.createdAfterCommit(task(10L, 1L));
+        String lastEventId = first.lastId();
+        feed.createdAfterCommit(task(11L, 1L));
+        feed.createdAfterCommit(task(12L, 1L));
+        feed.createdAfterCommit(task(13L, 1L));
+
+        Collector resumed = new Collector();
+        feed.subscribe(1L, lastEventId, resumed);
+
+        assertEquals(List.of(TaskEventResponseDTO.resync(1L)), resumed.data());
+    }
+
+    @Test
+    @DisplayName("Deve enviar resync para um Last-Event-ID de outra instância.")
+    void subscribe_SendsResync_WhenLastEventIdIsFromAnotherInstance() {
+        TaskEventFeed feed = feed(16, Duration.ofMinutes(5));
+        Collector resumed = new Collector();
+
+        feed.subscribe(1L, "outra-3", resumed);
+
+        assertEquals(List.of(TaskEventResponseDTO.resync(1L)), resumed.data());
+    }
+
+    @Test
+    @DisplayName("Deve remover o assinante que não aceita mais eventos.")
+    void publish_DropsSlowSubscriber() {
+        TaskEventFeed feed = feed(16, Duration.ofMinutes(5));
+        Collector slow = new Collector(2);
+        feed.subscribe(1L, null, slow);
+
+        feed.createdAfterCommit(task(10L, 1L));
+        feed.createdAfterCommit(task(11L, 1L));
+        feed.createdAfterCommit(task(12L, 1L));
+
+        assertEquals(List.of(10L), slow.data().stream().map(TaskEventResponseDTO::taskId).toList());
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o canal sem assinantes após a janela de replay.")
+    void evictExpired_RemovesIdleChannels() {
+        TaskEventFeed feed = feed(16, Duration.ZERO);
+        Collector first = new Collector();
+        Runnable unsubscribe = feed.subscribe(1L, null, first);
+        feed.createdAfterCommit(task(10L, 1L));
+        String lastEventId = first.lastId();
+        unsubscribe.run();
+
+        feed.evictExpired();
+        feed.createdAfterCommit(task(11L, 1L));
+
+        Collector resumed = new Collector();
+        feed.subscribe(1L, lastEventId, resumed);
+
+        assertEquals(List.of(TaskEventResponseDTO.resync(1L)), resumed.data());
+    }
+}
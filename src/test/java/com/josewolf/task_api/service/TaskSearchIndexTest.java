@@ -0,0 +1,80 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.model.TaskStatus;
+import com.josewolf.task_api.repository.TaskRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskSearchIndexTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskSearchIndex taskSearchIndex = new TaskSearchIndex(taskRepository);
+
+    private static TaskResponseDTO task(long id, String title, String description, long userId) {
+        return new TaskResponseDTO(id, title, description, TaskStatus.PENDING, userId, 0L);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por relevância, priorizando termos do título.")
+    void search_RanksTitleMatchesFirst() {
+        taskSearchIndex.index(task(1L, "Comprar pão", "Passar no mercado depois do relatório", 1L));
+        taskSearchIndex.index(task(2L, "Relatório mensal", "Enviar ao financeiro", 1L));
+        taskSearchIndex.index(task(3L, "Ler livro", "Capítulo 3", 1L));
+
+        assertEquals(List.of(2L, 1L), taskSearchIndex.search("relatorio", null, 0, 10));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar maiúsculas e acentos na busca.")
+    void search_IgnoresCaseAndAccents() {
+        taskSearchIndex.index(task(1L, "Configuração", "Revisar CONFIGURAÇÃO do servidor", 1L));
+
+        assertEquals(List.of(1L), taskSearchIndex.search("configuracao", null, 0, 10));
+        assertEquals(List.of(1L), taskSearchIndex.search("SERVIDOR", null, 0, 10));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar pelo usuário e paginar pelo offset.")
+    void search_FiltersByUserAndPaginates() {
+        taskSearchIndex.index(task(1L, "Estudar", "java", 1L));
+        taskSearchIndex.index(task(2L, "Estudar", "java", 2L));
+        taskSearchIndex.index(task(3L, "Estudar", "java", 1L));
+
+        assertEquals(List.of(3L, 1L), taskSearchIndex.search("estudar", 1L, 0, 10));
+        assertEquals(List.of(2L), taskSearchIndex.search("estudar", null, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Deve refletir alterações e remoções das tasks.")
+    void index_ReplacesAndRemovesTerms() {
+        taskSearchIndex.index(task(1L, "Rascunho", "texto", 1L));
+        taskSearchIndex.index(task(1L, "Versão final", "texto", 1L));
+        taskSearchIndex.index(task(2L, "Outra", "texto", 2L));
+
+        assertTrue(taskSearchIndex.search("rascunho", null, 0, 10).isEmpty());
+        assertEquals(List.of(1L), taskSearchIndex.search("final", null, 0, 10));
+
+        taskSearchIndex.remove(List.of(1L));
+        taskSearchIndex.removeByUserId(2L);
+
+        assertTrue(taskSearchIndex.search("texto", null, 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve carregar todas as tasks do banco em páginas ao reconstruir o índice.")
+    void rebuild_LoadsTasksInPages() {
+        when(taskRepository.findPageAfter(0L, Limit.of(1000))).thenReturn(List.of(task(1L, "Estudar", "java", 1L)));
+
+        taskSearchIndex.rebuild();
+
+        assertEquals(List.of(1L), taskSearchIndex.search("java", null, 0, 10));
+        verify(taskRepository, times(1)).findPageAfter(anyLong(), any());
+    }
+}
@@ -1,26 +1,54 @@
 package com.josewolf.task_api.service;
 
+import com.josewolf.task_api.dto.TaskStatusCountDTO;
 import com.josewolf.task_api.dto.TaskStatusRequestDTO;
+import com.josewolf.task_api.dto.requestdto.TaskBulkStatusRequestDTO;
 import com.josewolf.task_api.dto.requestdto.TaskRequestDTO;
+import com.josewolf.task_api.dto.responsedto.AffectedRowsResponseDTO;
+import com.josewolf.task_api.dto.responsedto.BulkTaskResponseDTO;
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.TaskCountsResponseDTO;
 import com.josewolf.task_api.dto.responsedto.TaskResponseDTO;
+import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
+import com.josewolf.task_api.exceptions.ConflictException;
+import com.josewolf.task_api.exceptions.InvalidRequestException;
+import com.josewolf.task_api.exceptions.PreconditionFailedException;
 import com.josewolf.task_api.exceptions.ResourceNotFoundException;
 import com.josewolf.task_api.model.Task;
 import com.josewolf.task_api.model.TaskStatus;
 import com.josewolf.task_api.model.User;
 import com.josewolf.task_api.repository.TaskRepository;
 import com.josewolf.task_api.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +60,24 @@ public class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TaskSearch taskSearch;
+
+    @Mock
+    private TaskListVersions taskListVersions;
+
+    @Mock
+    private TaskEventFeed taskEventFeed;
+
+    @Spy
+    private UserCache userCache = new UserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
     @InjectMocks
     private TaskService taskService;
 
@@ -48,26 +94,58 @@ public class TaskServiceTest {
         task.setTitle(request.title());
         task.setUser(userActual);
 
-        when(userRepository.findById(userActual.getId())).thenReturn(Optional.of(userActual));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(userRepository.findResponseById(userActual.getId()))
+                .thenReturn(Optional.of(new UserResponseDTO(1L, "teste", "teste@gmail.com", 0L)));
+        when(userRepository.getReferenceById(userActual.getId())).thenReturn(userActual);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
 
         TaskResponseDTO response = taskService.createTask(request);
 
         assertNotNull(response);
         assertEquals("Estudar Mockito", response.title());
-        verify(userRepository,times(1)).findById(userActual.getId());
-        verify(taskRepository,times(1)).save(any(Task.class));
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, times(1)).findResponseById(1L);
+        verify(taskRepository,times(1)).saveAndFlush(any(Task.class));
+        verify(taskSearch, times(1)).indexAfterCommit(response);
+        verify(taskListVersions, times(1)).bump(1L);
+        verify(taskEventFeed, times(1)).createdAfterCommit(response);
     }
 
     @Test
-    @DisplayName("Deve lançar exceção se não achar o id do usuário.")
+    @DisplayName("Deve criar a segunda tarefa do mesmo usuário sem consultar o usuário de novo.")
+    void createTask_ReadsUserFromCache() {
+        User user = new User();
+        user.setId(1L);
+        Task task = new Task();
+        task.setId(1L);
+        task.setUser(user);
+
+        when(userRepository.findResponseById(1L))
+                .thenReturn(Optional.of(new UserResponseDTO(1L, "teste", "teste@gmail.com", 0L)));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
+
+        taskService.createTask(new TaskRequestDTO("Primeira", "Descrição", 1L));
+        taskService.createTask(new TaskRequestDTO("Segunda", "Descrição", 1L));
+
+        verify(userRepository, times(1)).findResponseById(1L);
+        verify(userRepository, never()).existsById(anyLong());
+        verify(taskRepository, times(2)).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se o usuário for apagado entre a consulta e o insert.")
     void createTask_ThrowsException_WhenUsernameIdNotFound() {
         User userActual = new User();
         userActual.setId(999L);
 
         TaskRequestDTO request = new TaskRequestDTO("Estudar Mockito", "Praticar testes com múltiplos mocks", userActual.getId());
 
-        when(userRepository.findById(userActual.getId())).thenReturn(Optional.empty());
+        when(userRepository.findResponseById(userActual.getId()))
+                .thenReturn(Optional.of(new UserResponseDTO(999L, "teste", "teste@gmail.com", 0L)));
+        when(userRepository.getReferenceById(userActual.getId())).thenReturn(userActual);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(new DataIntegrityViolationException("FK",
+                new ConstraintViolationException("FK", new SQLException(), "FK_TASKS_USER: PUBLIC.TASKS FOREIGN KEY(USER_ID)")));
 
         ResourceNotFoundException exception =  assertThrows(ResourceNotFoundException.class,
                 () -> taskService.createTask(request));
@@ -75,6 +153,77 @@ public class TaskServiceTest {
         assertEquals("Usuário não encontrado", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Deve lançar exceção se o usuário não existir ou estiver marcado como excluído.")
+    void createTask_ThrowsException_WhenUserIsBeingDeleted() {
+        TaskRequestDTO request = new TaskRequestDTO("Estudar Mockito", "Praticar testes com múltiplos mocks", 1L);
+
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.createTask(request));
+
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Deve repassar violações de integridade que não sejam da FK do usuário.")
+    void createTask_RethrowsException_WhenOtherConstraintIsViolated() {
+        TaskRequestDTO request = new TaskRequestDTO("Estudar Mockito", "Praticar testes com múltiplos mocks", 1L);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Value too long");
+
+        when(userRepository.findResponseById(1L))
+                .thenReturn(Optional.of(new UserResponseDTO(1L, "teste", "teste@gmail.com", 0L)));
+        when(userRepository.getReferenceById(1L)).thenReturn(new User());
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> taskService.createTask(request)));
+    }
+
+    @Test
+    @DisplayName("Deve criar em lote apenas os itens válidos de usuários existentes.")
+    void createTasks_ReturnsPerItemResults() {
+        User user = new User();
+        user.setId(1L);
+
+        TaskRequestDTO valid = new TaskRequestDTO("Título", "Descrição", 1L);
+        TaskRequestDTO invalid = new TaskRequestDTO("", "Descrição", 1L);
+        TaskRequestDTO unknownUser = new TaskRequestDTO("Título", "Descrição", 999L);
+
+        when(userRepository.findExistingIds(Set.of(1L, 999L))).thenReturn(Set.of(1L));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(validator.validate(valid)).thenReturn(Set.of());
+        when(validator.validate(unknownUser)).thenReturn(Set.of());
+        when(validator.validate(invalid)).thenReturn(Set.of(mock(ConstraintViolation.class)));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> task.setId(10L));
+            return tasks;
+        });
+
+        BulkTaskResponseDTO response = taskService.createTasks(List.of(valid, invalid, unknownUser));
+
+        assertEquals(1, response.created());
+        assertEquals(2, response.failed());
+        assertEquals(201, response.results().get(0).status());
+        assertEquals(10L, response.results().get(0).task().id());
+        assertEquals(400, response.results().get(1).status());
+        assertEquals(404, response.results().get(2).status());
+        assertNull(response.results().get(2).task());
+        verify(userRepository, times(1)).findExistingIds(Set.of(1L, 999L));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve recusar lotes vazios ou maiores que o limite.")
+    void createTasks_ThrowsException_WhenBatchSizeIsInvalid() {
+        List<TaskRequestDTO> tooMany = Collections.nCopies(TaskService.MAX_BULK_SIZE + 1, new TaskRequestDTO("Título", "Descrição", 1L));
+
+        assertThrows(InvalidRequestException.class, () -> taskService.createTasks(List.of()));
+        assertThrows(InvalidRequestException.class, () -> taskService.createTasks(tooMany));
+
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
     //Lista
     @Test
     @DisplayName("Deve listar todas as tarefas com o seu usuário.")
@@ -95,15 +244,52 @@ public class TaskServiceTest {
         task2.setTitle("Praticar testes.");
         task2.setUser(user2);
 
-        when(taskRepository.findAll()).thenReturn(List.of(task1, task2));
+        when(taskRepository.findPageAfter(0L, Limit.of(21))).thenReturn(List.of(new TaskResponseDTO(task1), new TaskResponseDTO(task2)));
 
-        List<TaskResponseDTO> responseDTOS = taskService.listAllTasks();
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.listAllTasks(null, null);
 
-        assertNotNull(responseDTOS);
-        assertEquals(2, responseDTOS.size());
-        assertEquals("Estudar Mockito", responseDTOS.get(0).title());
-        assertEquals("Praticar testes.", responseDTOS.get(1).title());
-        verify(taskRepository,times(1)).findAll();
+        assertNotNull(page);
+        assertEquals(2, page.content().size());
+        assertEquals("Estudar Mockito", page.content().get(0).title());
+        assertEquals("Praticar testes.", page.content().get(1).title());
+        assertNull(page.nextCursor());
+        verify(taskRepository,times(1)).findPageAfter(0L, Limit.of(21));
+        verify(taskRepository, never()).findAll();
+        verify(taskRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve retornar o próximo cursor quando existir mais uma página.")
+    void findAllTasks_ReturnsNextCursor_WhenThereAreMoreRows() {
+        User user1 = new User();
+        user1.setId(1L);
+
+        Task task1 = new Task();
+        task1.setId(6L);
+        task1.setUser(user1);
+
+        Task task2 = new Task();
+        task2.setId(7L);
+        task2.setUser(user1);
+
+        when(taskRepository.findPageAfter(5L, Limit.of(2))).thenReturn(List.of(new TaskResponseDTO(task1), new TaskResponseDTO(task2)));
+
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.listAllTasks(5L, 1);
+
+        assertEquals(1, page.content().size());
+        assertEquals(6L, page.content().get(0).id());
+        assertEquals(6L, page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Deve limitar o tamanho da página ao máximo permitido.")
+    void findAllTasks_ClampsLimit() {
+        when(taskRepository.findPageAfter(0L, Limit.of(CursorPageResponseDTO.MAX_LIMIT + 1))).thenReturn(List.of());
+
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.listAllTasks(null, 10_000);
+
+        assertTrue(page.content().isEmpty());
+        assertNull(page.nextCursor());
     }
 
     @Test
@@ -122,10 +308,10 @@ public class TaskServiceTest {
         task2.setTitle("Praticar testes.");
         task2.setUser(user1);
 
-        when(userRepository.existsById(user1.getId())).thenReturn(true);
-        when(taskRepository.findByUserId(user1.getId())).thenReturn(List.of(task1, task2));
+        when(taskRepository.findPageByUserId(user1.getId(), Long.MAX_VALUE, Limit.of(21))).thenReturn(List.of(new TaskResponseDTO(task1), new TaskResponseDTO(task2)));
 
-        List<TaskResponseDTO> responseDTOS = taskService.listTasksByUserId(user1.getId());
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.listTasksByUserId(user1.getId(), null, null, null);
+        List<TaskResponseDTO> responseDTOS = page.content();
 
         assertNotNull(responseDTOS);
         assertEquals(2, responseDTOS.size());
@@ -133,9 +319,37 @@ public class TaskServiceTest {
         assertEquals(user1.getId(), responseDTOS.get(1).userId());
         assertEquals("Estudar Mockito", responseDTOS.get(0).title());
         assertEquals("Praticar testes.", responseDTOS.get(1).title());
+        assertNull(page.nextCursor());
+
+        verify(taskRepository, times(1)).findPageByUserId(user1.getId(), Long.MAX_VALUE, Limit.of(21));
+        verify(userRepository, never()).existsById(anyLong());
+    }
 
-        verify(taskRepository, times(1)).findByUserId(user1.getId());
-        verify(userRepository, times(1)).existsById(user1.getId());
+    @Test
+    @DisplayName("Deve filtrar as tarefas do usuário pelo status a partir do cursor.")
+    void listTaskByUserId_FiltersByStatusAndCursor() {
+        User user1 = new User();
+        user1.setId(1L);
+
+        Task task1 = new Task();
+        task1.setId(8L);
+        task1.setTaskStatus(TaskStatus.PENDING);
+        task1.setUser(user1);
+
+        Task task2 = new Task();
+        task2.setId(5L);
+        task2.setTaskStatus(TaskStatus.PENDING);
+        task2.setUser(user1);
+
+        when(taskRepository.findPageByUserIdAndStatus(user1.getId(), TaskStatus.PENDING, 10L, Limit.of(2)))
+                .thenReturn(List.of(new TaskResponseDTO(task1), new TaskResponseDTO(task2)));
+
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.listTasksByUserId(user1.getId(), TaskStatus.PENDING, 10L, 1);
+
+        assertEquals(1, page.content().size());
+        assertEquals(8L, page.content().get(0).id());
+        assertEquals(8L, page.nextCursor());
+        verify(taskRepository, never()).findPageByUserId(anyLong(), anyLong(), any());
     }
 
     @Test
@@ -144,16 +358,102 @@ public class TaskServiceTest {
         User user1 = new User();
         user1.setId(999L);
 
-        when(userRepository.existsById(user1.getId())).thenReturn(false);
+        when(taskRepository.findPageByUserId(user1.getId(), Long.MAX_VALUE, Limit.of(21))).thenReturn(List.of());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-                () ->  taskService.listTasksByUserId(user1.getId()));
+                () ->  taskService.listTasksByUserId(user1.getId(), null, null, null));
 
         assertEquals("Usuário não encontrado com o Id: 999", exception.getMessage());
 
         verify(taskRepository,never()).existsById(anyLong());
-        verify(userRepository, times(1)).existsById(user1.getId());
+        verify(userRepository, never()).existsById(anyLong());
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver as tasks na ordem de relevância do índice e o próximo cursor.")
+    void searchTasks_ReturnsTasksInRelevanceOrder() {
+        TaskResponseDTO task3 = new TaskResponseDTO(3L, "Relatório", "mensal", TaskStatus.PENDING, 1L, 0L);
+        TaskResponseDTO task7 = new TaskResponseDTO(7L, "Revisar", "relatório", TaskStatus.COMPLETED, 1L, 0L);
+
+        when(taskSearch.search("relatorio", 1L, 0, 3)).thenReturn(List.of(7L, 3L, 9L));
+        when(taskRepository.findResponsesByIds(List.of(7L, 3L))).thenReturn(List.of(task3, task7));
+
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.searchTasks("relatorio", 1L, null, 2);
+
+        assertEquals(List.of(task7, task3), page.content());
+        assertEquals(2L, page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar ids do índice que não existem mais no banco.")
+    void searchTasks_SkipsTasksMissingFromDatabase() {
+        TaskResponseDTO task3 = new TaskResponseDTO(3L, "Relatório", "mensal", TaskStatus.PENDING, 1L, 0L);
+
+        when(taskSearch.search("relatorio", null, 20, 21)).thenReturn(List.of(5L, 3L));
+        when(taskRepository.findResponsesByIds(List.of(5L, 3L))).thenReturn(List.of(task3));
+
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.searchTasks("relatorio", null, 20, null);
+
+        assertEquals(List.of(task3), page.content());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se o termo de busca não for informado.")
+    void searchTasks_ThrowsException_WhenQueryIsBlank() {
+        assertThrows(InvalidRequestException.class, () -> taskService.searchTasks(" ", null, null, null));
+
+        verifyNoInteractions(taskSearch, taskRepository);
+    }
+
+    @Test
+    @DisplayName("Deve somar as contagens agrupadas por status do usuário.")
+    void countTasksByUserId_Success() {
+        when(taskRepository.countByUserIdsAndStatus(List.of(1L))).thenReturn(List.of(
+                new TaskStatusCountDTO(1L, TaskStatus.PENDING, 4L),
+                new TaskStatusCountDTO(1L, TaskStatus.COMPLETED, 6L)));
+
+        TaskCountsResponseDTO counts = taskService.countTasksByUserId(1L);
+
+        assertEquals(4, counts.pending());
+        assertEquals(6, counts.completed());
+        verify(taskRepository, never()).findPageByUserId(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao contar tasks de um usuário inexistente.")
+    void countTasksByUserId_ThrowsException_WhenUserNotFound() {
+        when(taskRepository.countByUserIdsAndStatus(List.of(999L))).thenReturn(List.of());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> taskService.countTasksByUserId(999L));
 
+        assertEquals("Usuário não encontrado com o Id: 999", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve assinar o feed de eventos de um usuário existente.")
+    void subscribeToTaskEvents_Success() {
+        TaskEventFeed.Subscriber subscriber = event -> true;
+        Runnable unsubscribe = () -> { };
+
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(taskEventFeed.subscribe(1L, "a1b2c3d4-7", subscriber)).thenReturn(unsubscribe);
+
+        assertSame(unsubscribe, taskService.subscribeToTaskEvents(1L, "a1b2c3d4-7", subscriber));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao assinar o feed de eventos de um usuário inexistente.")
+    void subscribeToTaskEvents_ThrowsException_WhenUserNotFound() {
+        when(userRepository.existsById(999L)).thenReturn(false);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> taskService.subscribeToTaskEvents(999L, null, event -> true));
+
+        assertEquals("Usuário não encontrado com o Id: 999", exception.getMessage());
+        verifyNoInteractions(taskEventFeed);
     }
 
     @Test
@@ -162,41 +462,71 @@ public class TaskServiceTest {
         User user1 = new User();
         user1.setId(1L);
 
-        when(userRepository.existsById(user1.getId())).thenReturn(true);
-        when(taskRepository.findByUserId(user1.getId())).thenReturn(List.of());
+        TaskResponseDTO userWithoutTasks = new TaskResponseDTO(null, null, null, null, user1.getId(), 0L);
+
+        when(taskRepository.findPageByUserId(user1.getId(), Long.MAX_VALUE, Limit.of(21))).thenReturn(List.of(userWithoutTasks));
 
-        List<TaskResponseDTO> responseDTOS = taskService.listTasksByUserId(user1.getId());
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.listTasksByUserId(user1.getId(), null, null, null);
+        List<TaskResponseDTO> responseDTOS = page.content();
 
         assertNotNull(responseDTOS);
         assertTrue(responseDTOS.isEmpty());
         assertEquals(0, responseDTOS.size());
+        assertNull(page.nextCursor());
 
-        verify(userRepository, times(1)).existsById(user1.getId());
-        verify(taskRepository, times(1)).findByUserId(user1.getId());
+        verify(userRepository, never()).existsById(anyLong());
+        verify(taskRepository, times(1)).findPageByUserId(user1.getId(), Long.MAX_VALUE, Limit.of(21));
     }
 
     //update
+    private static Task storedTask(Long taskId, TaskStatus status, Long version) {
+        User user = new User();
+        user.setId(1L);
+
+        Task task = new Task();
+        task.setId(taskId);
+        task.setTitle("Título");
+        task.setDescription("Descrição");
+        task.setTaskStatus(status);
+        task.setVersion(version);
+        task.setUser(user);
+        return task;
+    }
+
     @Test
     @DisplayName("Deve atualzar a tarefa pelo id do usuário.")
     void updateTaskByUserId_Success() {
         Long taskId = 1L;
 
-        Task taskOriginal = new Task();
-        taskOriginal.setId(taskId);
-        taskOriginal.setTitle("Título Antigo");
-        taskOriginal.setDescription("Descrição Antiga");
-
         TaskRequestDTO requestDTO = new TaskRequestDTO("Título novo", "Descrição nova", taskId);
+        TaskResponseDTO updated = new TaskResponseDTO(taskId, "Título novo", "Descrição nova", TaskStatus.PENDING, 1L, 1L);
+
+        when(taskRepository.updateContent(taskId, "Título novo", "Descrição nova")).thenReturn(1);
+        when(taskRepository.findResponseById(taskId)).thenReturn(Optional.of(updated));
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskOriginal));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TaskResponseDTO responseDTO = taskService.updateTask(taskId, null, requestDTO);
 
-        TaskResponseDTO responseDTO = taskService.updateTask(taskId, requestDTO);
+        assertEquals(updated, responseDTO);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskSearch, times(1)).indexAfterCommit(responseDTO);
+        verify(taskListVersions, times(1)).bump(1L);
+        verify(taskEventFeed, times(1)).updatedAfterCommit(responseDTO);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar pela task do cache quando o If-Match é informado.")
+    void updateTask_Success_WhenIfMatchIsInformed() {
+        TaskRequestDTO requestDTO = new TaskRequestDTO("Título novo", "Descrição nova", 1L);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(storedTask(1L, TaskStatus.PENDING, 2L)));
+
+        TaskResponseDTO responseDTO = taskService.updateTask(1L, 2L, requestDTO);
 
-        assertNotNull(responseDTO);
         assertEquals("Título novo", responseDTO.title());
-        assertEquals("Descrição nova",  responseDTO.description());
-        verify(taskRepository, times(1)).save(any(Task.class));
+        assertEquals("Descrição nova", responseDTO.description());
+        verify(taskRepository, times(1)).flush();
+        verify(taskRepository, never()).updateContent(anyLong(), any(), any());
+        verify(taskListVersions, times(1)).bump(1L);
     }
 
     @Test
@@ -206,33 +536,123 @@ public class TaskServiceTest {
 
         TaskRequestDTO requestDTO = new TaskRequestDTO("Título novo", "Descrição nova", taskId);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.updateContent(taskId, "Título novo", "Descrição nova")).thenReturn(0);
 
         ResourceNotFoundException exception =  assertThrows(ResourceNotFoundException.class,
-                () ->  taskService.updateTask(taskId, requestDTO));
+                () ->  taskService.updateTask(taskId, null, requestDTO));
 
         assertEquals("Task inexistente com o Id: 999", exception.getMessage());
-        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, never()).findResponseById(anyLong());
+        verifyNoInteractions(taskListVersions, taskSearch);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se a task estiver em outra versão que a do If-Match.")
+    void updateTask_ThrowsException_WhenVersionDoesNotMatch() {
+        TaskRequestDTO requestDTO = new TaskRequestDTO("Título novo", "Descrição nova", 1L);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(storedTask(1L, TaskStatus.PENDING, 3L)));
+        when(taskRepository.refresh(any(Task.class))).thenReturn(true);
+
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class,
+                () -> taskService.updateTask(1L, 2L, requestDTO));
+
+        assertEquals("A task foi alterada por outra requisição. Versão atual: 3", exception.getMessage());
+        verify(taskRepository, times(1)).refresh(any(Task.class));
+        verify(taskRepository, never()).flush();
+        verifyNoInteractions(taskListVersions, taskSearch);
+    }
+
+    @Test
+    @DisplayName("Deve reler a task do banco quando o cache estiver em uma versão anterior à do If-Match.")
+    void updateTask_Success_WhenCachedVersionIsStale() {
+        Task cached = storedTask(1L, TaskStatus.PENDING, 2L);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(cached));
+        when(taskRepository.refresh(cached)).thenAnswer(invocation -> {
+            cached.setVersion(3L);
+            return true;
+        });
+
+        TaskResponseDTO responseDTO = taskService.updateTask(1L, 3L, new TaskRequestDTO("Título novo", "Descrição nova", 1L));
+
+        assertEquals("Título novo", responseDTO.title());
+        verify(taskRepository, times(1)).flush();
+        verify(taskListVersions, times(1)).bump(1L);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se a task do cache não existir mais no banco.")
+    void updateTask_ThrowsException_WhenCachedTaskWasDeleted() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(storedTask(1L, TaskStatus.PENDING, 2L)));
+        when(taskRepository.refresh(any(Task.class))).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.updateTask(1L, 3L, new TaskRequestDTO("Título novo", "Descrição nova", 1L)));
+        verify(taskRepository, never()).flush();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se outra requisição alterar a task entre a leitura e o UPDATE.")
+    void updateTask_ThrowsException_WhenConcurrentUpdateWins() {
+        TaskRequestDTO requestDTO = new TaskRequestDTO("Título novo", "Descrição nova", 1L);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(storedTask(1L, TaskStatus.PENDING, 2L)));
+        doThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L)).when(taskRepository).flush();
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(1L, 2L, requestDTO));
+        assertThrows(ConflictException.class,
+                () -> taskService.updateStatus(1L, null, new TaskStatusRequestDTO(TaskStatus.COMPLETED, TaskStatus.PENDING)));
+        verifyNoInteractions(taskListVersions, taskSearch);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se a task não estiver mais no status esperado.")
+    void updateStatus_ThrowsException_WhenCurrentStatusDoesNotMatch() {
+        TaskStatusRequestDTO statusDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED, TaskStatus.PENDING);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(storedTask(1L, TaskStatus.COMPLETED, 1L)));
+        when(taskRepository.refresh(any(Task.class))).thenReturn(true);
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> taskService.updateStatus(1L, null, statusDTO));
+
+        assertEquals("A task não está mais com o status PENDING. Status atual: COMPLETED", exception.getMessage());
+        verify(taskRepository, never()).flush();
     }
 
     @Test
     @DisplayName("Deve atualizar apenas o status da tarefa com sucesso")
     void updateStatus_Success() {
         Long taskId = 1L;
-        Task taskOriginal = new Task();
-        taskOriginal.setId(taskId);
-        taskOriginal.setTaskStatus(TaskStatus.PENDING);
 
-        TaskStatusRequestDTO statusDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED);
+        TaskStatusRequestDTO statusDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED, null);
+        TaskResponseDTO updated = new TaskResponseDTO(taskId, "Título", "Descrição", TaskStatus.COMPLETED, 1L, 1L);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskOriginal));
-        when(taskRepository.save(any(Task.class))).thenReturn(taskOriginal);
+        when(taskRepository.updateStatus(taskId, TaskStatus.COMPLETED)).thenReturn(1);
+        when(taskRepository.findResponseById(taskId)).thenReturn(Optional.of(updated));
 
-        TaskResponseDTO responseDTO = taskService.updateStatus(taskId, statusDTO);
+        TaskResponseDTO responseDTO = taskService.updateStatus(taskId, null, statusDTO);
 
         assertEquals(TaskStatus.COMPLETED, responseDTO.taskStatus());
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository,times(1)).save(taskOriginal);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).updateStatusByIds(anyList(), any());
+        verify(taskListVersions, times(1)).bump(1L);
+        verify(taskEventFeed, times(1)).statusChangedAfterCommit(responseDTO);
+    }
+
+    @Test
+    @DisplayName("Deve trocar o status pela task do cache quando currentStatus é informado.")
+    void updateStatus_Success_WhenCurrentStatusMatches() {
+        TaskStatusRequestDTO statusDTO = new TaskStatusRequestDTO(TaskStatus.COMPLETED, TaskStatus.PENDING);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(storedTask(1L, TaskStatus.PENDING, 0L)));
+
+        TaskResponseDTO responseDTO = taskService.updateStatus(1L, null, statusDTO);
+
+        assertEquals(TaskStatus.COMPLETED, responseDTO.taskStatus());
+        verify(taskRepository, times(1)).flush();
+        verify(taskRepository, never()).updateStatus(anyLong(), any());
     }
 
     @Test
@@ -240,49 +660,186 @@ public class TaskServiceTest {
     void updateTaskStatus_ThrowsException_WhenTaskIdNotFound() {
         Long taskId = 999L;
 
-        TaskRequestDTO requestDTO = new TaskRequestDTO("Título novo", "Descrição nova", taskId);
-
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.updateStatus(taskId, TaskStatus.COMPLETED)).thenReturn(0);
 
         ResourceNotFoundException exception =  assertThrows(ResourceNotFoundException.class,
-                () ->  taskService.updateTask(taskId, requestDTO));
+                () ->  taskService.updateStatus(taskId, null, new TaskStatusRequestDTO(TaskStatus.COMPLETED, null)));
 
         assertEquals("Task inexistente com o Id: 999", exception.getMessage());
-        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, never()).findResponseById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o status das tasks informadas por id sem carregar as entidades.")
+    void updateStatuses_Success_WhenFilteredByIds() {
+        TaskBulkStatusRequestDTO requestDTO = new TaskBulkStatusRequestDTO(Set.of(1L, 2L), null, null, TaskStatus.COMPLETED);
+
+        when(taskRepository.updateStatusByIds(Set.of(1L, 2L), TaskStatus.COMPLETED)).thenReturn(2);
+
+        AffectedRowsResponseDTO responseDTO = taskService.updateStatuses(requestDTO);
+
+        assertEquals(2, responseDTO.affected());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskListVersions, times(1)).bumpOwnersOf(Set.of(1L, 2L));
+        verify(taskEventFeed, times(1)).resyncAllAfterCommit();
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o status das tasks do usuário filtrando pelo status atual.")
+    void updateStatuses_Success_WhenFilteredByUserIdAndStatus() {
+        TaskBulkStatusRequestDTO requestDTO = new TaskBulkStatusRequestDTO(null, 1L, TaskStatus.PENDING, TaskStatus.COMPLETED);
+
+        when(taskRepository.updateStatusByUserIdAndStatus(1L, TaskStatus.PENDING, TaskStatus.COMPLETED)).thenReturn(5);
+
+        AffectedRowsResponseDTO responseDTO = taskService.updateStatuses(requestDTO);
+
+        assertEquals(5, responseDTO.affected());
+        verify(taskRepository, never()).updateStatusByUserId(anyLong(), any());
+        verify(taskListVersions, times(1)).bump(1L);
+        verify(taskListVersions, never()).bumpOwnersOf(any());
+        verify(taskEventFeed, times(1)).resyncAfterCommit(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve invalidar a ETag se nenhuma task for alterada.")
+    void updateStatuses_DoesNotBumpVersion_WhenNothingChanged() {
+        TaskBulkStatusRequestDTO requestDTO = new TaskBulkStatusRequestDTO(null, 1L, null, TaskStatus.COMPLETED);
+
+        when(taskRepository.updateStatusByUserId(1L, TaskStatus.COMPLETED)).thenReturn(0);
+
+        taskService.updateStatuses(requestDTO);
+
+        verifyNoInteractions(taskListVersions, taskEventFeed);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se não informar ids nem userId, ou informar ambos.")
+    void updateStatuses_ThrowsException_WhenSelectionIsInvalid() {
+        TaskBulkStatusRequestDTO empty = new TaskBulkStatusRequestDTO(Set.of(), null, null, TaskStatus.COMPLETED);
+        TaskBulkStatusRequestDTO both = new TaskBulkStatusRequestDTO(Set.of(1L), 1L, null, TaskStatus.COMPLETED);
+
+        assertThrows(InvalidRequestException.class, () -> taskService.updateStatuses(empty));
+        assertThrows(InvalidRequestException.class, () -> taskService.updateStatuses(both));
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao pedir a ETag da lista de um usuário inexistente ou excluído.")
+    void taskListETag_ThrowsException_WhenUserNotFound() {
+        when(taskListVersions.etag(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.taskListETag(1L));
     }
 
     @Test
     @DisplayName("Deve deletar a task com sucesso.")
     void deleteTask_Success() {
         Long taskId = 1L;
-        Task taskOriginal = new Task();
-        taskOriginal.setId(taskId);
-        taskOriginal.setTitle("Delete task");
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskOriginal));
+        when(taskRepository.deleteReturningUserId(taskId)).thenReturn(Optional.of(1L));
 
         taskService.deleteTask(taskId);
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, times(1)).delete(taskOriginal);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskSearch, times(1)).removeAfterCommit(List.of(taskId));
+        verify(taskListVersions, times(1)).bump(1L);
+        verify(taskEventFeed, times(1)).deletedAfterCommit(1L, taskId);
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao tentar deletar tarefa inexistente.")
     void deleteTask_ThrowsException_WhenTaskIdNotFound() {
         Long taskId = 999L;
-        Task taskOriginal = new Task();
-        taskOriginal.setId(taskId);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.deleteReturningUserId(taskId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             taskService.deleteTask(taskId);
         });
 
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, never()).delete(taskOriginal);
+        verifyNoInteractions(taskListVersions, taskEventFeed);
     }
 
-}
+    @Test
+    @DisplayName("Deve deletar as tasks informadas por id com um único DELETE.")
+    void deleteTasks_DeletesIdsInSingleStatement() {
+        List<Long> ids = LongStream.rangeClosed(1, TaskService.MAX_BULK_SIZE).boxed().toList();
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(taskRepository.deleteByIds(anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        AffectedRowsResponseDTO responseDTO = taskService.deleteTasks(ids, null, null);
+
+        assertEquals(TaskService.MAX_BULK_SIZE, responseDTO.affected());
+        verify(taskRepository, times(1)).deleteByIds(anyList());
+        verify(taskSearch).removeAfterCommit(ids);
+        verify(taskListVersions).bumpOwnersOf(ids);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).delete(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se a lista de ids da exclusão em lote passar do limite.")
+    void deleteTasks_ThrowsException_WhenIdsExceedLimit() {
+        List<Long> ids = LongStream.rangeClosed(1, TaskService.MAX_BULK_SIZE + 1).boxed().toList();
+
+        assertThrows(InvalidRequestException.class, () -> taskService.deleteTasks(ids, null, null));
 
+        verifyNoInteractions(taskRepository, transactionTemplate);
+    }
 
+    @Test
+    @DisplayName("Deve deletar as tasks do usuário pelo status até a consulta não achar um bloco completo.")
+    void deleteTasks_DeletesByUserIdAndStatusUntilExhausted() {
+        List<Long> fullChunk = LongStream.rangeClosed(1, TaskService.DELETE_CHUNK_SIZE).boxed().toList();
+        List<Long> lastChunk = List.of(1001L, 1002L, 1003L);
+        Limit chunkSize = Limit.of(TaskService.DELETE_CHUNK_SIZE);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(taskRepository.findIdsByUserIdAndStatus(1L, TaskStatus.COMPLETED, chunkSize)).thenReturn(fullChunk, lastChunk);
+        when(taskRepository.deleteByIdsAndUserIdAndStatus(anyList(), eq(1L), eq(TaskStatus.COMPLETED)))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        AffectedRowsResponseDTO responseDTO = taskService.deleteTasks(null, 1L, TaskStatus.COMPLETED);
+
+        assertEquals(1003, responseDTO.affected());
+        verify(taskRepository, times(2)).findIdsByUserIdAndStatus(1L, TaskStatus.COMPLETED, chunkSize);
+        verify(taskRepository, never()).deleteByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve continuar a exclusão por usuário quando outra requisição removeu parte de um bloco completo.")
+    void deleteTasks_ContinuesWhenChunkWasPartiallyDeletedElsewhere() {
+        List<Long> fullChunk = LongStream.rangeClosed(1, TaskService.DELETE_CHUNK_SIZE).boxed().toList();
+        List<Long> lastChunk = List.of(1001L, 1002L);
+        Limit chunkSize = Limit.of(TaskService.DELETE_CHUNK_SIZE);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(taskRepository.findIdsByUserIdAndStatus(1L, TaskStatus.COMPLETED, chunkSize)).thenReturn(fullChunk, lastChunk);
+        // No primeiro bloco a task 1 mudou de status e a 2 já tinha sido apagada: o DELETE remove 998 linhas.
+        when(taskRepository.deleteByIdsAndUserIdAndStatus(anyList(), eq(1L), eq(TaskStatus.COMPLETED)))
+                .thenReturn(TaskService.DELETE_CHUNK_SIZE - 2, 2);
+        when(taskRepository.findExistingIds(fullChunk)).thenReturn(Set.of(1L));
+
+        AffectedRowsResponseDTO responseDTO = taskService.deleteTasks(null, 1L, TaskStatus.COMPLETED);
+
+        assertEquals(TaskService.DELETE_CHUNK_SIZE, responseDTO.affected());
+        verify(taskRepository, times(2)).findIdsByUserIdAndStatus(1L, TaskStatus.COMPLETED, chunkSize);
+        verify(taskSearch).removeAfterCommit(fullChunk.subList(1, fullChunk.size()));
+        verify(taskSearch).removeAfterCommit(lastChunk);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se o filtro de exclusão em lote for inválido.")
+    void deleteTasks_ThrowsException_WhenSelectionIsInvalid() {
+        assertThrows(InvalidRequestException.class, () -> taskService.deleteTasks(null, null, null));
+        assertThrows(InvalidRequestException.class, () -> taskService.deleteTasks(Set.of(1L), 1L, null));
+        assertThrows(InvalidRequestException.class, () -> taskService.deleteTasks(Set.of(1L), null, TaskStatus.COMPLETED));
+
+        verifyNoInteractions(taskRepository, transactionTemplate);
+    }
+}
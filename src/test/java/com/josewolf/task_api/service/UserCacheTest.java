@@ -0,0 +1,119 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserCache userCache = new UserCache(meterRegistry, 100, Duration.ofMinutes(1));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Function<String, Optional<UserResponseDTO>> loaderReturning(UserResponseDTO user) {
+        return key -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(user);
+        };
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco apenas na primeira busca e registrar hit e miss.")
+    void findByUsername_LoadsOnceAndRecordsMetrics() {
+        UserResponseDTO user = new UserResponseDTO(1L, "teste", "teste@gmail.com", 0L);
+
+        userCache.findByUsername("teste", loaderReturning(user));
+        Optional<UserResponseDTO> cached = userCache.findByUsername("teste", loaderReturning(user));
+
+        assertEquals(Optional.of(user), cached);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.byUsername").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.byUsername").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve preencher o índice por email ao carregar o usuário pelo username.")
+    void findByEmail_UsesUserLoadedByUsername() {
+        UserResponseDTO user = new UserResponseDTO(1L, "teste", "teste@gmail.com", 0L);
+
+        userCache.findByUsername("teste", loaderReturning(user));
+        userCache.findByEmail("teste@gmail.com", loaderReturning(user));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Não deve devolver o usuário por um username que ele não possui mais.")
+    void findByUsername_IgnoresStaleIndexEntry() {
+        userCache.put(new UserResponseDTO(1L, "antigo", "teste@gmail.com", 0L));
+        userCache.put(new UserResponseDTO(1L, "novo", "teste@gmail.com", 0L));
+
+        Optional<UserResponseDTO> result = userCache.findByUsername("antigo", loaderReturning(null));
+
+        assertTrue(result.isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Deve remover o usuário e as chaves de username e email ao invalidar pelo id.")
+    void evict_RemovesUserAndIndexes() {
+        UserResponseDTO user = new UserResponseDTO(1L, "teste", "teste@gmail.com", 0L);
+        userCache.put(user);
+
+        userCache.evictAfterCommit(1L);
+
+        userCache.findByUsername("teste", loaderReturning(user));
+        userCache.findByEmail("teste@gmail.com", loaderReturning(user));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar buscas sem resultado.")
+    void findByEmail_DoesNotCacheMisses() {
+        userCache.findByEmail("nada@gmail.com", loaderReturning(null));
+        userCache.findByEmail("nada@gmail.com", loaderReturning(null));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar um valor lido antes de uma remoção concorrente.")
+    void findByUsername_DropsValueLoadedBeforeConcurrentEvict() {
+        UserResponseDTO stale = new UserResponseDTO(1L, "antigo", "teste@gmail.com", 0L);
+
+        // O loader simula uma escrita que invalida o usuário enquanto a leitura ainda está em andamento.
+        userCache.findByUsername("antigo", key -> {
+            loads.incrementAndGet();
+            userCache.evictAfterCommit(1L);
+            return Optional.of(stale);
+        });
+        userCache.findByUsername("antigo", loaderReturning(stale));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Deve guardar o valor lido mesmo com a remoção concorrente de outro usuário.")
+    void findByUsername_KeepsValueWhenAnotherUserIsEvicted() {
+        UserResponseDTO user = new UserResponseDTO(1L, "teste", "teste@gmail.com", 0L);
+
+        userCache.findByUsername("teste", key -> {
+            loads.incrementAndGet();
+            userCache.evictAfterCommit(2L);
+            return Optional.of(user);
+        });
+        userCache.findByUsername("teste", loaderReturning(user));
+        userCache.findById(1L, id -> Optional.empty());
+
+        assertEquals(1, loads.get());
+    }
+}
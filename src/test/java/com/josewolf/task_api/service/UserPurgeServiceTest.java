@@ -0,0 +1,121 @@
+package com.josewolf.task_api.service;
+
+import com.josewolf.task_api.dto.responsedto.UserDeletionResponseDTO;
+import com.josewolf.task_api.repository.TaskRepository;
+import com.josewolf.task_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserPurgeServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TaskSearch taskSearch;
+
+    private UserPurgeService userPurgeService;
+
+    private final Limit chunkSize = Limit.of(UserPurgeService.PURGE_CHUNK_SIZE);
+
+    @BeforeEach
+    void setUp() {
+        userPurgeService = new UserPurgeService(userRepository, taskRepository, transactionTemplate, new SyncTaskExecutor(), taskSearch);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Deve remover as tasks em blocos e apagar o usuário ao final.")
+    void schedule_PurgesTasksInChunksAndDeletesUser() {
+        List<Long> fullChunk = LongStream.rangeClosed(1, UserPurgeService.PURGE_CHUNK_SIZE).boxed().toList();
+
+        when(taskRepository.findIdsByUserId(1L, chunkSize)).thenReturn(fullChunk, List.of(1001L));
+        when(taskRepository.deleteByIds(anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        when(taskRepository.deleteByUserId(1L)).thenReturn(0);
+        when(userRepository.purgeDeleted(1L)).thenReturn(1);
+
+        UserDeletionResponseDTO job = userPurgeService.schedule(1L);
+
+        assertEquals(UserDeletionResponseDTO.State.COMPLETED, job.state());
+        assertEquals(1001, job.tasksDeleted());
+        assertNotNull(job.finishedAt());
+        verify(taskRepository, times(2)).deleteByIds(anyList());
+        verify(userRepository, times(1)).purgeDeleted(1L);
+        verify(taskSearch, times(1)).removeByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha e manter o usuário marcado como excluído.")
+    void schedule_MarksJobAsFailed_WhenPurgeFails() {
+        when(taskRepository.findIdsByUserId(1L, chunkSize)).thenThrow(new QueryTimeoutException("timeout"));
+
+        UserDeletionResponseDTO job = userPurgeService.schedule(1L);
+
+        assertEquals(UserDeletionResponseDTO.State.FAILED, job.state());
+        assertEquals("timeout", job.error());
+        verify(userRepository, never()).purgeDeleted(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve retomar as exclusões pendentes ao iniciar a aplicação.")
+    void resumePendingPurges_SchedulesDeletedUsers() {
+        when(userRepository.findDeletedIds()).thenReturn(List.of(5L));
+        when(taskRepository.findIdsByUserId(5L, chunkSize)).thenReturn(List.of());
+        when(userRepository.purgeDeleted(5L)).thenReturn(1);
+
+        userPurgeService.resumePendingPurges();
+
+        assertEquals(UserDeletionResponseDTO.State.COMPLETED, userPurgeService.findStatus(5L).orElseThrow().state());
+    }
+
+    @Test
+    @DisplayName("Deve informar a exclusão em andamento de um usuário marcado no banco sem registro nesta instância.")
+    void findStatus_ReturnsUntrackedDeletion_WhenUserIsStillMarkedAsDeleted() {
+        when(userRepository.countDeleted(7L)).thenReturn(1L);
+
+        UserDeletionResponseDTO job = userPurgeService.findStatus(7L).orElseThrow();
+
+        assertEquals(UserDeletionResponseDTO.State.PENDING, job.state());
+        assertNull(job.finishedAt());
+    }
+
+    @Test
+    @DisplayName("Não deve encontrar exclusão sem registro local nem marcação no banco.")
+    void findStatus_ReturnsEmpty_WhenNothingIsKnown() {
+        when(userRepository.countDeleted(7L)).thenReturn(0L);
+
+        assertTrue(userPurgeService.findStatus(7L).isEmpty());
+    }
+}
@@ -1,23 +1,38 @@
 package com.josewolf.task_api.service;
 
+import com.josewolf.task_api.dto.TaskStatusCountDTO;
 import com.josewolf.task_api.dto.requestdto.UserRequestDTO;
+import com.josewolf.task_api.dto.responsedto.CursorPageResponseDTO;
+import com.josewolf.task_api.dto.responsedto.UserDeletionResponseDTO;
 import com.josewolf.task_api.dto.responsedto.UserResponseDTO;
+import com.josewolf.task_api.exceptions.PreconditionFailedException;
 import com.josewolf.task_api.exceptions.ResourceNotFoundException;
+import com.josewolf.task_api.model.TaskStatus;
 import com.josewolf.task_api.model.User;
+import com.josewolf.task_api.repository.TaskRepository;
 import com.josewolf.task_api.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -27,6 +42,18 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserPurgeService userPurgeService;
+
+    @Mock
+    private TaskEventFeed taskEventFeed;
+
+    @Spy
+    private UserCache userCache = new UserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
     @InjectMocks
     private  UserService userService;
 
@@ -40,16 +67,15 @@ public class UserServiceTest {
         user.setUsername("Teste");
         user.setEmail("teste@gmail.com");
 
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         UserResponseDTO responseDTO = userService.createUser(userRequestDTO);
 
         assertNotNull(responseDTO);
         assertEquals("Teste", responseDTO.username());
         assertEquals("teste@gmail.com", responseDTO.email());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -57,15 +83,12 @@ public class UserServiceTest {
     void createdUser_ThrowsException_WhenEmailAlreadyExists(){
         UserRequestDTO userRequestDTO = new UserRequestDTO("Teste", "teste@gmail.com");
 
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
-        when(userRepository.findByEmail("teste@gmail.com")).thenReturn(Optional.of(new User()));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("PUBLIC.UK_USERS_EMAIL_INDEX_4"));
 
         DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
                 () ->  userService.createUser(userRequestDTO));
 
         assertEquals("O e-mail 'teste@gmail.com' já pertence a outra conta.", exception.getMessage());
-
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -73,115 +96,107 @@ public class UserServiceTest {
     void createdUser_ThrowsException_WhenUsernameAlreadyExists(){
         UserRequestDTO userRequestDTO = new UserRequestDTO("Teste", "teste@gmail.com");
 
-        when(userRepository.findByUsername("Teste")).thenReturn(Optional.of(new User()));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("uk_users_username"));
 
         DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
                 () ->  userService.createUser(userRequestDTO));
 
         assertEquals("O nome de usuário 'Teste' já está sendo utilizado.", exception.getMessage());
-
-        verify(userRepository, never()).save(any(User.class));
     }
 
     //Update
+    private static User storedUser(Long id, String username, String email, Long version) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setVersion(version);
+        return user;
+    }
+
     @Test
-    @DisplayName("Deve atualizar somente o email com sucesso.")
+    @DisplayName("Deve atualizar somente o email com um único UPDATE quando não houver If-Match.")
     void updateUser_EmailSuccess(){
         Long userId = 1L;
-        User userActual = new User();
-        userActual.setId(userId);
-        userActual.setUsername("Teste");
-        userActual.setEmail("teste0123456789@gmail.com");
 
         UserRequestDTO userRequestDTO = new UserRequestDTO(null, "teste@gmail.com");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(userActual));
-        when(userRepository.findByEmail("teste@gmail.com")).thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class))).thenReturn(userActual);
+        when(userRepository.updateUsernameAndEmail(userId, null, "teste@gmail.com")).thenReturn(1);
+        when(userRepository.findResponseById(userId)).thenReturn(Optional.of(new UserResponseDTO(userId, "Teste", "teste@gmail.com", 1L)));
 
-        UserResponseDTO userResponseDTO = userService.updateUserById(userId, userRequestDTO);
+        UserResponseDTO userResponseDTO = userService.updateUserById(userId, null, userRequestDTO);
 
         assertNotNull(userResponseDTO);
         assertEquals("teste@gmail.com", userResponseDTO.email());
         assertEquals("Teste", userResponseDTO.username());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).flush();
     }
 
     @Test
     @DisplayName("Deve atualizar somente o username com sucesso.")
     void updateUser_UsernameSuccess(){
         Long userId = 1L;
-        User userActual = new User();
-        userActual.setId(userId);
-        userActual.setUsername("Teste");
-        userActual.setEmail("teste0123456789@gmail.com");
 
-        UserRequestDTO userRequestDTO = new UserRequestDTO("Teste2", null);
+        UserRequestDTO userRequestDTO = new UserRequestDTO("Teste2", " ");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(userActual));
-        when(userRepository.findByUsername("Teste2")).thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class))).thenReturn(userActual);
+        when(userRepository.updateUsernameAndEmail(userId, "Teste2", null)).thenReturn(1);
+        when(userRepository.findResponseById(userId)).thenReturn(Optional.of(new UserResponseDTO(userId, "Teste2", "teste0123456789@gmail.com", 1L)));
 
-        UserResponseDTO userResponseDTO = userService.updateUserById(userId, userRequestDTO);
+        UserResponseDTO userResponseDTO = userService.updateUserById(userId, null, userRequestDTO);
 
         assertNotNull(userResponseDTO);
         assertEquals("teste0123456789@gmail.com", userResponseDTO.email());
         assertEquals("Teste2", userResponseDTO.username());
-        verify(userRepository, times(1)).save(any(User.class));
     }
 
     @Test
-    @DisplayName("Deve lançar exceção quando atualizar e já tiver username existente por outro.")
-    void updateUser_ThrowsException_WhenUsernameExistent() {
+    @DisplayName("Deve atualizar a entidade lida quando o If-Match confere.")
+    void updateUser_Success_WhenIfMatchIsInformed(){
         Long userId = 1L;
-        Long otherUserId = 2L;
 
-        User userActual = new User();
-        userActual.setId(userId);
-        userActual.setUsername("nomeAntigo");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(storedUser(userId, "Teste", "antigo@gmail.com", 0L)));
 
-        User usuarioConflitante = new User();
-        usuarioConflitante.setId(otherUserId);
-        usuarioConflitante.setUsername("TesteUsername");
+        UserResponseDTO userResponseDTO = userService.updateUserById(userId, 0L, new UserRequestDTO(null, "teste@gmail.com"));
+
+        assertEquals("teste@gmail.com", userResponseDTO.email());
+        assertEquals("Teste", userResponseDTO.username());
+        verify(userRepository, times(1)).flush();
+        verify(userRepository, never()).refresh(any(User.class));
+        verify(userRepository, never()).updateUsernameAndEmail(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando atualizar e já tiver username existente por outro.")
+    void updateUser_ThrowsException_WhenUsernameExistent() {
+        Long userId = 1L;
 
         UserRequestDTO requestDTO = new UserRequestDTO("TesteUsername", "teste@gmail.com");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(userActual));
-        when(userRepository.findByUsername("TesteUsername")).thenReturn(Optional.of(usuarioConflitante));
+        when(userRepository.updateUsernameAndEmail(userId, "TesteUsername", "teste@gmail.com")).thenThrow(uniqueViolation("UK_USERS_USERNAME"));
 
         DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
-                () -> userService.updateUserById(userId, requestDTO));
+                () -> userService.updateUserById(userId, null, requestDTO));
 
         assertEquals("O nome de usuário já está em uso.", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userCache, never()).evictAfterCommit(anyLong());
     }
 
     @Test
-    @DisplayName("Deve lançar exceção quando atualizar e já tiver username existente por outro.")
+    @DisplayName("Deve lançar exceção quando atualizar e já tiver email existente por outro.")
     void updateUser_ThrowsException_WhenEmailExistent() {
         Long userId = 1L;
-        Long otherUserId = 2L;
-
-        User userActual = new User();
-        userActual.setId(userId);
-        userActual.setUsername("nomeAntigo");
-        userActual.setEmail("gmailAntigo@gmail.com");
-
-        User usuarioConflitante = new User();
-        usuarioConflitante.setId(otherUserId);
-        usuarioConflitante.setUsername("TesteUsername");
-        usuarioConflitante.setEmail("teste@gmail.com");
 
         UserRequestDTO requestDTO = new UserRequestDTO("TesteUsername", "teste@gmail.com");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(userActual));
-        when(userRepository.findByEmail("teste@gmail.com")).thenReturn(Optional.of(usuarioConflitante));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(storedUser(userId, "Teste", "outro@gmail.com", 0L)));
+        doThrow(uniqueViolation("uk_users_email")).when(userRepository).flush();
 
         DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
-                () -> userService.updateUserById(userId, requestDTO));
+                () -> userService.updateUserById(userId, 0L, requestDTO));
 
         assertEquals("O email já está em uso.", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userCache, never()).evictAfterCommit(anyLong());
     }
 
     @Test
@@ -190,13 +205,62 @@ public class UserServiceTest {
         Long userId = 999L;
         UserRequestDTO requestDTO = new UserRequestDTO("Teste", "teste@gmail.com");
 
+        when(userRepository.updateUsernameAndEmail(userId, "Teste", "teste@gmail.com")).thenReturn(0);
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> {
-            userService.updateUserById(userId, requestDTO);
+        assertThrows(ResourceNotFoundException.class, () -> userService.updateUserById(userId, null, requestDTO));
+        assertThrows(ResourceNotFoundException.class, () -> userService.updateUserById(userId, 0L, requestDTO));
+
+        verify(userRepository, never()).findResponseById(anyLong());
+        verify(userRepository, never()).flush();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se o usuário estiver em outra versão que a do If-Match, conferida no banco.")
+    void updateUser_ThrowsException_WhenVersionDoesNotMatch() {
+        UserRequestDTO requestDTO = new UserRequestDTO("Teste", null);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(storedUser(1L, "Outro", "teste@gmail.com", 1L)));
+        when(userRepository.refresh(any(User.class))).thenReturn(true);
+
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class,
+                () -> userService.updateUserById(1L, 0L, requestDTO));
+
+        assertEquals("O usuário foi alterado por outra requisição. Versão atual: 1", exception.getMessage());
+        verify(userRepository, times(1)).refresh(any(User.class));
+        verify(userRepository, never()).flush();
+        verify(userCache, never()).evictAfterCommit(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve reler o usuário do banco quando o cache estiver em uma versão anterior à do If-Match.")
+    void updateUser_Success_WhenCachedVersionIsStale() {
+        User cached = storedUser(1L, "Teste", "teste@gmail.com", 0L);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(cached));
+        when(userRepository.refresh(cached)).thenAnswer(invocation -> {
+            cached.setVersion(1L);
+            return true;
         });
 
-        verify(userRepository, never()).save(any(User.class));
+        UserResponseDTO response = userService.updateUserById(1L, 1L, new UserRequestDTO("Novo", null));
+
+        assertEquals("Novo", response.username());
+        verify(userRepository, times(1)).flush();
+        verify(userCache, times(1)).evictAfterCommit(1L);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se outra requisição alterar o usuário entre a leitura e o UPDATE.")
+    void updateUser_ThrowsException_WhenConcurrentUpdateWins() {
+        UserRequestDTO requestDTO = new UserRequestDTO("Teste", null);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(storedUser(1L, "Outro", "teste@gmail.com", 1L)));
+        doThrow(new ObjectOptimisticLockingFailureException(User.class, 1L)).when(userRepository).flush();
+
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUserById(1L, 1L, requestDTO));
+        verify(userRepository, never()).updateUsernameAndEmail(anyLong(), any(), any());
+        verify(userCache, never()).evictAfterCommit(anyLong());
     }
 
     //list
@@ -213,15 +277,80 @@ public class UserServiceTest {
         user2.setUsername("teste2");
         user2.setEmail("teste2@gmail.com");
 
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(21))).thenReturn(List.of(new UserResponseDTO(user1), new UserResponseDTO(user2)));
 
-        List<UserResponseDTO> userResponseDTOs = userService.findAllUsers();
+        CursorPageResponseDTO<UserResponseDTO> page = userService.findAllUsers(null, null, null, null, false);
 
-        assertNotNull(userResponseDTOs);
-        assertEquals(2, userResponseDTOs.size());
-        assertEquals("teste1", userResponseDTOs.get(0).username());
-        assertEquals("teste2", userResponseDTOs.get(1).username());
-        verify(userRepository, times(1)).findAll();
+        assertNotNull(page);
+        assertEquals(2, page.content().size());
+        assertEquals("teste1", page.content().get(0).username());
+        assertEquals("teste2", page.content().get(1).username());
+        assertNull(page.nextCursor());
+        verify(userRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(21));
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve filtrar pelo prefixo do username e retornar o próximo cursor.")
+    void findAllUsers_FiltersByUsernamePrefix() {
+        User user1 = new User();
+        user1.setId(3L);
+        user1.setUsername("teste3");
+
+        User user2 = new User();
+        user2.setId(4L);
+        user2.setUsername("teste4");
+
+        when(userRepository.findByUsernameStartingWithAndIdGreaterThanOrderByIdAsc("tes", 2L, Limit.of(2))).thenReturn(List.of(new UserResponseDTO(user1), new UserResponseDTO(user2)));
+
+        CursorPageResponseDTO<UserResponseDTO> page = userService.findAllUsers("tes", " ", 2L, 1, false);
+
+        assertEquals(1, page.content().size());
+        assertEquals("teste3", page.content().get(0).username());
+        assertEquals(3L, page.nextCursor());
+        verify(userRepository, never()).findByUsernameStartingWithAndEmailStartingWithAndIdGreaterThanOrderByIdAsc(anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve filtrar pelos prefixos do username e do email ao mesmo tempo.")
+    void findAllUsers_FiltersByUsernameAndEmailPrefix() {
+        when(userRepository.findByUsernameStartingWithAndEmailStartingWithAndIdGreaterThanOrderByIdAsc("tes", "tes", 0L, Limit.of(21))).thenReturn(List.of());
+
+        CursorPageResponseDTO<UserResponseDTO> page = userService.findAllUsers("tes", "tes", null, null, false);
+
+        assertTrue(page.content().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Deve incluir a contagem de tasks com uma única consulta agrupada para a página.")
+    void findAllUsers_WithTaskCounts() {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(21))).thenReturn(List.of(
+                new UserResponseDTO(1L, "teste1", "teste1@gmail.com", 0L),
+                new UserResponseDTO(2L, "teste2", "teste2@gmail.com", 0L)));
+        when(taskRepository.countByUserIdsAndStatus(List.of(1L, 2L))).thenReturn(List.of(
+                new TaskStatusCountDTO(1L, TaskStatus.PENDING, 3L),
+                new TaskStatusCountDTO(1L, TaskStatus.COMPLETED, 2L),
+                new TaskStatusCountDTO(2L, null, 0L)));
+
+        CursorPageResponseDTO<UserResponseDTO> page = userService.findAllUsers(null, null, null, null, true);
+
+        assertEquals(3, page.content().get(0).taskCounts().pending());
+        assertEquals(2, page.content().get(0).taskCounts().completed());
+        assertEquals(0, page.content().get(1).taskCounts().pending());
+        assertEquals(0, page.content().get(1).taskCounts().completed());
+        verify(taskRepository, times(1)).countByUserIdsAndStatus(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Não deve consultar as contagens quando não forem solicitadas.")
+    void findAllUsers_WithoutTaskCounts_DoesNotQueryTasks() {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(21))).thenReturn(List.of(new UserResponseDTO(1L, "teste1", "teste1@gmail.com", 0L)));
+
+        CursorPageResponseDTO<UserResponseDTO> page = userService.findAllUsers(null, null, null, null, false);
+
+        assertNull(page.content().get(0).taskCounts());
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
@@ -237,13 +366,43 @@ public class UserServiceTest {
         user2.setUsername("teste2");
         user2.setEmail("teste2@gmail.com");
 
-        when(userRepository.findByUsername("teste2")).thenReturn(Optional.of(user2));
+        when(userRepository.findResponseByUsername("teste2")).thenReturn(Optional.of(new UserResponseDTO(user2)));
 
         UserResponseDTO userResponseDTO = userService.findByUsername("teste2");
 
         assertNotNull(userResponseDTO);
         assertEquals("teste2", userResponseDTO.username());
-        verify(userRepository, times(1)).findByUsername("teste2");
+        verify(userRepository, times(1)).findResponseByUsername("teste2");
+    }
+
+    @Test
+    @DisplayName("Deve buscar o usuário no cache a partir da segunda consulta pelo username.")
+    void findByUsername_UsesCache_OnRepeatedLookups(){
+        when(userRepository.findResponseByUsername("teste")).thenReturn(Optional.of(new UserResponseDTO(1L, "teste", "teste@gmail.com", 0L)));
+
+        userService.findByUsername("teste");
+        UserResponseDTO userResponseDTO = userService.findByUsername("teste");
+
+        assertEquals(1L, userResponseDTO.id());
+        verify(userRepository, times(1)).findResponseByUsername("teste");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o username antigo no cache ao atualizar o usuário.")
+    void updateUser_EvictsCachedUser(){
+        Long userId = 1L;
+
+        when(userRepository.findResponseByUsername("antigo"))
+                .thenReturn(Optional.of(new UserResponseDTO(userId, "antigo", "teste@gmail.com", 0L)), Optional.empty());
+        when(userRepository.updateUsernameAndEmail(userId, "novo", null)).thenReturn(1);
+        when(userRepository.findResponseById(userId)).thenReturn(Optional.of(new UserResponseDTO(userId, "novo", "teste@gmail.com", 1L)));
+
+        userService.findByUsername("antigo");
+        userService.updateUserById(userId, null, new UserRequestDTO("novo", null));
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.findByUsername("antigo"));
+        verify(userCache, times(1)).evictAfterCommit(userId);
+        verify(userRepository, times(2)).findResponseByUsername("antigo");
     }
 
     @Test
@@ -259,13 +418,13 @@ public class UserServiceTest {
         user2.setUsername("teste2");
         user2.setEmail("teste2@gmail.com");
 
-        when(userRepository.findByEmail("teste1@gmail.com")).thenReturn(Optional.of(user1));
+        when(userRepository.findResponseByEmail("teste1@gmail.com")).thenReturn(Optional.of(new UserResponseDTO(user1)));
 
         UserResponseDTO userResponseDTO = userService.findByEmail("teste1@gmail.com");
 
         assertNotNull(userResponseDTO);
         assertEquals("teste1@gmail.com", userResponseDTO.email());
-        verify(userRepository, times(1)).findByEmail("teste1@gmail.com");
+        verify(userRepository, times(1)).findResponseByEmail("teste1@gmail.com");
     }
 
     @Test
@@ -273,13 +432,13 @@ public class UserServiceTest {
     void findByUsername_ThrowsException_WhenUsernameNotFound() {
         String usernameTeste = "Teste";
 
-        when(userRepository.findByUsername(usernameTeste)).thenReturn(Optional.empty());
+        when(userRepository.findResponseByUsername(usernameTeste)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             userService.findByUsername(usernameTeste);
         });
 
-        verify(userRepository, times(1)).findByUsername(usernameTeste);
+        verify(userRepository, times(1)).findResponseByUsername(usernameTeste);
     }
 
     @Test
@@ -287,42 +446,59 @@ public class UserServiceTest {
     void findByUsername_ThrowsException_WhenEmailNotFound() {
         String emailTeste = "teste@gmail.com";
 
-        when(userRepository.findByEmail(emailTeste)).thenReturn(Optional.empty());
+        when(userRepository.findResponseByEmail(emailTeste)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             userService.findByEmail(emailTeste);
         });
 
-        verify(userRepository, times(1)).findByEmail(emailTeste);
+        verify(userRepository, times(1)).findResponseByEmail(emailTeste);
     }
 
     @Test
-    @DisplayName("Deve deletar com sucesso")
+    @DisplayName("Deve marcar o usuário como excluído e agendar a limpeza das tasks")
     void deleteUser_Success(){
         Long userId = 1L;
-        User userActual = new User();
-        userActual.setId(userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(userActual));
+        when(userRepository.markDeleted(userId)).thenReturn(1);
+        when(userPurgeService.schedule(userId)).thenReturn(UserDeletionResponseDTO.pending(userId));
+
+        UserDeletionResponseDTO responseDTO = userService.deleteUserById(userId);
 
-        userService.deleteUserById(userId);
-        verify(userRepository, times(1)).delete(userActual);
+        assertEquals(UserDeletionResponseDTO.State.PENDING, responseDTO.state());
+        verify(userPurgeService, times(1)).schedule(userId);
+        verify(taskEventFeed, times(1)).resyncAfterCommit(userId);
+        verify(userRepository, never()).delete(any(User.class));
     }
 
     @Test
-    @DisplayName("Deve deletar com sucesso")
+    @DisplayName("Deve lançar exceção ao excluir usuário inexistente")
     void deleteUser_ThrowsException_WhenUserIdNotFound() {
         Long userId = 999L;
-        User userActual = new User();
-        userActual.setId(userId);
 
-        when(userRepository.findById(userActual.getId())).thenReturn(Optional.empty());
+        when(userRepository.markDeleted(userId)).thenReturn(0);
 
         assertThrows(ResourceNotFoundException.class, () -> {
             userService.deleteUserById(userId);
         });
 
-        verify(userRepository, never()).delete(userActual);
+        verify(userPurgeService, never()).schedule(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção se não existir exclusão registrada para o usuário")
+    void findDeletionStatus_ThrowsException_WhenNoDeletionExists() {
+        when(userPurgeService.findStatus(999L)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> userService.findDeletionStatus(999L));
+
+        assertEquals("Nenhuma exclusão em andamento para o usuário com o id: 999", exception.getMessage());
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("Unique violation",
+                new ConstraintViolationException("Unique violation", new SQLException(), constraintName));
     }
 
 }